@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * Generates the realistic responses of the Spark Job Server used by the benchmarks.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobBenchmarkPayloads {
+	/**
+	 * The number of jobs in a large <code>GET /jobs</code> listing.
+	 */
+	static final int LARGE_JOBS_COUNT = 10000;
+
+	/**
+	 * The size in characters of a large job result.
+	 */
+	static final int LARGE_RESULT_SIZE = 1024 * 1024;
+
+	private SparkJobBenchmarkPayloads() {
+	}
+
+	/**
+	 * Gets the reply of <code>GET /jobs/&lt;jobId&gt;</code> for a running job.
+	 *
+	 * @return the small status reply
+	 */
+	static String statusReply() {
+		return "{\"duration\":\"Job not done yet\",\"classPath\":\"spark.jobserver.WordCountExample\","
+			+ "\"startTime\":\"2017-03-08T10:12:41.116Z\",\"context\":\"ctxTest\",\"status\":\"RUNNING\","
+			+ "\"jobId\":\"3ac7d2b8-e3b4-4d8c-9e4c-5b1a6e0ff3a1\"}";
+	}
+
+	/**
+	 * Gets the reply of <code>POST /jobs</code> for an asynchronously started job.
+	 *
+	 * @return the small status reply
+	 */
+	static String startedReply() {
+		return "{\"status\":\"STARTED\",\"result\":{\"jobId\":\"3ac7d2b8-e3b4-4d8c-9e4c-5b1a6e0ff3a1\","
+			+ "\"context\":\"ctxTest\"}}";
+	}
+
+	/**
+	 * Gets the reply of <code>GET /jobs</code> listing the given number of jobs,
+	 * a tenth of which failed with error details.
+	 *
+	 * @param count the number of jobs
+	 * @return the jobs listing
+	 */
+	static String jobs(int count) {
+		StringBuilder jobs = new StringBuilder(count * 320);
+		jobs.append('[');
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				jobs.append(',');
+			}
+			jobs.append("{\"duration\":\"").append(i % 100).append(".593 secs\",")
+				.append("\"classPath\":\"spark.jobserver.WordCountExample\",")
+				.append("\"startTime\":\"2017-03-08T10:12:41.116Z\",")
+				.append("\"context\":\"ctx-").append(i % 16).append("\",")
+				.append("\"jobId\":\"job-").append(i).append('"');
+			if (i % 10 == 0) {
+				jobs.append(",\"status\":\"ERROR\",\"result\":{\"message\":\"boom\",")
+					.append("\"errorClass\":\"java.lang.RuntimeException\",")
+					.append("\"stack\":[\"at a.B(B.scala:1)\",\"at c.D(D.scala:2)\",\"at e.F(F.scala:3)\"]}}");
+			} else {
+				jobs.append(",\"status\":\"FINISHED\"}");
+			}
+		}
+		return jobs.append(']').toString();
+	}
+
+	/**
+	 * Gets the reply of <code>GET /jobs/&lt;jobId&gt;</code> for a finished job
+	 * whose result is an array of words and counts of about the given size.
+	 *
+	 * @param size the size in characters of the result
+	 * @return the large result reply
+	 */
+	static String resultReply(int size) {
+		StringBuilder result = new StringBuilder(size + 128);
+		result.append("{\"status\":\"FINISHED\",\"result\":[");
+		for (int i = 0; result.length() < size; i++) {
+			if (i > 0) {
+				result.append(',');
+			}
+			result.append("{\"word\":\"word-").append(i).append("\",\"count\":").append(i % 1000).append('}');
+		}
+		return result.append("]}").toString();
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the parsing of the responses of the Spark Job Server, that is
+ * <code>parseResult</code> for the small status replies and the large results,
+ * and the decoding of the <code>GET /jobs</code> listings into <code>SparkJobInfo</code>.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SparkJobResponseParserBenchmark {
+	private String statusReply;
+	private String startedReply;
+	private String resultReply;
+	private String jobs;
+	private byte[] jobsBytes;
+
+	@Setup
+	public void setUp() {
+		statusReply = SparkJobBenchmarkPayloads.statusReply();
+		startedReply = SparkJobBenchmarkPayloads.startedReply();
+		resultReply = SparkJobBenchmarkPayloads.resultReply(SparkJobBenchmarkPayloads.LARGE_RESULT_SIZE);
+		jobs = SparkJobBenchmarkPayloads.jobs(SparkJobBenchmarkPayloads.LARGE_JOBS_COUNT);
+		jobsBytes = jobs.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public SparkJobResult parseStatusReply() throws Exception {
+		return SparkJobResponseParser.parseResult(statusReply);
+	}
+
+	@Benchmark
+	public SparkJobResult parseStartedReply() throws Exception {
+		return SparkJobResponseParser.parseResult(startedReply);
+	}
+
+	@Benchmark
+	public SparkJobResult parseLargeResult() throws Exception {
+		return SparkJobResponseParser.parseResult(resultReply);
+	}
+
+	@Benchmark
+	public List<SparkJobInfo> parseJobs() throws Exception {
+		return SparkJobResponseParser.parseJobs(jobs);
+	}
+
+	@Benchmark
+	public List<SparkJobInfo> decodeJobsFromStream() throws Exception {
+		SparkJobInfoDecoder decoder = new SparkJobInfoDecoder(new ByteArrayInputStream(jobsBytes));
+		try {
+			return decoder.decodeAll();
+		} finally {
+			decoder.close();
+		}
+	}
+}
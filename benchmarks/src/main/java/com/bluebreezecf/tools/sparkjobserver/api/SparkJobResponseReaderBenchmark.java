@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks <code>getResponseContent</code>, which reads the http responses
+ * of the Spark Job Server into strings.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SparkJobResponseReaderBenchmark {
+	@Param({"status", "jobs", "result"})
+	public String payload;
+
+	private byte[] content;
+
+	@Setup
+	public void setUp() {
+		String reply = null;
+		if ("jobs".equals(payload)) {
+			reply = SparkJobBenchmarkPayloads.jobs(SparkJobBenchmarkPayloads.LARGE_JOBS_COUNT);
+		} else if ("result".equals(payload)) {
+			reply = SparkJobBenchmarkPayloads.resultReply(SparkJobBenchmarkPayloads.LARGE_RESULT_SIZE);
+		} else {
+			reply = SparkJobBenchmarkPayloads.statusReply();
+		}
+		content = reply.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public String readResponseContent() {
+		return SparkJobServerClientImpl.readResponseContent(new ByteArrayEntity(content, ContentType.APPLICATION_JSON));
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the building of the urls sent by <code>startJob</code> and
+ * <code>createContext</code>.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SparkJobUrlBenchmark {
+	private static final String JOB_SERVER_URL = "http://localhost:8090/";
+
+	private Map<String, String> jobParams;
+	private Map<String, String> contextParams;
+
+	@Setup
+	public void setUp() {
+		jobParams = new LinkedHashMap<String, String>();
+		jobParams.put(ISparkJobServerClientConstants.PARAM_APP_NAME, "spark-test");
+		jobParams.put(ISparkJobServerClientConstants.PARAM_CLASS_PATH, "spark.jobserver.WordCountExample");
+		jobParams.put(ISparkJobServerClientConstants.PARAM_CONTEXT, "ctxTest");
+		jobParams.put(ISparkJobServerClientConstants.PARAM_SYNC, "false");
+		contextParams = new LinkedHashMap<String, String>();
+		contextParams.put(ISparkJobServerClientConstants.PARAM_NUM_CPU_CORES, "10");
+		contextParams.put(ISparkJobServerClientConstants.PARAM_MEM_PER_NODE, "512m");
+	}
+
+	@Benchmark
+	public String buildStartJobUrl() {
+		return SparkJobServerClientImpl.buildUrl(JOB_SERVER_URL + "jobs", jobParams);
+	}
+
+	@Benchmark
+	public String buildCreateContextUrl() {
+		return SparkJobServerClientImpl.buildUrl(JOB_SERVER_URL + "contexts/" + "ctxTest", contextParams);
+	}
+}
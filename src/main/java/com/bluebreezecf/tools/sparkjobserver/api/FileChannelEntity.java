@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+/**
+ * A repeatable http entity sending the content of a file with
+ * <code>FileChannel.transferTo</code>, so the file is never loaded
+ * into the heap and its length is sent as the Content-Length.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+class FileChannelEntity extends AbstractHttpEntity {
+	private final File file;
+
+	/**
+	 * Constructs an instance of <code>FileChannelEntity</code> with the given file.
+	 *
+	 * @param file the file to be sent
+	 * @param contentType the content type of the file
+	 */
+	FileChannelEntity(File file, ContentType contentType) {
+		this.file = file;
+		setContentType(contentType.toString());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean isRepeatable() {
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getContentLength() {
+		return file.length();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public InputStream getContent() throws IOException {
+		return new FileInputStream(file);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws IOException error occurs when sending the file, or the file is
+	 *         cut short while it is sent
+	 */
+	public void writeTo(OutputStream outStream) throws IOException {
+		FileInputStream in = new FileInputStream(file);
+		try {
+			FileChannel fileChannel = in.getChannel();
+			WritableByteChannel target = Channels.newChannel(outStream);
+			long position = 0;
+			long size = fileChannel.size();
+			while (position < size) {
+				long transferred = fileChannel.transferTo(position, size - position, target);
+				if (transferred <= 0) {
+					//The target blocks until all is written, so nothing is left to read
+					throw new IOException("The file " + file.getAbsolutePath() + " ended after " + position
+						+ " of its " + size + " bytes were sent.");
+				}
+				position += transferred;
+			}
+			outStream.flush();
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean isStreaming() {
+		return false;
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The asynchronous variant of <code>ISparkJobServerClient</code>.
+ *
+ * <p>
+ * Each method sends the request and returns at once, and the returned
+ * <code>CompletableFuture</code> is completed when the response arrives.
+ * All the outstanding calls are served by a few I/O dispatcher threads,
+ * while the responses are parsed and the futures are completed on the
+ * callback executor set by <code>SparkJobServerClientConfig.setCallbackExecutor</code>,
+ * which is <code>ForkJoinPool.commonPool()</code> by default.
+ *
+ * <p>
+ * Errors are reported by completing the returned future exceptionally with
+ * a <code>SparkJobServerClientException</code>, in the same situations that
+ * the corresponding methods of <code>ISparkJobServerClient</code> throw it.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public interface ISparkJobServerAsyncClient extends Closeable {
+	/**
+	 * Lists all the information of jars for potential jobs to be running
+	 * in the Spark Cluster behind the Spark Job Server.
+	 *
+	 * @return a future of the list containing information of Spark Job jars
+	 * @see ISparkJobServerClient#getJars()
+	 */
+	CompletableFuture<List<SparkJobJarInfo>> getJarsAsync();
+
+	/**
+	 * Uploads a jar containing spark job to the Spark Job Server under
+	 * the given application name.
+	 *
+	 * <p>
+	 * The file is sent with <code>FileChannel.transferTo</code> straight to
+	 * the socket, without being copied into the heap.
+	 *
+	 * @param jarFile the jar file
+	 * @param appName the application name under which the related Spark Job
+	 *     is about to run
+	 * @return a future of true if the operation of uploading is successful, false otherwise
+	 * @see ISparkJobServerClient#uploadSparkJobJar(File, String)
+	 */
+	CompletableFuture<Boolean> uploadSparkJobJarAsync(File jarFile, String appName);
+
+	/**
+	 * Lists all the contexts available in the Spark Job Server.
+	 *
+	 * @return a future of the list containing names of current contexts
+	 * @see ISparkJobServerClient#getContexts()
+	 */
+	CompletableFuture<List<String>> getContextsAsync();
+
+	/**
+	 * Creates a new context in the Spark Job Server with the given context name.
+	 *
+	 * @param contextName the name of the new context to be created
+	 * @param params a map containing the key-value pairs appended to appoint the context
+	 *        settings, or null indicates the new context with the default configuration
+	 * @return a future of true if the operation of creating is successful, false otherwise
+	 * @see ISparkJobServerClient#createContext(String, Map)
+	 */
+	CompletableFuture<Boolean> createContextAsync(String contextName, Map<String, String> params);
+
+	/**
+	 * Delete a context with the given name in the Spark Job Server.
+	 *
+	 * @param contextName the name of the target context to be deleted
+	 * @return a future of true if the operation of the deleting is successful, false otherwise
+	 * @see ISparkJobServerClient#deleteContext(String)
+	 */
+	CompletableFuture<Boolean> deleteContextAsync(String contextName);
+
+	/**
+	 * Lists the last N jobs in the Spark Job Server.
+	 *
+	 * @return a future of the list containing information of the jobs
+	 * @see ISparkJobServerClient#getJobs()
+	 */
+	CompletableFuture<List<SparkJobInfo>> getJobsAsync();
+
+	/**
+	 * Lists the last N jobs in the Spark Job Server for the specified job status.
+	 *
+	 * @param jobStatus RUNNING OK ERROR FINISHED STARTED
+	 * @return a future of the list containing information of the jobs for specified status
+	 * @see ISparkJobServerClient#getJobsByStatus(String)
+	 */
+	CompletableFuture<List<SparkJobInfo>> getJobsByStatusAsync(String jobStatus);
+
+	/**
+	 * Start a new job with the given parameters.
+	 *
+	 * @param data contains the the data processed by the target job, it can be null
+	 * @param params a non-null map containing parameters to start the job
+	 * @return a future of the corresponding job status or job result
+	 * @see ISparkJobServerClient#startJob(String, Map)
+	 */
+	CompletableFuture<SparkJobResult> startJobAsync(String data, Map<String, String> params);
+
+	/**
+	 * Gets the result or status of a specific job in the Spark Job Server.
+	 *
+	 * @param jobId the id of the target job
+	 * @return a future of the corresponding <code>SparkJobResult</code> instance
+	 * @see ISparkJobServerClient#getJobResult(String)
+	 */
+	CompletableFuture<SparkJobResult> getJobResultAsync(String jobId);
+
+	/**
+	 * Waits for the completion of a specific job, by polling its result or status
+	 * in the Spark Job Server according to the given policy.
+	 *
+	 * <p>
+	 * The polls of all the waiting jobs are multiplexed on one shared scheduler
+	 * thread, so no thread is blocked for a waiting job. Cancelling the returned
+	 * future stops the polling.
+	 *
+	 * @param jobId the id of the target job
+	 * @param policy the policy deciding how often the job is polled and how long
+	 *        to wait, or null indicates <code>SparkJobPollPolicy.defaultPolicy()</code>
+	 * @return a future of the first <code>SparkJobResult</code> instance which does
+	 *         not contain the asynchronous running status, it is completed exceptionally
+	 *         if a poll fails or the timeout of the policy is reached
+	 * @see SparkJobResult#containsAsynStatus()
+	 */
+	CompletableFuture<SparkJobResult> awaitCompletion(String jobId, SparkJobPollPolicy policy);
+
+	/**
+	 * Gets the job configuration of a specific job.
+	 *
+	 * @param jobId the id of the target job
+	 * @return a future of the corresponding <code>SparkJobConfig</code> instance
+	 * @see ISparkJobServerClient#getConfig(String)
+	 */
+	CompletableFuture<SparkJobConfig> getConfigAsync(String jobId);
+
+	/**
+	 * Kill the specified job.
+	 *
+	 * @param jobId the id of the target job
+	 * @return a future of true if the job has been killed
+	 * @see ISparkJobServerClient#killJob(String)
+	 */
+	CompletableFuture<Boolean> killJobAsync(String jobId);
+
+	/**
+	 * Gets the statistics of the cache of job results, which is enabled by
+	 * <code>SparkJobServerClientConfig.setResultCacheMaxEntries(int)</code>.
+	 *
+	 * <p>
+	 * Only the results of the jobs in a terminal status are cached, the results
+	 * of the running jobs are always queried from the Spark Job Server.
+	 *
+	 * @return the statistics of the result cache, or null if it is disabled
+	 *
+	 * @see ISparkJobServerClient#getResultCacheStats()
+	 */
+	SparkJobCacheStats getResultCacheStats();
+
+	/**
+	 * Closes current client, its I/O dispatcher threads and the pooled connections
+	 * held by it. The calls still outstanding are cancelled. A client got from
+	 * <code>SparkJobServerClientFactory</code> without a
+	 * <code>SparkJobServerClientConfig</code> is shared by all the callers
+	 * using the same settings, so closing it does nothing.
+	 */
+	@Override
+	void close();
+}
@@ -16,10 +16,12 @@
 
 package com.bluebreezecf.tools.sparkjobserver.api;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * A client implements all the Rest APIs described by the
@@ -28,7 +30,7 @@ import java.util.Map;
  * @author bluebreezecf
  * @since 2014-09-07
  */
-public interface ISparkJobServerClient {
+public interface ISparkJobServerClient extends Closeable {
 	/**
 	 * Lists all the information of jars for potential jobs to be running
 	 * in the Spark Cluster behind the Spark Job Server.
@@ -145,6 +147,25 @@ public interface ISparkJobServerClient {
 	 */
 	List<SparkJobInfo> getJobs() throws SparkJobServerClientException;
 
+	/**
+	 * Lists the last <code>limit</code> jobs in the Spark Job Server, instead of
+	 * the default number of jobs listed by the server.
+	 *
+	 * <p>
+	 * This method implements the Rest API <code>'GET /jobs&quest;limit&equals;&lt;limit&gt;' </code>
+	 * of the Spark Job Server. The default implementation cuts the list of
+	 * <code>getJobs()</code> to the given limit.
+	 *
+	 * @param limit the max number of the listed jobs, it should be positive
+	 * @return a list containing information of the jobs
+	 * @throws SparkJobServerClientException error occurs when trying to get
+	 *         information of jobs
+	 */
+	default List<SparkJobInfo> getJobs(int limit) throws SparkJobServerClientException {
+		List<SparkJobInfo> jobs = getJobs();
+		return jobs.size() > limit ? jobs.subList(0, limit) : jobs;
+	}
+
 	/**
 	 * Lists the last N jobs in the Spark Job Server for the specified job status.
 	 *
@@ -160,6 +181,67 @@ public interface ISparkJobServerClient {
 	 */
 	List<SparkJobInfo> getJobsByStatus(String jobStatus) throws SparkJobServerClientException;
 	
+	/**
+	 * Lists the last N jobs in the Spark Job Server lazily.
+	 *
+	 * <p>
+	 * Unlike <code>getJobs()</code>, each job is decoded from the http response
+	 * only when the returned stream pulls it, so a short-circuiting operation
+	 * such as <code>findFirst()</code> stops reading the response early. The
+	 * returned stream holds a pooled connection until it reaches its end or is
+	 * closed, so it should be used in a try-with-resources statement. Errors
+	 * occurring while the stream is consumed are thrown as
+	 * <code>UncheckedIOException</code>.
+	 *
+	 * <p>
+	 * This method implements the Rest API <code>'GET /jobs' </code> of the Spark
+	 * Job Server. The default implementation streams the list of <code>getJobs()</code>.
+	 *
+	 * @return a lazy stream of the information of the jobs
+	 * @throws SparkJobServerClientException error occurs when trying to get
+	 *         information of jobs
+	 */
+	default Stream<SparkJobInfo> streamJobs() throws SparkJobServerClientException {
+		return getJobs().stream();
+	}
+
+	/**
+	 * Lists the last <code>limit</code> jobs in the Spark Job Server lazily,
+	 * in the same way as <code>streamJobs()</code>.
+	 *
+	 * <p>
+	 * This method implements the Rest API <code>'GET /jobs&quest;limit&equals;&lt;limit&gt;' </code>
+	 * of the Spark Job Server. The default implementation cuts the stream of
+	 * <code>streamJobs()</code> to the given limit.
+	 *
+	 * @param limit the max number of the listed jobs, it should be positive
+	 * @return a lazy stream of the information of the jobs
+	 * @throws SparkJobServerClientException error occurs when trying to get
+	 *         information of jobs
+	 */
+	default Stream<SparkJobInfo> streamJobs(int limit) throws SparkJobServerClientException {
+		return streamJobs().limit(limit);
+	}
+
+	/**
+	 * Lists the last N jobs in the Spark Job Server for the specified job status lazily,
+	 * in the same way as <code>streamJobs()</code>.
+	 *
+	 * <p>
+	 * This method implements the Rest API <code>'GET /jobs&quest;status&equals;&lpar;RUNNING&verbar;ERROR&verbar;FINISHED&verbar;
+	 * STARTED&verbar;OK&rpar;' </code> of the Spark
+	 * Job Server. The default implementation streams the list of
+	 * <code>getJobsByStatus(String)</code>.
+	 *
+	 * @param jobStatus RUNNING OK ERROR FINISHED STARTED
+	 * @return a lazy stream of the information of the jobs for specified status
+	 * @throws SparkJobServerClientException error occurs when trying to get
+	 *         information of jobs
+	 */
+	default Stream<SparkJobInfo> streamJobsByStatus(String jobStatus) throws SparkJobServerClientException {
+		return getJobsByStatus(jobStatus).stream();
+	}
+
 	/**
 	 * Start a new job with the given parameters.
 	 * 
@@ -279,6 +361,30 @@ public interface ISparkJobServerClient {
 	 *         information of the target job
 	 */
 	SparkJobResult getJobResult(String jobId) throws SparkJobServerClientException;
+
+	/**
+	 * Waits for the completion of a specific job, by polling its result or status
+	 * in the Spark Job Server according to the given policy.
+	 *
+	 * <p>
+	 * The calling thread sleeps between the polls of <code>getJobResult(String)</code>.
+	 * <code>ISparkJobServerAsyncClient.awaitCompletion</code> waits for many jobs
+	 * without blocking a thread for each of them.
+	 *
+	 * @param jobId the id of the target job
+	 * @param policy the policy deciding how often the job is polled and how long
+	 *        to wait, or null indicates <code>SparkJobPollPolicy.defaultPolicy()</code>
+	 * @return the first <code>SparkJobResult</code> instance which does not contain
+	 *         the asynchronous running status, or null if there is no corresponding job
+	 * @throws SparkJobServerClientException error occurs when polling the job, the
+	 *         timeout of the policy is reached or the calling thread is interrupted
+	 * @see SparkJobResult#containsAsynStatus()
+	 */
+	default SparkJobResult awaitCompletion(String jobId, SparkJobPollPolicy policy)
+		throws SparkJobServerClientException {
+		return SparkJobCompletionAwaiter.await(this, jobId,
+			policy != null ? policy : SparkJobPollPolicy.defaultPolicy());
+	}
 	
 	/**
 	 * Gets the job configuration of a specific job.
@@ -311,4 +417,58 @@ public interface ISparkJobServerClient {
 	 */
 	boolean killJob(String jobId) throws SparkJobServerClientException;
 
+	/**
+	 * Gets the statistics of the cache of job results, which is enabled by
+	 * <code>SparkJobServerClientConfig.setResultCacheMaxEntries(int)</code>.
+	 *
+	 * <p>
+	 * Only the results of the jobs in a terminal status are cached, the results
+	 * of the running jobs are always queried from the Spark Job Server.
+	 *
+	 * @return the statistics of the result cache, or null if it is disabled,
+	 *         the default implementation has no cache
+	 */
+	default SparkJobCacheStats getResultCacheStats() {
+		return null;
+	}
+
+	/**
+	 * Gets the current concurrency limit of the calls to the Spark Job Server and
+	 * the number of calls queued by it, which is enabled by
+	 * <code>SparkJobServerClientConfig.setMaxConcurrency(int)</code>.
+	 *
+	 * @return the statistics of the concurrency limit, or null if it is disabled,
+	 *         the default implementation has no limit
+	 */
+	default SparkJobServerConcurrencyStats getConcurrencyStats() {
+		return null;
+	}
+
+	/**
+	 * Gets the number of the calls of <code>getJobResult</code>, <code>getContexts</code>
+	 * and <code>getJars</code> which have shared the request of an identical call
+	 * in flight, instead of sending their own.
+	 *
+	 * @return the number of coalesced calls, the default implementation coalesces none
+	 */
+	default long getCoalescedCount() {
+		return 0;
+	}
+
+	/**
+	 * Closes current client and the pooled connections held by it.
+	 *
+	 * <p>
+	 * Once it is closed, any further call of current client fails with
+	 * a <code>SparkJobServerClientException</code>. A client got from
+	 * <code>SparkJobServerClientFactory</code> without a
+	 * <code>SparkJobServerClientConfig</code> is shared by all the callers
+	 * using the same settings, so closing it does nothing.
+	 *
+	 * <p>
+	 * The default implementation holds nothing to be closed, and does nothing.
+	 */
+	@Override
+	default void close() {
+	}
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * The listener of the phases of the calls of an <code>ISparkJobServerClient</code>,
+ * which is added by <code>SparkJobServerClientConfig.addEventListener</code>
+ * to debug the slow calls.
+ *
+ * <p>
+ * Each call has its own <code>SparkJobServerClientEvent</code>, which is passed
+ * to every phase and holds the times of the phases reached so far. A failed
+ * call may skip the later phases. The listeners are called by the threads
+ * making the calls, so they should be thread safe and return quickly, and
+ * their errors are logged and ignored. No event is created when there is no
+ * listener.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public interface ISparkJobServerClientEventListener {
+	/**
+	 * Receives the start of a call, before it waits for a connection.
+	 *
+	 * @param event the event of the call
+	 */
+	default void requestStarted(SparkJobServerClientEvent event) {
+	}
+
+	/**
+	 * Receives a connection leased from the pool, and connected if it is a new one.
+	 *
+	 * @param event the event of the call, which tells whether the connection is reused
+	 */
+	default void connectionAcquired(SparkJobServerClientEvent event) {
+	}
+
+	/**
+	 * Receives the request written to the connection.
+	 *
+	 * @param event the event of the call
+	 */
+	default void requestSent(SparkJobServerClientEvent event) {
+	}
+
+	/**
+	 * Receives the status line and headers of the response.
+	 *
+	 * @param event the event of the call
+	 */
+	default void firstByteReceived(SparkJobServerClientEvent event) {
+	}
+
+	/**
+	 * Receives the content of the response read through.
+	 *
+	 * @param event the event of the call
+	 */
+	default void bodyRead(SparkJobServerClientEvent event) {
+	}
+
+	/**
+	 * Receives the content of the response parsed. The listings of the jobs
+	 * are parsed while they are read, so for them the body is read just before
+	 * the parse is done.
+	 *
+	 * @param event the event of the call
+	 */
+	default void parseDone(SparkJobServerClientEvent event) {
+	}
+
+	/**
+	 * Receives the failure of a call after its retries, once at most, which is
+	 * <ul>
+	 * <li>an error before a response is received;</li>
+	 * <li>a response of a status other than 2xx, received just after
+	 * <code>firstByteReceived</code>, while the content of the error may still
+	 * be read and parsed afterwards;</li>
+	 * <li>an error when reading or parsing the content of the response.</li>
+	 * </ul>
+	 *
+	 * @param event the event of the call, which holds the error
+	 */
+	default void failed(SparkJobServerClientEvent event) {
+	}
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.List;
+
+/**
+ * The strategy choosing the Spark Job Server which runs a new job or
+ * context, when a cluster client is backed by several servers.
+ *
+ * <p>
+ * The built-in strategies are provided by <code>SparkJobServerLoadBalancers</code>.
+ * An implementation is called by many threads at the same time, so it
+ * should be thread safe.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public interface ISparkJobServerLoadBalancer {
+	/**
+	 * Chooses one of the given endpoints.
+	 *
+	 * @param endpoints the non-empty list of the candidate endpoints
+	 * @return the chosen endpoint, which should be one of the given ones
+	 */
+	SparkJobServerEndpoint choose(List<SparkJobServerEndpoint> endpoints);
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * The receiver of the metrics of the calls of an <code>ISparkJobServerClient</code>,
+ * which is set by <code>SparkJobServerClientConfig.setMetrics</code>.
+ *
+ * <p>
+ * The operations are named after the methods of the client, that is
+ * <code>getJars</code>, <code>uploadSparkJobJar</code>, <code>getContexts</code>,
+ * <code>createContext</code>, <code>deleteContext</code>, <code>getJobs</code>,
+ * <code>startJob</code>, <code>getJobResult</code>, <code>getConfig</code> and
+ * <code>killJob</code>. <code>SparkJobServerHistogramMetrics</code> keeps them in
+ * memory. An implementation is called by many threads at the same time on the
+ * path of every call, so it should be thread safe and cheap.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public interface ISparkJobServerMetrics {
+	/**
+	 * Receives the start of a call, before it is sent.
+	 *
+	 * @param operation the name of the operation
+	 */
+	void requestStarted(String operation);
+
+	/**
+	 * Receives the end of a call, once the headers of its response have been
+	 * received or it has failed.
+	 *
+	 * @param operation the name of the operation
+	 * @param statusCode the status code of the response, or -1 if no response
+	 *        has been received
+	 * @param latencyNanos the nanoseconds from the start of the call, including
+	 *        the waits for a connection and the retries
+	 */
+	void requestFinished(String operation, int statusCode, long latencyNanos);
+
+	/**
+	 * Receives the bytes of a request content which have been sent.
+	 *
+	 * @param operation the name of the operation
+	 * @param bytes the number of bytes
+	 */
+	void bytesSent(String operation, long bytes);
+
+	/**
+	 * Receives the bytes of a response content which have been received.
+	 *
+	 * @param operation the name of the operation
+	 * @param bytes the number of bytes
+	 */
+	void bytesReceived(String operation, long bytes);
+
+	/**
+	 * Receives the time spent in parsing a response content.
+	 *
+	 * <p>
+	 * Most responses are read through before they are parsed, so their parse
+	 * time is spent on the cpu alone. The listings of the jobs of
+	 * <code>getJobs</code> and <code>getJobsByStatus</code> are decoded while
+	 * they are read from the socket, so their parse time also includes waiting
+	 * for the server and the network, and it should not be taken as the cost of
+	 * the parsing. The lazy streams of the jobs are not measured.
+	 *
+	 * @param operation the name of the operation
+	 * @param parseNanos the nanoseconds spent in parsing
+	 */
+	void parsed(String operation, long parseNanos);
+}
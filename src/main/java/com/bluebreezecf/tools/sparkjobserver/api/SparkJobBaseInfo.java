@@ -60,6 +60,12 @@ class SparkJobBaseInfo {
 	 */
 	static final String INFO_STATUS_RUNNING = "RUNNING";
 
+	/**
+	 * Status value in a global job information (a <code>SparkJobInfo</code>
+	 * instance) of a job killed by <code>DELETE /jobs/&lt;jobId&gt;</code>
+	 */
+	static final String INFO_STATUS_KILLED = "KILLED";
+
 	/**
 	 * Key of status information in the Spark Job Server's json response.
 	 */
@@ -107,6 +113,8 @@ class SparkJobBaseInfo {
 
 	static final Set<String> ASYNC_STATUS = new HashSet<String>(Arrays.asList(new String[]{INFO_STATUS_STARTED, INFO_STATUS_RUNNING}));
 	static final Set<String> COMPLETED = new HashSet<String>(Arrays.asList(new String[]{INFO_STATUS_FINISHED, INFO_STATUS_OK}));
+	static final Set<String> TERMINAL_STATUS = new HashSet<String>(Arrays.asList(new String[]{INFO_STATUS_FINISHED,
+		INFO_STATUS_OK, INFO_STATUS_ERROR, INFO_STATUS_KILLED}));
 
 	private String status;
 	private String message;
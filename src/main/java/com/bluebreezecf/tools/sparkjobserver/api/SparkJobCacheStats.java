@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * Presents a snapshot of the statistics of a cache inside the client.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public class SparkJobCacheStats {
+	private final long hitCount;
+	private final long missCount;
+	private final long evictionCount;
+	private final int entryCount;
+	private final long weight;
+
+	SparkJobCacheStats(long hitCount, long missCount, long evictionCount, int entryCount, long weight) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.evictionCount = evictionCount;
+		this.entryCount = entryCount;
+		this.weight = weight;
+	}
+
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Gets the ratio of the lookups served by the cache.
+	 *
+	 * @return the hit rate, or 0 if there is no lookup yet
+	 */
+	public double getHitRate() {
+		long requestCount = hitCount + missCount;
+		return requestCount == 0 ? 0 : (double)hitCount / requestCount;
+	}
+
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	public int getEntryCount() {
+		return entryCount;
+	}
+
+	/**
+	 * Gets the total weight of the cached entries, which is the estimated
+	 * bytes they take for a cache bounded by bytes.
+	 *
+	 * @return the total weight of the cached entries
+	 */
+	public long getWeight() {
+		return weight;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "SparkJobCacheStats[hitCount=" + hitCount + ", missCount=" + missCount
+			+ ", evictionCount=" + evictionCount + ", entryCount=" + entryCount + ", weight=" + weight + "]";
+	}
+}
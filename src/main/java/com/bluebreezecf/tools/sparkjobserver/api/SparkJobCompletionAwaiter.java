@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits for the completion of spark jobs by polling their status.
+ *
+ * <p>
+ * All the waiting jobs share one scheduler thread, which only sends the
+ * asynchronous <code>GET /jobs/&lt;jobId&gt;</code> calls and never blocks
+ * on them, so thousands of jobs can be waited for at the same time. The
+ * blocking clients wait in the calling thread instead.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobCompletionAwaiter {
+	private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+	private SparkJobCompletionAwaiter() {
+	}
+
+	private static ScheduledThreadPoolExecutor createScheduler() {
+		ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "spark-job-completion-awaiter");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		//Drops the polls of the cancelled waitings at once
+		scheduler.setRemoveOnCancelPolicy(true);
+		return scheduler;
+	}
+
+	/**
+	 * Waits for the completion of the given job. Cancelling the returned
+	 * future stops the polling.
+	 *
+	 * @param client the client used to poll the status of the job
+	 * @param jobId the id of the target job
+	 * @param policy the policy of the polling
+	 * @return a future completed with the first result which is not the status
+	 *         of a running job
+	 */
+	static CompletableFuture<SparkJobResult> await(ISparkJobServerAsyncClient client,
+		String jobId, SparkJobPollPolicy policy) {
+		final Poll poll = new Poll(client, jobId, policy);
+		poll.future.whenComplete((result, error) -> {
+			if (poll.future.isCancelled()) {
+				poll.cancel();
+			}
+		});
+		poll.schedule(policy.getInitialDelay());
+		return poll.future;
+	}
+
+	/**
+	 * Waits for the completion of the given job in the calling thread, which
+	 * sleeps between the polls.
+	 *
+	 * @param client the client used to poll the status of the job
+	 * @param jobId the id of the target job
+	 * @param policy the policy of the polling
+	 * @return the first result which is not the status of a running job
+	 * @throws SparkJobServerClientException error occurs when polling the job, the
+	 *         timeout is reached or the calling thread is interrupted
+	 */
+	static SparkJobResult await(ISparkJobServerClient client, String jobId, SparkJobPollPolicy policy)
+		throws SparkJobServerClientException {
+		if (jobId == null || jobId.trim().isEmpty()) {
+			throw new SparkJobServerClientException("The given jobId is null or empty.");
+		}
+		long deadline = policy.getTimeout() > 0
+			? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(policy.getTimeout()) : 0;
+		long delay = policy.getInitialDelay();
+		while (true) {
+			long nextDelay = delay;
+			if (deadline != 0) {
+				long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if (remaining <= 0) {
+					throw new SparkJobServerClientException("The job " + jobId
+						+ " has not completed in " + policy.getTimeout() + " milliseconds.");
+				}
+				nextDelay = Math.min(nextDelay, remaining);
+			}
+			try {
+				Thread.sleep(nextDelay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SparkJobServerClientException("Interrupted when waiting for the job " + jobId, e);
+			}
+			SparkJobResult result = client.getJobResult(jobId);
+			if (result == null || !result.containsAsynStatus()) {
+				return result;
+			}
+			delay = policy.nextDelay(delay);
+		}
+	}
+
+	/**
+	 * The state of waiting for one job.
+	 */
+	private static final class Poll implements Runnable {
+		private final ISparkJobServerAsyncClient client;
+		private final String jobId;
+		private final SparkJobPollPolicy policy;
+		private final long deadline;
+		private final CompletableFuture<SparkJobResult> future = new CompletableFuture<SparkJobResult>();
+		private long delay;
+		private volatile Future<?> pending;
+
+		Poll(ISparkJobServerAsyncClient client, String jobId, SparkJobPollPolicy policy) {
+			this.client = client;
+			this.jobId = jobId;
+			this.policy = policy;
+			this.deadline = policy.getTimeout() > 0
+				? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(policy.getTimeout()) : 0;
+		}
+
+		public void run() {
+			if (future.isDone()) {
+				return;
+			}
+			CompletableFuture<SparkJobResult> call = client.getJobResultAsync(jobId);
+			pending = call;
+			call.whenComplete((result, error) -> {
+				if (error != null) {
+					future.completeExceptionally(error);
+				} else if (result != null && result.containsAsynStatus()) {
+					schedule(policy.nextDelay(delay));
+				} else {
+					future.complete(result);
+				}
+			});
+		}
+
+		/**
+		 * Schedules the next poll, or fails the waiting when the timeout has been reached.
+		 *
+		 * @param nextDelay the milliseconds before the next poll
+		 */
+		void schedule(long nextDelay) {
+			if (future.isDone()) {
+				return;
+			}
+			delay = nextDelay;
+			if (deadline != 0) {
+				long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if (remaining <= 0) {
+					future.completeExceptionally(new SparkJobServerClientException("The job " + jobId
+						+ " has not completed in " + policy.getTimeout() + " milliseconds."));
+					return;
+				}
+				nextDelay = Math.min(nextDelay, remaining);
+			}
+			try {
+				pending = SCHEDULER.schedule(this, nextDelay, TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException e) {
+				future.completeExceptionally(new SparkJobServerClientException(
+					"Error occurs when trying to poll the status of the job " + jobId, e));
+			}
+		}
+
+		void cancel() {
+			Future<?> current = pending;
+			if (current != null) {
+				current.cancel(false);
+			}
+		}
+	}
+}
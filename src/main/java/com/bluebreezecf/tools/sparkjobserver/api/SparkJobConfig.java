@@ -16,7 +16,9 @@
 
 package com.bluebreezecf.tools.sparkjobserver.api;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -36,9 +38,16 @@ import java.util.Set;
  *
  */
 public class SparkJobConfig {
-	private Map<String, Object> configs = new HashMap<String, Object>();
-	void putConfigItem(String key, Object value) {
-		this.configs.put(key, value);
+	private final Map<String, Object> configs;
+
+	/**
+	 * Constructs an instance of <code>SparkJobConfig</code> holding
+	 * the given configuration items, which are never changed since then.
+	 *
+	 * @param configs the key-value pairs of configuration items
+	 */
+	SparkJobConfig(Map<String, Object> configs) {
+		this.configs = Collections.unmodifiableMap(new LinkedHashMap<String, Object>(configs));
 	}
 	
 	/**
@@ -49,6 +58,30 @@ public class SparkJobConfig {
 	public Map<String, Object> getConfigs() {
 		return new HashMap<String, Object>(this.configs);
 	}
+
+	/**
+	 * Gets all the configuration items without copying them.
+	 *
+	 * <p>
+	 * Current instance never changes once it is created, so it can be shared
+	 * across threads. The values parsed from json objects and arrays are
+	 * unmodifiable maps and lists as well.
+	 *
+	 * @return an unmodifiable map holding the key-value pairs of configuration items
+	 */
+	public Map<String, Object> getConfigItems() {
+		return this.configs;
+	}
+
+	/**
+	 * Gets the value of the given configuration item.
+	 *
+	 * @param key the key of the configuration item
+	 * @return the value of the configuration item, or null if it does not exist
+	 */
+	public Object getConfigItem(String key) {
+		return this.configs.get(key);
+	}
 	
 	/**
 	 * {@inheritDoc}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Decodes the json array responded by <code>GET /jobs</code> into
+ * <code>SparkJobInfo</code> instances token by token.
+ *
+ * <p>
+ * Only the job being decoded is held in memory, so the memory used
+ * for parsing stays bounded no matter how many jobs are listed.
+ * Unknown keys of a job are skipped.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobInfoDecoder implements Closeable {
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private final JsonParser parser;
+	private boolean started;
+	private boolean finished;
+
+	/**
+	 * Constructs an instance of <code>SparkJobInfoDecoder</code> reading
+	 * the given stream, whose encoding is detected from its leading bytes.
+	 *
+	 * @param in the stream holding the json array of jobs
+	 * @throws IOException error occurs when reading the stream
+	 */
+	SparkJobInfoDecoder(InputStream in) throws IOException {
+		this.parser = JSON_FACTORY.createParser(in);
+	}
+
+	/**
+	 * Constructs an instance of <code>SparkJobInfoDecoder</code> reading
+	 * the given json content.
+	 *
+	 * @param content the json array of jobs
+	 * @throws IOException error occurs when reading the content
+	 */
+	SparkJobInfoDecoder(String content) throws IOException {
+		this.parser = JSON_FACTORY.createParser(content);
+	}
+
+	/**
+	 * Decodes all the remaining jobs.
+	 *
+	 * @return a list containing information of the jobs
+	 * @throws IOException error occurs when reading or parsing the content
+	 */
+	List<SparkJobInfo> decodeAll() throws IOException {
+		List<SparkJobInfo> sparkJobInfos = new ArrayList<SparkJobInfo>();
+		SparkJobInfo jobInfo = null;
+		while ((jobInfo = next()) != null) {
+			sparkJobInfos.add(jobInfo);
+		}
+		return sparkJobInfos;
+	}
+
+	/**
+	 * Decodes the next job.
+	 *
+	 * @return the information of the next job, or null if there is no more job
+	 * @throws IOException error occurs when reading or parsing the content
+	 */
+	SparkJobInfo next() throws IOException {
+		if (finished) {
+			return null;
+		}
+		if (!started) {
+			started = true;
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new JsonParseException(parser, "The jobs should be a json array");
+			}
+		}
+		JsonToken token = parser.nextToken();
+		if (token == JsonToken.END_ARRAY || token == null) {
+			finished = true;
+			return null;
+		}
+		if (token != JsonToken.START_OBJECT) {
+			throw new JsonParseException(parser, "Each job should be a json object");
+		}
+		return readJobInfo();
+	}
+
+	/**
+	 * Judges all the jobs have been decoded or not.
+	 *
+	 * @return true if the end of the json array has been reached, false otherwise
+	 */
+	boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * Closes the parser and the underlying stream.
+	 */
+	@Override
+	public void close() throws IOException {
+		parser.close();
+	}
+
+	private SparkJobInfo readJobInfo() throws IOException {
+		SparkJobInfo jobInfo = new SparkJobInfo();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String key = parser.getCurrentName();
+			JsonToken valueToken = parser.nextToken();
+			if (SparkJobInfo.INFO_KEY_DURATION.equals(key)) {
+				jobInfo.setDuration(readText(valueToken));
+			} else if (SparkJobInfo.INFO_KEY_CLASSPATH.equals(key)) {
+				jobInfo.setClassPath(readText(valueToken));
+			} else if (SparkJobInfo.INFO_KEY_START_TIME.equals(key)) {
+				jobInfo.setStartTime(readText(valueToken));
+			} else if (SparkJobBaseInfo.INFO_KEY_CONTEXT.equals(key)) {
+				jobInfo.setContext(readText(valueToken));
+			} else if (SparkJobBaseInfo.INFO_KEY_STATUS.equals(key)) {
+				jobInfo.setStatus(readText(valueToken));
+			} else if (SparkJobBaseInfo.INFO_KEY_JOB_ID.equals(key)) {
+				jobInfo.setJobId(readText(valueToken));
+			} else if (SparkJobInfo.INFO_CONTEXT_ID.equals(key)) {
+				jobInfo.setContextId(readText(valueToken));
+			} else if (SparkJobBaseInfo.INFO_KEY_RESULT.equals(key) && valueToken == JsonToken.START_OBJECT) {
+				readErrorDetails(jobInfo);
+			} else {
+				parser.skipChildren();
+			}
+		}
+		return jobInfo;
+	}
+
+	/**
+	 * Reads the error details of a failed job, the parser is at the start
+	 * of the object holding them.
+	 */
+	private void readErrorDetails(SparkJobBaseInfo jobErrorInfo) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String key = parser.getCurrentName();
+			JsonToken valueToken = parser.nextToken();
+			if (SparkJobBaseInfo.INFO_KEY_RESULT_MESSAGE.equals(key)) {
+				jobErrorInfo.setMessage(readText(valueToken));
+			} else if (SparkJobBaseInfo.INFO_KEY_RESULT_ERROR_CLASS.equals(key)) {
+				jobErrorInfo.setErrorClass(readText(valueToken));
+			} else if (SparkJobBaseInfo.INFO_KEY_RESULT_STACK.equals(key)) {
+				if (valueToken == JsonToken.START_ARRAY) {
+					List<String> stack = new ArrayList<String>();
+					JsonToken itemToken = null;
+					while ((itemToken = parser.nextToken()) != JsonToken.END_ARRAY) {
+						stack.add(readText(itemToken));
+					}
+					jobErrorInfo.setStack(stack.toArray(new String[stack.size()]));
+				} else {
+					String[] stack = { readText(valueToken) };
+					jobErrorInfo.setStack(stack);
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	/**
+	 * Reads the current value as text in the way of json-lib, that is null
+	 * becomes "null". Structured values are skipped and read as an empty string.
+	 */
+	private String readText(JsonToken valueToken) throws IOException {
+		if (valueToken == JsonToken.START_OBJECT || valueToken == JsonToken.START_ARRAY) {
+			parser.skipChildren();
+			return "";
+		}
+		return parser.getText();
+	}
+}
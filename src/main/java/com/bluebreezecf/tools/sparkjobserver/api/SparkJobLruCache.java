@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * A thread safe cache evicting the least recently used entries, once either
+ * the number of entries or their total weight exceeds its bound.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobLruCache<K, V> {
+	private final int maxEntries;
+	private final long maxWeight;
+	private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true);
+	private long weight;
+	private long hitCount;
+	private long missCount;
+	private long evictionCount;
+
+	private static final class Entry<V> {
+		private final V value;
+		private final long weight;
+
+		Entry(V value, long weight) {
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	/**
+	 * Constructs an instance of <code>SparkJobLruCache</code>.
+	 *
+	 * @param maxEntries the max number of entries
+	 * @param maxWeight the max total weight of the entries
+	 */
+	SparkJobLruCache(int maxEntries, long maxWeight) {
+		this.maxEntries = maxEntries;
+		this.maxWeight = maxWeight;
+	}
+
+	/**
+	 * Gets the value cached for the given key.
+	 *
+	 * @param key the key of the value
+	 * @return the cached value, or null if it is not cached
+	 */
+	synchronized V get(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			missCount++;
+			return null;
+		}
+		hitCount++;
+		return entry.value;
+	}
+
+	/**
+	 * Caches the given value, and evicts the least recently used entries
+	 * beyond the bounds. A value heavier than the max weight is not cached.
+	 *
+	 * @param key the key of the value
+	 * @param value the value to be cached
+	 * @param valueWeight the weight of the value
+	 */
+	synchronized void put(K key, V value, long valueWeight) {
+		if (valueWeight > maxWeight) {
+			return;
+		}
+		Entry<V> previous = entries.put(key, new Entry<V>(value, valueWeight));
+		if (previous != null) {
+			weight -= previous.weight;
+		}
+		weight += valueWeight;
+		Iterator<Entry<V>> iter = entries.values().iterator();
+		while (entries.size() > maxEntries || weight > maxWeight) {
+			Entry<V> eldest = iter.next();
+			iter.remove();
+			weight -= eldest.weight;
+			evictionCount++;
+		}
+	}
+
+	/**
+	 * Removes the value cached for the given key.
+	 *
+	 * @param key the key of the value
+	 */
+	synchronized void remove(K key) {
+		Entry<V> entry = entries.remove(key);
+		if (entry != null) {
+			weight -= entry.weight;
+		}
+	}
+
+	/**
+	 * Removes all the cached values.
+	 */
+	synchronized void clear() {
+		entries.clear();
+		weight = 0;
+	}
+
+	/**
+	 * Gets a snapshot of the statistics of current cache.
+	 *
+	 * @return the statistics of current cache
+	 */
+	synchronized SparkJobCacheStats getStats() {
+		return new SparkJobCacheStats(hitCount, missCount, evictionCount, entries.size(), weight);
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * Presents how often the status of a running spark job is polled when
+ * waiting for its completion.
+ *
+ * <p>
+ * The first poll happens after the initial delay, and each following delay
+ * is the previous one multiplied by the multiplier, but never longer than
+ * the max delay. So a short job is noticed soon after it finishes, while a
+ * long running one costs only a few calls.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public final class SparkJobPollPolicy {
+	public static final long DEFAULT_INITIAL_DELAY = 500;
+	public static final long DEFAULT_MAX_DELAY = 30000;
+	public static final double DEFAULT_MULTIPLIER = 1.5;
+	public static final long DEFAULT_TIMEOUT = 0;
+	private static final SparkJobPollPolicy DEFAULT_POLICY = new SparkJobPollPolicy(
+		DEFAULT_INITIAL_DELAY, DEFAULT_MAX_DELAY, DEFAULT_MULTIPLIER, DEFAULT_TIMEOUT);
+
+	private final long initialDelay;
+	private final long maxDelay;
+	private final double multiplier;
+	private final long timeout;
+
+	/**
+	 * Constructs an instance of <code>SparkJobPollPolicy</code>.
+	 *
+	 * @param initialDelay the milliseconds before the first poll
+	 * @param maxDelay the max milliseconds between two polls, it should not be
+	 *        less than the initial delay
+	 * @param multiplier the factor by which the delay grows after each poll,
+	 *        it should not be less than 1
+	 * @param timeout the max milliseconds to wait for the completion,
+	 *        0 means waiting without limit
+	 */
+	public SparkJobPollPolicy(long initialDelay, long maxDelay, double multiplier, long timeout) {
+		if (initialDelay <= 0) {
+			throw new IllegalArgumentException("The initialDelay should be positive.");
+		}
+		if (maxDelay < initialDelay) {
+			throw new IllegalArgumentException("The maxDelay should not be less than the initialDelay.");
+		}
+		if (!(multiplier >= 1)) {
+			throw new IllegalArgumentException("The multiplier should not be less than 1.");
+		}
+		if (timeout < 0) {
+			throw new IllegalArgumentException("The timeout should not be negative.");
+		}
+		this.initialDelay = initialDelay;
+		this.maxDelay = maxDelay;
+		this.multiplier = multiplier;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Gets the default policy, which polls after 0.5 second at first,
+	 * backs off by 1.5 times up to 30 seconds and waits without limit.
+	 *
+	 * @return the default <code>SparkJobPollPolicy</code> instance
+	 */
+	public static SparkJobPollPolicy defaultPolicy() {
+		return DEFAULT_POLICY;
+	}
+
+	public long getInitialDelay() {
+		return initialDelay;
+	}
+
+	public long getMaxDelay() {
+		return maxDelay;
+	}
+
+	public double getMultiplier() {
+		return multiplier;
+	}
+
+	public long getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * Gets the delay following the given one. With a multiplier above 1, the
+	 * delay grows by one millisecond at least, so a short one never sticks.
+	 *
+	 * @param delay the current delay in milliseconds
+	 * @return the next delay in milliseconds
+	 */
+	long nextDelay(long delay) {
+		if (multiplier == 1) {
+			return Math.min(delay, maxDelay);
+		}
+		return Math.min(Math.max(delay + 1, Math.round(delay * multiplier)), maxDelay);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "SparkJobPollPolicy[initialDelay=" + initialDelay + ", maxDelay=" + maxDelay
+			+ ", multiplier=" + multiplier + ", timeout=" + timeout + "]";
+	}
+}
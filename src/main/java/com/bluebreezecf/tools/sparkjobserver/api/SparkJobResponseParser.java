@@ -0,0 +1,266 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONNull;
+import net.sf.json.JSONObject;
+
+/**
+ * Converts the json contents responded by the Spark Job Server into the
+ * corresponding information instances.
+ *
+ * <p>
+ * It is shared by the blocking and the asynchronous client implementations.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobResponseParser {
+
+	private SparkJobResponseParser() {
+	}
+
+	/**
+	 * Generates the information of jars from the response of <code>GET /jars</code>.
+	 *
+	 * @param resContent the content of a http response
+	 * @return a list containing information of Spark Job jars
+	 */
+	static List<SparkJobJarInfo> parseJars(String resContent) {
+		List<SparkJobJarInfo> sparkJobJarInfos = new ArrayList<SparkJobJarInfo>();
+		JSONObject jsonObj = JSONObject.fromObject(resContent);
+		Iterator<?> keyIter = jsonObj.keys();
+		while (keyIter.hasNext()) {
+			String jarName = (String)keyIter.next();
+			String uploadedTime = (String)jsonObj.get(jarName);
+			SparkJobJarInfo sparkJobJarInfo = new SparkJobJarInfo();
+			sparkJobJarInfo.setJarName(jarName);
+			sparkJobJarInfo.setUploadedTime(uploadedTime);
+			sparkJobJarInfos.add(sparkJobJarInfo);
+		}
+		return sparkJobJarInfos;
+	}
+
+	/**
+	 * Generates the names of contexts from the response of <code>GET /contexts</code>.
+	 *
+	 * @param resContent the content of a http response
+	 * @return a list containing names of current contexts
+	 */
+	static List<String> parseContexts(String resContent) {
+		List<String> contexts = new ArrayList<String>();
+		JSONArray jsonArray = JSONArray.fromObject(resContent);
+		Iterator<?> iter = jsonArray.iterator();
+		while (iter.hasNext()) {
+			contexts.add((String)iter.next());
+		}
+		return contexts;
+	}
+
+	/**
+	 * Generates the information of jobs from the response of <code>GET /jobs</code>.
+	 *
+	 * @param resContent the content of a http response
+	 * @return a list containing information of the jobs
+	 * @throws IOException error occurs when parsing the content
+	 */
+	static List<SparkJobInfo> parseJobs(String resContent) throws IOException {
+		SparkJobInfoDecoder decoder = new SparkJobInfoDecoder(resContent);
+		try {
+			return decoder.decodeAll();
+		} finally {
+			decoder.close();
+		}
+	}
+
+	/**
+	 * Generates the job configuration from the response of <code>GET /jobs/&lt;jobId&gt;/config</code>.
+	 *
+	 * <p>
+	 * The nested json objects and arrays are copied into unmodifiable maps and lists,
+	 * so the configuration never changes once it is parsed.
+	 *
+	 * @param resContent the content of a http response
+	 * @return the corresponding <code>SparkJobConfig</code> instance
+	 */
+	static SparkJobConfig parseConfig(String resContent) {
+		JSONObject jsonObj = JSONObject.fromObject(resContent);
+		Map<String, Object> configs = new LinkedHashMap<String, Object>();
+		Iterator<?> keyIter = jsonObj.keys();
+		while (keyIter.hasNext()) {
+			String key = (String)keyIter.next();
+			configs.put(key, toUnmodifiable(jsonObj.get(key)));
+		}
+		return new SparkJobConfig(configs);
+	}
+
+	/**
+	 * Copies the given json value into an unmodifiable one, the strings, numbers,
+	 * booleans and json nulls are never changed so they are kept as they are.
+	 */
+	private static Object toUnmodifiable(Object value) {
+		if (value instanceof JSONObject) {
+			JSONObject jsonObj = (JSONObject)value;
+			if (jsonObj.isNullObject()) {
+				return JSONNull.getInstance();
+			}
+			Map<String, Object> items = new LinkedHashMap<String, Object>();
+			Iterator<?> keyIter = jsonObj.keys();
+			while (keyIter.hasNext()) {
+				String key = (String)keyIter.next();
+				items.put(key, toUnmodifiable(jsonObj.get(key)));
+			}
+			return Collections.unmodifiableMap(items);
+		} else if (value instanceof JSONArray) {
+			JSONArray jsonArray = (JSONArray)value;
+			List<Object> items = new ArrayList<Object>(jsonArray.size());
+			for (int i = 0; i < jsonArray.size(); i++) {
+				items.add(toUnmodifiable(jsonArray.get(i)));
+			}
+			return Collections.unmodifiableList(items);
+		}
+		return value;
+	}
+
+	/**
+	 * Sets the information of the error details.
+	 *
+	 * @param key the key contains the error details
+	 * @param parnetJsonObj the parent <code>JSONObject</code> instance
+	 */
+	private static void setErrorDetails(String key, JSONObject parnetJsonObj, SparkJobBaseInfo jobErrorInfo) {
+		if (parnetJsonObj.containsKey(key)) {
+			JSONObject resultJson = parnetJsonObj.getJSONObject(key);
+			if (resultJson.containsKey(SparkJobInfo.INFO_KEY_RESULT_MESSAGE)) {
+				jobErrorInfo.setMessage(resultJson.getString(SparkJobInfo.INFO_KEY_RESULT_MESSAGE));
+			}
+			if (resultJson.containsKey(SparkJobInfo.INFO_KEY_RESULT_ERROR_CLASS)) {
+				jobErrorInfo.setErrorClass(resultJson.getString(SparkJobInfo.INFO_KEY_RESULT_ERROR_CLASS));
+			}
+			if (resultJson.containsKey(SparkJobInfo.INFO_KEY_RESULT_STACK)) {
+				if (resultJson.get(SparkJobInfo.INFO_KEY_RESULT_STACK) instanceof String) {
+					String[] stack = { resultJson.getString(SparkJobInfo.INFO_KEY_RESULT_STACK) };
+					jobErrorInfo.setStack(stack);
+
+				} else {
+					JSONArray stackJsonArray = resultJson.getJSONArray(SparkJobInfo.INFO_KEY_RESULT_STACK);
+					String[] stack = new String[stackJsonArray.size()];
+					for (int i = 0; i < stackJsonArray.size(); i++) {
+						stack[i] = stackJsonArray.optString(i);
+					}
+					jobErrorInfo.setStack(stack);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Generates an instance of <code>SparkJobResult</code> according to the given contents.
+	 *
+	 * @param resContent the content of a http response
+	 * @return the corresponding <code>SparkJobResult</code> instance
+	 * @throws Exception error occurs when parsing the http response content
+	 */
+	static SparkJobResult parseResult(String resContent) throws Exception {
+		JSONObject jsonObj = JSONObject.fromObject(resContent);
+		SparkJobResult jobResult = new SparkJobResult(resContent);
+		boolean completed = false;
+		if(jsonObj.has(SparkJobBaseInfo.INFO_KEY_STATUS)) {
+			jobResult.setStatus(jsonObj.getString(SparkJobBaseInfo.INFO_KEY_STATUS));
+			if (SparkJobBaseInfo.COMPLETED.contains(jobResult.getStatus())) {
+				completed = true;
+			}
+		} else {
+			completed = true;
+		}
+		if (completed) {
+			//Job finished with results
+			jobResult.setResult(jsonObj.get(SparkJobBaseInfo.INFO_KEY_RESULT).toString());
+		} else if (containsAsynjobStatus(jsonObj)) {
+			//asynchronously started job only with status information
+			setAsynjobStatus(jobResult, jsonObj);
+		} else if (containsErrorInfo(jsonObj)) {
+			String errorKey = null;
+			if (jsonObj.containsKey(SparkJobBaseInfo.INFO_STATUS_ERROR)) {
+				errorKey = SparkJobBaseInfo.INFO_STATUS_ERROR;
+			} else if (jsonObj.containsKey(SparkJobBaseInfo.INFO_KEY_RESULT)) {
+				errorKey = SparkJobBaseInfo.INFO_KEY_RESULT;
+			}
+			//Job failed with error details
+			setErrorDetails(errorKey, jsonObj, jobResult);
+		} else {
+			//Other unknown kind of value needs application to parse itself
+			Iterator<?> keyIter = jsonObj.keys();
+			while (keyIter.hasNext()) {
+				String key = (String)keyIter.next();
+				if (SparkJobInfo.INFO_KEY_STATUS.equals(key)) {
+					continue;
+				}
+				jobResult.putExtendAttribute(key, jsonObj.get(key));
+			}
+		}
+		return jobResult;
+	}
+
+	/**
+	 * Judges the given json object contains the error information of a
+	 * spark job or not.
+	 *
+	 * @param jsonObj the <code>JSONObject</code> instance to be checked.
+	 * @return true if it contains the error information, false otherwise
+	 */
+	private static boolean containsErrorInfo(JSONObject jsonObj) {
+		return SparkJobBaseInfo.INFO_STATUS_ERROR.equals(jsonObj.getString(SparkJobBaseInfo.INFO_KEY_STATUS));
+	}
+
+	/**
+	 * Judges the given json object contains the status information of a asynchronous
+	 * started spark job or not.
+	 *
+	 * @param jsonObj the <code>JSONObject</code> instance to be checked.
+	 * @return true if it contains the status information of a asynchronous
+	 *         started spark job, false otherwise
+	 */
+	private static boolean containsAsynjobStatus(JSONObject jsonObj) {
+		return jsonObj != null && jsonObj.containsKey(SparkJobBaseInfo.INFO_KEY_STATUS)
+		    && SparkJobBaseInfo.INFO_STATUS_STARTED.equals(jsonObj.getString(SparkJobBaseInfo.INFO_KEY_STATUS))
+		    && jsonObj.containsKey(SparkJobBaseInfo.INFO_KEY_RESULT);
+	}
+
+	/**
+	 * Sets the status information of a asynchronous started spark job to the given
+	 * job result instance.
+	 *
+	 * @param jobResult the <code>SparkJobResult</code> instance to be set the status information
+	 * @param jsonObj the <code>JSONObject</code> instance holds the status information
+	 */
+	private static void setAsynjobStatus(SparkJobResult jobResult, JSONObject jsonObj) {
+		JSONObject resultJsonObj = jsonObj.getJSONObject(SparkJobBaseInfo.INFO_KEY_RESULT);
+		jobResult.setContext(resultJsonObj.getString(SparkJobBaseInfo.INFO_KEY_CONTEXT));
+		jobResult.setJobId(resultJsonObj.getString(SparkJobBaseInfo.INFO_KEY_JOB_ID));
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+
+/**
+ * Reads the content of a http response into a string.
+ *
+ * <p>
+ * The bytes are decoded with the charset declared by the response, or UTF-8
+ * when it declares none, and a multi-byte character split between two reads
+ * is decoded correctly. The byte and char buffers used for the reading are
+ * pooled and reused across calls, and the result is sized from the
+ * Content-Length of the response, so reading a small response allocates
+ * little more than the returned string.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobResponseReader {
+	private static final int CHUNK_SIZE = 8 * 1024;
+	private static final int MAX_POOLED_BUFFERS = 64;
+	private static final int DEFAULT_CAPACITY = 256;
+	private static final int MAX_PRESIZED_CAPACITY = 4 * 1024 * 1024;
+	private static final BlockingQueue<Buffers> BUFFERS_POOL = new ArrayBlockingQueue<Buffers>(MAX_POOLED_BUFFERS);
+
+	/**
+	 * The buffers used by one reading, together with a reusable UTF-8 decoder.
+	 */
+	private static final class Buffers {
+		private final byte[] bytes = new byte[CHUNK_SIZE];
+		private final CharBuffer chars = CharBuffer.allocate(CHUNK_SIZE);
+		private final CharsetDecoder utf8Decoder = newDecoder(StandardCharsets.UTF_8);
+	}
+
+	private SparkJobResponseReader() {
+	}
+
+	/**
+	 * Reads the content of the given <code>HttpEntity</code> instance and closes
+	 * its content stream, the leading and trailing whitespaces are removed.
+	 *
+	 * @param entity the <code>HttpEntity</code> instance holding the http response content,
+	 *        it can be null
+	 * @return the corresponding response content
+	 * @throws IOException error occurs when reading the content
+	 */
+	static String read(HttpEntity entity) throws IOException {
+		if (entity == null) {
+			return "";
+		}
+		InputStream in = entity.getContent();
+		if (in == null) {
+			return "";
+		}
+		StringBuilder contents = new StringBuilder(getCapacity(entity.getContentLength()));
+		Buffers buffers = BUFFERS_POOL.poll();
+		if (buffers == null) {
+			buffers = new Buffers();
+		}
+		try {
+			Charset charset = getCharset(entity);
+			CharsetDecoder decoder = StandardCharsets.UTF_8.equals(charset)
+				? buffers.utf8Decoder.reset() : newDecoder(charset);
+			ByteBuffer bytes = ByteBuffer.wrap(buffers.bytes);
+			int readBytes = 0;
+			while ((readBytes = in.read(buffers.bytes, bytes.position(), bytes.remaining())) != -1) {
+				bytes.position(bytes.position() + readBytes);
+				bytes.flip();
+				decode(decoder, bytes, buffers.chars, contents, false);
+				//Keeps the bytes of an incomplete character for the next read
+				bytes.compact();
+			}
+			bytes.flip();
+			decode(decoder, bytes, buffers.chars, contents, true);
+			buffers.chars.clear();
+			decoder.flush(buffers.chars);
+			buffers.chars.flip();
+			contents.append(buffers.chars);
+		} finally {
+			buffers.chars.clear();
+			BUFFERS_POOL.offer(buffers);
+			in.close();
+		}
+		return trim(contents);
+	}
+
+	private static void decode(CharsetDecoder decoder, ByteBuffer bytes, CharBuffer chars,
+		StringBuilder contents, boolean endOfInput) {
+		CoderResult result = null;
+		do {
+			chars.clear();
+			result = decoder.decode(bytes, chars, endOfInput);
+			chars.flip();
+			contents.append(chars);
+		} while (result.isOverflow());
+	}
+
+	private static int getCapacity(long contentLength) {
+		if (contentLength < 0) {
+			return DEFAULT_CAPACITY;
+		}
+		//A character takes at least one byte in the supported charsets
+		return (int)Math.min(contentLength, MAX_PRESIZED_CAPACITY);
+	}
+
+	private static Charset getCharset(HttpEntity entity) {
+		try {
+			ContentType contentType = ContentType.get(entity);
+			if (contentType != null && contentType.getCharset() != null) {
+				return contentType.getCharset();
+			}
+		} catch (Exception e) {
+			//Falls back to UTF-8 for an unknown or malformed charset
+		}
+		return StandardCharsets.UTF_8;
+	}
+
+	private static CharsetDecoder newDecoder(Charset charset) {
+		return charset.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	private static String trim(StringBuilder contents) {
+		int start = 0;
+		int end = contents.length();
+		while (start < end && contents.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && contents.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		return contents.substring(start, end);
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * Caches the results of the jobs in a terminal status, which never change
+ * once the jobs have completed. The results of the running jobs are never
+ * cached, so their status is always queried from the Spark Job Server.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobResultCache {
+	/**
+	 * The estimated bytes taken by a result besides its strings.
+	 */
+	private static final long RESULT_OVERHEAD = 128;
+	private final SparkJobLruCache<String, SparkJobResult> cache;
+
+	/**
+	 * Constructs an instance of <code>SparkJobResultCache</code>.
+	 *
+	 * @param maxEntries the max number of cached results
+	 * @param maxBytes the max estimated bytes taken by the cached results
+	 */
+	SparkJobResultCache(int maxEntries, long maxBytes) {
+		this.cache = new SparkJobLruCache<String, SparkJobResult>(maxEntries, maxBytes);
+	}
+
+	/**
+	 * Creates the result cache according to the given settings.
+	 *
+	 * @param config the settings of the client
+	 * @return the result cache, or null if it is disabled
+	 */
+	static SparkJobResultCache create(SparkJobServerClientConfig config) {
+		if (config.getResultCacheMaxEntries() <= 0) {
+			return null;
+		}
+		return new SparkJobResultCache(config.getResultCacheMaxEntries(), config.getResultCacheMaxBytes());
+	}
+
+	/**
+	 * Gets the cached result of the given job.
+	 *
+	 * @param jobId the id of the target job
+	 * @return the cached result, or null if it is not cached
+	 */
+	SparkJobResult get(String jobId) {
+		return cache.get(jobId);
+	}
+
+	/**
+	 * Caches the given result if the job is in a terminal status.
+	 *
+	 * @param jobId the id of the target job
+	 * @param jobResult the result of the job, it can be null
+	 */
+	void putIfCompleted(String jobId, SparkJobResult jobResult) {
+		if (jobResult != null && SparkJobBaseInfo.COMPLETED.contains(jobResult.getStatus())) {
+			cache.put(jobId, jobResult, estimateBytes(jobResult));
+		}
+	}
+
+	SparkJobCacheStats getStats() {
+		return cache.getStats();
+	}
+
+	/**
+	 * Estimates the bytes taken by the given result, which are dominated by the
+	 * response content and the result parsed from it.
+	 */
+	private static long estimateBytes(SparkJobResult jobResult) {
+		long chars = length(jobResult.contents) + length(jobResult.getResult()) + length(jobResult.getJobId());
+		return RESULT_OVERHEAD + 2 * chars;
+	}
+
+	private static long length(String value) {
+		return value == null ? 0 : value.length();
+	}
+}
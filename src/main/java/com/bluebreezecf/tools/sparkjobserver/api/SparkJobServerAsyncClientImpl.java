@@ -0,0 +1,553 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.http.Consts;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.http.nio.client.methods.ZeroCopyPost;
+import org.apache.http.nio.protocol.HttpAsyncRequestProducer;
+import org.apache.log4j.Logger;
+
+/**
+ * The default implementation of <code>ISparkJobServerAsyncClient</code>.
+ * It is backed by the non-blocking engine of Apache HttpAsyncClient, whose
+ * few I/O dispatcher threads serve all the outstanding calls. The responses
+ * are parsed, and the futures completed, on the callback executor of the
+ * <code>SparkJobServerClientConfig</code>, so a slow parsing or a slow
+ * dependent stage never stalls the other connections.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+class SparkJobServerAsyncClientImpl implements ISparkJobServerAsyncClient {
+	private static Logger logger = Logger.getLogger(SparkJobServerAsyncClientImpl.class);
+	private final String jobServerUrl;
+	private final String authHeader;
+	private final CloseableHttpAsyncClient httpClient;
+	private final SparkJobResultCache resultCache;
+	private final SparkJobLruCache<String, SparkJobConfig> configCache;
+	private final Executor callbackExecutor;
+	private volatile boolean closed;
+	private volatile boolean shared;
+
+	/**
+	 * Converts the status code and the content of a http response into
+	 * the result of a call.
+	 */
+	private interface ResponseConverter<T> {
+		T convert(int statusCode, String resContent) throws Exception;
+	}
+
+	/**
+	 * Constructs an instance of <code>SparkJobServerAsyncClientImpl</code>
+	 * with the given spark job server url, username, password and client settings.
+	 *
+	 * @param jobServerUrl a url pointing to a existing spark job server
+	 * @param jobServerUsername a username to a existing spark job server, it can be null
+	 * @param jobServerPassword  a password to a existing spark job server, it can be null
+	 * @param config the settings of the timeouts, the connection pool and the I/O threads
+	 */
+	SparkJobServerAsyncClientImpl(String jobServerUrl, String jobServerUsername,
+		String jobServerPassword, SparkJobServerClientConfig config) {
+		if (!jobServerUrl.endsWith("/")) {
+			jobServerUrl = jobServerUrl + "/";
+		}
+		this.jobServerUrl = jobServerUrl;
+		if (jobServerUsername != null && !jobServerUsername.isEmpty() && jobServerPassword != null) {
+			this.authHeader = "Basic " + new String(Base64.getEncoder().encode(
+				(jobServerUsername + ":" + jobServerPassword).getBytes()));
+		} else {
+			this.authHeader = null;
+		}
+		RequestConfig requestConfig = RequestConfig.custom()
+			.setConnectTimeout(config.getConnectionTimeOut())
+			.setConnectionRequestTimeout(config.getConnectionReqTimeOut())
+			.setSocketTimeout(config.getSocketTimeOut())
+			.build();
+		IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+			.setIoThreadCount(config.getIoThreadCount())
+			.setConnectTimeout(config.getConnectionTimeOut())
+			.setSoTimeout(config.getSocketTimeOut())
+			.build();
+		this.httpClient = HttpAsyncClientBuilder.create()
+			.setDefaultRequestConfig(requestConfig)
+			.setDefaultIOReactorConfig(ioReactorConfig)
+			.setMaxConnPerRoute(config.getMaxConnectionsPerRoute())
+			.setMaxConnTotal(config.getMaxTotalConnections())
+			.build();
+		this.httpClient.start();
+		this.resultCache = SparkJobResultCache.create(config);
+		this.configCache = SparkJobServerClientImpl.createConfigCache(config);
+		this.callbackExecutor = config.getCallbackExecutor();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public CompletableFuture<List<SparkJobJarInfo>> getJarsAsync() {
+		return execute(new HttpGet(jobServerUrl + "jars"),
+			"Error occurs when trying to get information of jars:",
+			new ResponseConverter<List<SparkJobJarInfo>>() {
+				public List<SparkJobJarInfo> convert(int statusCode, String resContent) throws Exception {
+					if (statusCode != HttpStatus.SC_OK) {
+						throw errorResponse(statusCode, resContent);
+					}
+					return SparkJobResponseParser.parseJars(resContent);
+				}
+			});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public CompletableFuture<Boolean> uploadSparkJobJarAsync(File jarFile, String appName) {
+		if (!SparkJobServerClientImpl.isValidJarFile(jarFile) || appName == null || appName.trim().length() == 0) {
+			return failed(new SparkJobServerClientException("Invalid parameters."));
+		}
+		ZeroCopyPost producer = null;
+		try {
+			producer = new ZeroCopyPost(jobServerUrl + "jars/" + appName, jarFile,
+				SparkJobServerClientImpl.JAR_CONTENT_TYPE) {
+				@Override
+				protected HttpEntityEnclosingRequest createRequest(URI requestURI, HttpEntity entity) {
+					HttpEntityEnclosingRequest request = super.createRequest(requestURI, entity);
+					if (authHeader != null) {
+						request.setHeader("Authorization", authHeader);
+					}
+					return request;
+				}
+			};
+		} catch (FileNotFoundException fnfe) {
+			String errorMsg = "Error occurs when getting stream of the given jar file";
+			logger.error(errorMsg, fnfe);
+			return failed(new SparkJobServerClientException(errorMsg, fnfe));
+		}
+		return execute(producer, "Error occurs when uploading spark job jars:",
+			new ResponseConverter<Boolean>() {
+				public Boolean convert(int statusCode, String resContent) {
+					return statusCode == HttpStatus.SC_OK;
+				}
+			});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public CompletableFuture<List<String>> getContextsAsync() {
+		return execute(new HttpGet(jobServerUrl + "contexts"),
+			"Error occurs when trying to get information of contexts:",
+			new ResponseConverter<List<String>>() {
+				public List<String> convert(int statusCode, String resContent) throws Exception {
+					if (statusCode != HttpStatus.SC_OK) {
+						throw errorResponse(statusCode, resContent);
+					}
+					return SparkJobResponseParser.parseContexts(resContent);
+				}
+			});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public CompletableFuture<Boolean> createContextAsync(String contextName, Map<String, String> params) {
+		if (!isNotEmpty(contextName)) {
+			return failed(new SparkJobServerClientException("The given contextName is null or empty."));
+		}
+		HttpPost postMethod = new HttpPost(SparkJobServerClientImpl.buildUrl(jobServerUrl + "contexts/" + contextName, params));
+		return execute(postMethod, "Error occurs when trying to create a context:", acknowledgement());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public CompletableFuture<Boolean> deleteContextAsync(String contextName) {
+		if (!isNotEmpty(contextName)) {
+			return failed(new SparkJobServerClientException("The given contextName is null or empty."));
+		}
+		HttpDelete deleteMethod = new HttpDelete(jobServerUrl + "contexts/" + contextName);
+		return execute(deleteMethod, "Error occurs when trying to delete the target context:", acknowledgement());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public CompletableFuture<List<SparkJobInfo>> getJobsAsync() {
+		return execute(new HttpGet(jobServerUrl + "jobs"),
+			"Error occurs when trying to get information of jobs:", jobInfos());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public CompletableFuture<List<SparkJobInfo>> getJobsByStatusAsync(String jobStatus) {
+		if (jobStatus == null || !SparkJobServerClientImpl.INFO_JOBS_STATUS.contains(jobStatus.toUpperCase())) {
+			return failed(new SparkJobServerClientException("Invalid Job Status " +
+				jobStatus + ". Supported Job Status : " +
+				SparkJobServerClientImpl.INFO_JOBS_STATUS.toString()));
+		}
+		return execute(new HttpGet(jobServerUrl + "jobs?status=" + jobStatus),
+			"Error occurs when trying to get information of jobs:", jobInfos());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public CompletableFuture<SparkJobResult> startJobAsync(String data, Map<String, String> params) {
+		if (params == null || params.isEmpty()) {
+			return failed(new SparkJobServerClientException("The given params is null or empty."));
+		}
+		if (!params.containsKey(ISparkJobServerClientConstants.PARAM_APP_NAME) ||
+		    !params.containsKey(ISparkJobServerClientConstants.PARAM_CLASS_PATH)) {
+			return failed(new SparkJobServerClientException("The given params should contains appName and classPath"));
+		}
+		HttpPost postMethod = new HttpPost(SparkJobServerClientImpl.buildUrl(jobServerUrl + "jobs", params));
+		if (data != null) {
+			postMethod.setEntity(new StringEntity(data, ContentType.create("text/plain", Consts.UTF_8)));
+		}
+		return execute(postMethod, "Error occurs when trying to start a new job:",
+			new ResponseConverter<SparkJobResult>() {
+				public SparkJobResult convert(int statusCode, String resContent) throws Exception {
+					if (statusCode != HttpStatus.SC_OK && statusCode != HttpStatus.SC_ACCEPTED) {
+						throw errorResponse(statusCode, resContent);
+					}
+					return SparkJobResponseParser.parseResult(resContent);
+				}
+			});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public CompletableFuture<SparkJobResult> getJobResultAsync(final String jobId) {
+		if (!isNotEmpty(jobId)) {
+			return failed(new SparkJobServerClientException("The given jobId is null or empty."));
+		}
+		if (resultCache != null) {
+			SparkJobResult cachedResult = resultCache.get(jobId);
+			if (cachedResult != null) {
+				return CompletableFuture.completedFuture(cachedResult);
+			}
+		}
+		return execute(new HttpGet(jobServerUrl + "jobs/" + jobId),
+			"Error occurs when trying to get information of the target job:",
+			new ResponseConverter<SparkJobResult>() {
+				public SparkJobResult convert(int statusCode, String resContent) throws Exception {
+					if (statusCode == HttpStatus.SC_OK) {
+						SparkJobResult jobResult = SparkJobResponseParser.parseResult(resContent);
+						jobResult.setJobId(jobId);
+						if (resultCache != null) {
+							resultCache.putIfCompleted(jobId, jobResult);
+						}
+						return jobResult;
+					} else if (statusCode == HttpStatus.SC_NOT_FOUND) {
+						return new SparkJobResult(resContent, jobId);
+					}
+					throw errorResponse(statusCode, resContent);
+				}
+			});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public CompletableFuture<SparkJobResult> awaitCompletion(String jobId, SparkJobPollPolicy policy) {
+		if (!isNotEmpty(jobId)) {
+			return failed(new SparkJobServerClientException("The given jobId is null or empty."));
+		}
+		return SparkJobCompletionAwaiter.await(this, jobId,
+			policy != null ? policy : SparkJobPollPolicy.defaultPolicy());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public SparkJobCacheStats getResultCacheStats() {
+		return resultCache == null ? null : resultCache.getStats();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public CompletableFuture<SparkJobConfig> getConfigAsync(final String jobId) {
+		if (!isNotEmpty(jobId)) {
+			return failed(new SparkJobServerClientException("The given jobId is null or empty."));
+		}
+		if (configCache != null) {
+			SparkJobConfig cachedConfig = configCache.get(jobId);
+			if (cachedConfig != null) {
+				return CompletableFuture.completedFuture(cachedConfig);
+			}
+		}
+		return execute(new HttpGet(jobServerUrl + "jobs/" + jobId + "/config"),
+			"Error occurs when trying to get information of the target job config:",
+			new ResponseConverter<SparkJobConfig>() {
+				public SparkJobConfig convert(int statusCode, String resContent) throws Exception {
+					SparkJobConfig jobConfig = SparkJobResponseParser.parseConfig(resContent);
+					if (configCache != null && statusCode == HttpStatus.SC_OK) {
+						configCache.put(jobId, jobConfig, 1);
+					}
+					return jobConfig;
+				}
+			});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public CompletableFuture<Boolean> killJobAsync(String jobId) {
+		if (!isNotEmpty(jobId)) {
+			return failed(new SparkJobServerClientException("The JobId cannot Null or empty."));
+		}
+		return execute(new HttpDelete(jobServerUrl + "jobs/" + jobId),
+			"Error occured when trying to delete the target job:",
+			new ResponseConverter<Boolean>() {
+				public Boolean convert(int statusCode, String resContent) throws Exception {
+					if (statusCode != HttpStatus.SC_OK) {
+						throw new SparkJobServerClientException("Error while killing the Job. Status code : "
+							+ statusCode + " Response : " + resContent);
+					}
+					return Boolean.TRUE;
+				}
+			});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() {
+		if (closed || shared) {
+			return;
+		}
+		closed = true;
+		try {
+			httpClient.close();
+		} catch (final IOException e) {
+			logger.error("could not close client" , e);
+		}
+	}
+
+	/**
+	 * Marks current client as shared by the callers of <code>SparkJobServerClientFactory</code>,
+	 * which keeps any of them from closing it under the others.
+	 *
+	 * @return current client
+	 */
+	SparkJobServerAsyncClientImpl share() {
+		shared = true;
+		return this;
+	}
+
+	/**
+	 * Judges current client has been closed or not.
+	 *
+	 * @return true if it has been closed, false otherwise
+	 */
+	boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Sends the given request without blocking, and converts its response
+	 * into the result of the returned future on the callback executor.
+	 *
+	 * @param request the request to be sent
+	 * @param errorMsg the error message used when the call fails
+	 * @param converter the converter of the response
+	 * @return the future of the call result
+	 */
+	private <T> CompletableFuture<T> execute(HttpRequestBase request, final String errorMsg,
+		final ResponseConverter<T> converter) {
+		if (authHeader != null) {
+			request.setHeader("Authorization", authHeader);
+		}
+		return execute(HttpAsyncMethods.create(request), errorMsg, converter);
+	}
+
+	/**
+	 * Sends the request generated by the given producer without blocking, and
+	 * converts its response into the result of the returned future on the
+	 * callback executor.
+	 *
+	 * @param producer the producer of the request to be sent
+	 * @param errorMsg the error message used when the call fails
+	 * @param converter the converter of the response
+	 * @return the future of the call result
+	 */
+	private <T> CompletableFuture<T> execute(HttpAsyncRequestProducer producer, final String errorMsg,
+		final ResponseConverter<T> converter) {
+		if (closed) {
+			closeProducer(producer);
+			return failed(new SparkJobServerClientException("The spark job server client has been closed."));
+		}
+		final CompletableFuture<T> future = new CompletableFuture<T>();
+		final Future<HttpResponse> httpFuture = httpClient.execute(producer, HttpAsyncMethods.createConsumer(),
+			new FutureCallback<HttpResponse>() {
+				public void completed(final HttpResponse response) {
+					final int statusCode = response.getStatusLine().getStatusCode();
+					dispatch(future, errorMsg, () -> {
+						try {
+							String resContent = SparkJobServerClientImpl.readResponseContent(response.getEntity());
+							future.complete(converter.convert(statusCode, resContent));
+						} catch (Exception e) {
+							future.completeExceptionally(toClientException(errorMsg, e));
+						}
+					});
+				}
+
+				public void failed(final Exception e) {
+					dispatch(future, errorMsg, () -> future.completeExceptionally(toClientException(errorMsg, e)));
+				}
+
+				public void cancelled() {
+					dispatch(future, errorMsg, () -> future.cancel(false));
+				}
+			});
+		future.whenComplete((result, error) -> {
+			if (future.isCancelled()) {
+				httpFuture.cancel(true);
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * Runs the completion of the given future on the callback executor, or
+	 * fails the future if the executor rejects it.
+	 *
+	 * @param future the future to be completed
+	 * @param errorMsg the error message used when the executor rejects the completion
+	 * @param completion the completion of the future
+	 */
+	private void dispatch(CompletableFuture<?> future, String errorMsg, Runnable completion) {
+		try {
+			callbackExecutor.execute(completion);
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(toClientException(errorMsg, e));
+		}
+	}
+
+	/**
+	 * Gets the converter used by the calls which only care about the status code,
+	 * it logs the response when the status is not 200 OK.
+	 */
+	private ResponseConverter<Boolean> acknowledgement() {
+		return new ResponseConverter<Boolean>() {
+			public Boolean convert(int statusCode, String resContent) {
+				if (statusCode == HttpStatus.SC_OK) {
+					return Boolean.TRUE;
+				}
+				errorResponse(statusCode, resContent);
+				return Boolean.FALSE;
+			}
+		};
+	}
+
+	/**
+	 * Gets the converter of the responses of <code>GET /jobs</code>.
+	 */
+	private ResponseConverter<List<SparkJobInfo>> jobInfos() {
+		return new ResponseConverter<List<SparkJobInfo>>() {
+			public List<SparkJobInfo> convert(int statusCode, String resContent) throws Exception {
+				if (statusCode != HttpStatus.SC_OK) {
+					throw errorResponse(statusCode, resContent);
+				}
+				return SparkJobResponseParser.parseJobs(resContent);
+			}
+		};
+	}
+
+	/**
+	 * Logs the response information when the status is not 200 OK, and
+	 * generates the corresponding <code>SparkJobServerClientException</code>.
+	 *
+	 * @param errorStatusCode error status code
+	 * @param msg the message to indicates the status, it can be null
+	 * @return the exception containing the corresponding error message
+	 */
+	private SparkJobServerClientException errorResponse(int errorStatusCode, String msg) {
+		StringBuffer msgBuff = new StringBuffer("Spark Job Server ");
+		msgBuff.append(jobServerUrl).append(" response ").append(errorStatusCode);
+		if (null != msg) {
+			msgBuff.append(" ").append(msg);
+		}
+		String errorMsg = msgBuff.toString();
+		logger.error(errorMsg);
+		return new SparkJobServerClientException(errorMsg);
+	}
+
+	/**
+	 * Transforms the given exception into a <code>SparkJobServerClientException</code>.
+	 *
+	 * @param errorMsg the corresponding error message
+	 * @param e the exception to be handled
+	 * @return the corresponding <code>SparkJobServerClientException</code> instance
+	 */
+	private static SparkJobServerClientException toClientException(String errorMsg, Exception e) {
+		if (e instanceof SparkJobServerClientException) {
+			return (SparkJobServerClientException)e;
+		}
+		logger.error(errorMsg, e);
+		return new SparkJobServerClientException(errorMsg, e);
+	}
+
+	private static void closeProducer(HttpAsyncRequestProducer producer) {
+		try {
+			producer.close();
+		} catch (IOException ioe) {
+			logger.error("could not close request producer", ioe);
+		}
+	}
+
+	private static <T> CompletableFuture<T> failed(SparkJobServerClientException e) {
+		CompletableFuture<T> future = new CompletableFuture<T>();
+		future.completeExceptionally(e);
+		return future;
+	}
+
+	private static boolean isNotEmpty(String value) {
+		return value != null && !value.isEmpty();
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The JDK Flight Recorder event of a http call sent to the spark job server,
+ * recorded from the sending of the request to the receiving of the response
+ * headers. Each retry and each hedge of a call is recorded by an event of its own.
+ *
+ * <p>
+ * It is only touched through <code>SparkJobServerFlightRecorder</code>, which
+ * keeps it from being loaded on the JVMs without a flight recorder.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+@Name("com.bluebreezecf.sparkjobserver.Call")
+@Label("Spark Job Server Call")
+@Category({"Spark Job Server Client", "HTTP"})
+@Description("A http call sent to the spark job server")
+@StackTrace(false)
+final class SparkJobServerCallEvent extends Event {
+	private static final SparkJobServerCallEvent PROBE = new SparkJobServerCallEvent();
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Path")
+	String path;
+
+	@Label("Status Code")
+	@Description("The status code of the response, or -1 if no response was received")
+	int statusCode;
+
+	@Label("Response Bytes")
+	@Description("The length of the response content, or -1 if it is unknown")
+	@DataAmount
+	long responseBytes;
+
+	/**
+	 * Starts an event if the event is enabled in a running recording.
+	 *
+	 * @return the started event, or null if the event is disabled
+	 */
+	static Object start() {
+		if (!PROBE.isEnabled()) {
+			return null;
+		}
+		SparkJobServerCallEvent event = new SparkJobServerCallEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Commits the given event started by <code>start()</code>.
+	 *
+	 * @param begun the started event
+	 * @param operation the name of the operation of the call
+	 * @param path the path of the url of the call
+	 * @param statusCode the status code of the response, -1 if no response was received
+	 * @param responseBytes the length of the response content, -1 if it is unknown
+	 */
+	static void finish(Object begun, String operation, String path, int statusCode, long responseBytes) {
+		SparkJobServerCallEvent event = (SparkJobServerCallEvent)begun;
+		event.end();
+		if (event.shouldCommit()) {
+			event.operation = operation;
+			event.path = path;
+			event.statusCode = statusCode;
+			event.responseBytes = responseBytes;
+			event.commit();
+		}
+	}
+}
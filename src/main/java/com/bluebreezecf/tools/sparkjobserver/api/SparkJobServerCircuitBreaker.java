@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Stops sending one class of calls to a Spark Job Server which keeps failing
+ * them, so the callers fail at once instead of waiting for the timeouts.
+ *
+ * <p>
+ * The circuit opens once the given number of calls in a row have failed by
+ * an I/O error or a server error. After the open time it is half open, and a
+ * single trial call decides whether it is closed again or open once more,
+ * while the other calls still fail at once.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobServerCircuitBreaker {
+	private static Logger logger = Logger.getLogger(SparkJobServerCircuitBreaker.class);
+	private final String name;
+	private final int failureThreshold;
+	private final long openTime;
+	private SparkJobServerCircuitState state = SparkJobServerCircuitState.CLOSED;
+	private int failures;
+	private long openedUntil;
+	private boolean trialSent;
+
+	/**
+	 * Constructs an instance of <code>SparkJobServerCircuitBreaker</code>.
+	 *
+	 * @param name the name of the circuit used in the messages
+	 * @param failureThreshold the failures in a row opening the circuit
+	 * @param openTime the milliseconds for which the circuit stays open
+	 */
+	SparkJobServerCircuitBreaker(String name, int failureThreshold, long openTime) {
+		this.name = name;
+		this.failureThreshold = failureThreshold;
+		this.openTime = TimeUnit.MILLISECONDS.toNanos(openTime);
+	}
+
+	/**
+	 * Asks for sending a call, which should be followed by a call of
+	 * <code>record</code> once it is sent.
+	 *
+	 * @throws SparkJobServerCircuitOpenException the circuit is open, or its
+	 *         trial call is being sent
+	 */
+	synchronized void acquire() throws SparkJobServerCircuitOpenException {
+		long now = System.nanoTime();
+		SparkJobServerCircuitState currentState = getState(now);
+		if (currentState == SparkJobServerCircuitState.CLOSED) {
+			return;
+		}
+		if (currentState == SparkJobServerCircuitState.HALF_OPEN && !trialSent) {
+			trialSent = true;
+			return;
+		}
+		long retryAfter = Math.max(0, TimeUnit.NANOSECONDS.toMillis(openedUntil - now));
+		throw new SparkJobServerCircuitOpenException("The circuit of " + name + " is open, the call is not sent.",
+			retryAfter);
+	}
+
+	/**
+	 * Records the outcome of a call allowed by <code>acquire</code>.
+	 *
+	 * @param failed true if the call failed by an I/O error or a server error,
+	 *        false otherwise
+	 */
+	synchronized void record(boolean failed) {
+		long now = System.nanoTime();
+		if (getState(now) == SparkJobServerCircuitState.HALF_OPEN) {
+			trialSent = false;
+			if (failed) {
+				open(now);
+			} else {
+				state = SparkJobServerCircuitState.CLOSED;
+				failures = 0;
+				logger.info("The circuit of " + name + " is closed again.");
+			}
+			return;
+		}
+		if (!failed) {
+			failures = 0;
+		} else if (++failures >= failureThreshold && state == SparkJobServerCircuitState.CLOSED) {
+			open(now);
+		}
+	}
+
+	private void open(long now) {
+		state = SparkJobServerCircuitState.OPEN;
+		openedUntil = now + openTime;
+		logger.warn("The circuit of " + name + " is open for " + TimeUnit.NANOSECONDS.toMillis(openTime)
+			+ " milliseconds.");
+	}
+
+	synchronized SparkJobServerCircuitState getState() {
+		return getState(System.nanoTime());
+	}
+
+	private SparkJobServerCircuitState getState(long now) {
+		if (state == SparkJobServerCircuitState.OPEN && now - openedUntil >= 0) {
+			state = SparkJobServerCircuitState.HALF_OPEN;
+			trialSent = false;
+		}
+		return state;
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * The exception indicates a call has failed at once without being sent,
+ * since the circuit breaker of the Spark Job Server is open.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public class SparkJobServerCircuitOpenException extends SparkJobServerClientException {
+
+	private static final long serialVersionUID = 4021587318809436512L;
+
+	private final long retryAfter;
+
+	/**
+	 * Constructs a new <code>SparkJobServerCircuitOpenException</code> instance
+	 * with the specified detail message.
+	 *
+	 * @param message the detail message
+	 * @param retryAfter the milliseconds before the circuit lets a trial call through
+	 */
+	public SparkJobServerCircuitOpenException(String message, long retryAfter) {
+		super(message);
+		this.retryAfter = retryAfter;
+	}
+
+	/**
+	 * Gets the milliseconds before the circuit lets a trial call through,
+	 * 0 means a trial call is being sent.
+	 *
+	 * @return the milliseconds to wait
+	 */
+	public long getRetryAfter() {
+		return retryAfter;
+	}
+}
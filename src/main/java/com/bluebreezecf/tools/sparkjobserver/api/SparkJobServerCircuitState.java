@@ -0,0 +1,41 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * Presents the state of a circuit breaker of an <code>ISparkJobServerClient</code>.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public enum SparkJobServerCircuitState {
+	/**
+	 * The calls are sent to the server as usual.
+	 */
+	CLOSED,
+	/**
+	 * The server has failed too many calls in a row, and the calls fail
+	 * at once without being sent until the open time elapses.
+	 */
+	OPEN,
+	/**
+	 * The open time has elapsed, and a single trial call is sent to decide
+	 * whether the circuit is closed again or open once more.
+	 */
+	HALF_OPEN
+}
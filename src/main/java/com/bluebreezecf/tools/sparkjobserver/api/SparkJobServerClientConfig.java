@@ -0,0 +1,576 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Holds the settings used to create an instance of <code>ISparkJobServerClient</code>
+ * or <code>ISparkJobServerAsyncClient</code>
+ * through <code>SparkJobServerClientFactory</code>.
+ *
+ * <p>
+ * Every setting has a default value, so a new <code>SparkJobServerClientConfig</code>
+ * instance can be used as it is, and only the settings of interest need to be changed.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public class SparkJobServerClientConfig {
+	/**
+	 * Default timeout in milliseconds to establish a connection.
+	 */
+	public static final int DEFAULT_CONNECTION_TIMEOUT = 60000;
+
+	/**
+	 * Default timeout in milliseconds to lease a connection from the pool.
+	 */
+	public static final int DEFAULT_REQUEST_TIMEOUT = 60000;
+
+	/**
+	 * Default timeout in milliseconds for the socket to transfer data.
+	 */
+	public static final int DEFAULT_SOCKET_TIMEOUT = 60000;
+
+	/**
+	 * Default maximum number of pooled connections to the spark job server.
+	 */
+	public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+
+	/**
+	 * Default maximum number of pooled connections in total.
+	 */
+	public static final int DEFAULT_MAX_TOTAL_CONNECTIONS = 50;
+
+	/**
+	 * Default time in milliseconds after which an idle pooled connection is evicted.
+	 */
+	public static final int DEFAULT_IDLE_CONNECTION_TIMEOUT = 30000;
+
+	/**
+	 * Default number of I/O dispatcher threads used by an <code>ISparkJobServerAsyncClient</code>.
+	 */
+	public static final int DEFAULT_IO_THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Default maximum number of cached job results, 0 means the result cache is disabled.
+	 */
+	public static final int DEFAULT_RESULT_CACHE_MAX_ENTRIES = 0;
+
+	/**
+	 * Default maximum estimated bytes taken by the cached job results.
+	 */
+	public static final long DEFAULT_RESULT_CACHE_MAX_BYTES = 64L * 1024 * 1024;
+
+	/**
+	 * Default maximum number of cached job configurations.
+	 */
+	public static final int DEFAULT_CONFIG_CACHE_MAX_ENTRIES = 256;
+
+	/**
+	 * Default time in milliseconds for which the cached contexts and jars are fresh,
+	 * 0 means they are not cached.
+	 */
+	public static final int DEFAULT_LISTING_CACHE_TIME_TO_LIVE = 0;
+
+	/**
+	 * Default average latency in milliseconds beyond which a server is ejected.
+	 */
+	public static final int DEFAULT_HEALTH_LATENCY_THRESHOLD = 10000;
+
+	/**
+	 * Default average error rate beyond which a server is ejected.
+	 */
+	public static final double DEFAULT_HEALTH_ERROR_RATE_THRESHOLD = 0.5;
+
+	/**
+	 * Default time in milliseconds for which an unhealthy server is ejected.
+	 */
+	public static final int DEFAULT_HEALTH_EJECTION_TIME = 30000;
+
+	/**
+	 * Default time in milliseconds without any call after which a server is probed.
+	 */
+	public static final int DEFAULT_HEALTH_PROBE_INTERVAL = 5000;
+
+	/**
+	 * Default number of failed calls in a row opening a circuit breaker, 0 means
+	 * the circuit breakers are disabled unless configured.
+	 */
+	public static final int DEFAULT_CIRCUIT_FAILURE_THRESHOLD = 0;
+
+	/**
+	 * Default time in milliseconds for which an open circuit breaker fails the calls at once.
+	 */
+	public static final int DEFAULT_CIRCUIT_OPEN_TIME = 30000;
+
+	/**
+	 * Default max concurrency limit of the calls to a server, 0 means the limit is disabled.
+	 */
+	public static final int DEFAULT_MAX_CONCURRENCY = 0;
+
+	/**
+	 * Default max number of calls waiting for the concurrency limit.
+	 */
+	public static final int DEFAULT_CONCURRENCY_QUEUE_SIZE = 100;
+
+	/**
+	 * Default max time in milliseconds a call waits for the concurrency limit.
+	 */
+	public static final int DEFAULT_CONCURRENCY_QUEUE_TIMEOUT = 10000;
+
+	private int connectionTimeOut = DEFAULT_CONNECTION_TIMEOUT;
+	private int connectionReqTimeOut = DEFAULT_REQUEST_TIMEOUT;
+	private int socketTimeOut = DEFAULT_SOCKET_TIMEOUT;
+	private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+	private int maxTotalConnections = DEFAULT_MAX_TOTAL_CONNECTIONS;
+	private int idleConnectionTimeOut = DEFAULT_IDLE_CONNECTION_TIMEOUT;
+	private int ioThreadCount = DEFAULT_IO_THREAD_COUNT;
+	private Executor callbackExecutor = ForkJoinPool.commonPool();
+	private int resultCacheMaxEntries = DEFAULT_RESULT_CACHE_MAX_ENTRIES;
+	private long resultCacheMaxBytes = DEFAULT_RESULT_CACHE_MAX_BYTES;
+	private int configCacheMaxEntries = DEFAULT_CONFIG_CACHE_MAX_ENTRIES;
+	private int listingCacheTimeToLive = DEFAULT_LISTING_CACHE_TIME_TO_LIVE;
+	private int healthLatencyThreshold = DEFAULT_HEALTH_LATENCY_THRESHOLD;
+	private double healthErrorRateThreshold = DEFAULT_HEALTH_ERROR_RATE_THRESHOLD;
+	private int healthEjectionTime = DEFAULT_HEALTH_EJECTION_TIME;
+	private int healthProbeInterval = DEFAULT_HEALTH_PROBE_INTERVAL;
+	private int circuitFailureThreshold = DEFAULT_CIRCUIT_FAILURE_THRESHOLD;
+	private int circuitOpenTime = DEFAULT_CIRCUIT_OPEN_TIME;
+	private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+	private int concurrencyQueueSize = DEFAULT_CONCURRENCY_QUEUE_SIZE;
+	private int concurrencyQueueTimeout = DEFAULT_CONCURRENCY_QUEUE_TIMEOUT;
+	private SparkJobServerRetryPolicy retryPolicy = SparkJobServerRetryPolicy.noRetry();
+	private SparkJobServerHedgePolicy hedgePolicy;
+	private ISparkJobServerMetrics metrics = SparkJobServerNoopMetrics.INSTANCE;
+	private final List<ISparkJobServerClientEventListener> eventListeners =
+		new ArrayList<ISparkJobServerClientEventListener>();
+
+	public int getConnectionTimeOut() {
+		return connectionTimeOut;
+	}
+
+	/**
+	 * Sets the timeout in milliseconds to establish a connection.
+	 *
+	 * @param connectionTimeOut the timeout, null means the default one
+	 */
+	public void setConnectionTimeOut(Integer connectionTimeOut) {
+		this.connectionTimeOut = connectionTimeOut == null ? DEFAULT_CONNECTION_TIMEOUT : connectionTimeOut;
+	}
+
+	public int getConnectionReqTimeOut() {
+		return connectionReqTimeOut;
+	}
+
+	/**
+	 * Sets the timeout in milliseconds to lease a connection from the pool.
+	 *
+	 * @param connectionReqTimeOut the timeout, null means the default one
+	 */
+	public void setConnectionReqTimeOut(Integer connectionReqTimeOut) {
+		this.connectionReqTimeOut = connectionReqTimeOut == null ? DEFAULT_REQUEST_TIMEOUT : connectionReqTimeOut;
+	}
+
+	public int getSocketTimeOut() {
+		return socketTimeOut;
+	}
+
+	/**
+	 * Sets the timeout in milliseconds for the socket to transfer data.
+	 *
+	 * @param socketTimeOut the timeout, null means the default one
+	 */
+	public void setSocketTimeOut(Integer socketTimeOut) {
+		this.socketTimeOut = socketTimeOut == null ? DEFAULT_SOCKET_TIMEOUT : socketTimeOut;
+	}
+
+	public int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+
+	/**
+	 * Sets the maximum number of pooled connections to the spark job server.
+	 *
+	 * @param maxConnectionsPerRoute a positive number of connections
+	 */
+	public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		checkPositive(maxConnectionsPerRoute, "maxConnectionsPerRoute");
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+	}
+
+	public int getMaxTotalConnections() {
+		return maxTotalConnections;
+	}
+
+	/**
+	 * Sets the maximum number of pooled connections in total.
+	 *
+	 * @param maxTotalConnections a positive number of connections
+	 */
+	public void setMaxTotalConnections(int maxTotalConnections) {
+		checkPositive(maxTotalConnections, "maxTotalConnections");
+		this.maxTotalConnections = maxTotalConnections;
+	}
+
+	public int getIdleConnectionTimeOut() {
+		return idleConnectionTimeOut;
+	}
+
+	/**
+	 * Sets the time in milliseconds after which an idle pooled connection
+	 * is closed by the background evictor.
+	 *
+	 * @param idleConnectionTimeOut a positive time in milliseconds
+	 */
+	public void setIdleConnectionTimeOut(int idleConnectionTimeOut) {
+		checkPositive(idleConnectionTimeOut, "idleConnectionTimeOut");
+		this.idleConnectionTimeOut = idleConnectionTimeOut;
+	}
+
+	public int getIoThreadCount() {
+		return ioThreadCount;
+	}
+
+	/**
+	 * Sets the number of I/O dispatcher threads used by an <code>ISparkJobServerAsyncClient</code>,
+	 * which serve all its outstanding calls. It is ignored by <code>ISparkJobServerClient</code>.
+	 *
+	 * @param ioThreadCount a positive number of threads
+	 */
+	public void setIoThreadCount(int ioThreadCount) {
+		checkPositive(ioThreadCount, "ioThreadCount");
+		this.ioThreadCount = ioThreadCount;
+	}
+
+	public Executor getCallbackExecutor() {
+		return callbackExecutor;
+	}
+
+	/**
+	 * Sets the executor which parses the responses of an <code>ISparkJobServerAsyncClient</code>
+	 * and completes its futures, so neither the parsing nor the dependent stages of the
+	 * callers run on the I/O dispatcher threads. It is ignored by <code>ISparkJobServerClient</code>.
+	 *
+	 * @param callbackExecutor the executor, null means <code>ForkJoinPool.commonPool()</code>,
+	 *        which is the default
+	 */
+	public void setCallbackExecutor(Executor callbackExecutor) {
+		this.callbackExecutor = callbackExecutor == null ? ForkJoinPool.commonPool() : callbackExecutor;
+	}
+
+	public int getResultCacheMaxEntries() {
+		return resultCacheMaxEntries;
+	}
+
+	/**
+	 * Sets the maximum number of cached job results. The results of the jobs
+	 * in a terminal status are cached by <code>getJobResult</code> once it is
+	 * positive, and the least recently used ones are evicted beyond the limit.
+	 *
+	 * @param resultCacheMaxEntries a non-negative number of results, 0 disables the cache
+	 */
+	public void setResultCacheMaxEntries(int resultCacheMaxEntries) {
+		if (resultCacheMaxEntries < 0) {
+			throw new IllegalArgumentException("The given resultCacheMaxEntries should not be negative.");
+		}
+		this.resultCacheMaxEntries = resultCacheMaxEntries;
+	}
+
+	public long getResultCacheMaxBytes() {
+		return resultCacheMaxBytes;
+	}
+
+	/**
+	 * Sets the maximum estimated bytes taken by the cached job results, the least
+	 * recently used ones are evicted beyond the limit.
+	 *
+	 * @param resultCacheMaxBytes a positive number of bytes
+	 */
+	public void setResultCacheMaxBytes(long resultCacheMaxBytes) {
+		checkPositive(resultCacheMaxBytes, "resultCacheMaxBytes");
+		this.resultCacheMaxBytes = resultCacheMaxBytes;
+	}
+
+	public int getConfigCacheMaxEntries() {
+		return configCacheMaxEntries;
+	}
+
+	/**
+	 * Sets the maximum number of job configurations cached by <code>getConfig</code>,
+	 * the least recently used ones are evicted beyond the limit.
+	 *
+	 * @param configCacheMaxEntries a non-negative number of configurations, 0 disables the cache
+	 */
+	public void setConfigCacheMaxEntries(int configCacheMaxEntries) {
+		if (configCacheMaxEntries < 0) {
+			throw new IllegalArgumentException("The given configCacheMaxEntries should not be negative.");
+		}
+		this.configCacheMaxEntries = configCacheMaxEntries;
+	}
+
+	public int getListingCacheTimeToLive() {
+		return listingCacheTimeToLive;
+	}
+
+	/**
+	 * Sets the time in milliseconds for which the contexts and the jars cached by
+	 * <code>getContexts</code> and <code>getJars</code> are fresh. After that the
+	 * stale ones are still returned at once, while they are refreshed in the background.
+	 *
+	 * @param listingCacheTimeToLive a non-negative time in milliseconds, 0 disables the cache
+	 */
+	public void setListingCacheTimeToLive(int listingCacheTimeToLive) {
+		if (listingCacheTimeToLive < 0) {
+			throw new IllegalArgumentException("The given listingCacheTimeToLive should not be negative.");
+		}
+		this.listingCacheTimeToLive = listingCacheTimeToLive;
+	}
+
+	public int getHealthLatencyThreshold() {
+		return healthLatencyThreshold;
+	}
+
+	/**
+	 * Sets the average latency in milliseconds beyond which a server is ejected,
+	 * it is also the timeout of the background probes.
+	 *
+	 * <p>
+	 * The health is only kept by the cluster clients, and it is shared by
+	 * those using the same url and the same health settings. The latency of
+	 * the job and context submissions is not judged.
+	 *
+	 * @param healthLatencyThreshold a positive time in milliseconds
+	 */
+	public void setHealthLatencyThreshold(int healthLatencyThreshold) {
+		checkPositive(healthLatencyThreshold, "healthLatencyThreshold");
+		this.healthLatencyThreshold = healthLatencyThreshold;
+	}
+
+	public double getHealthErrorRateThreshold() {
+		return healthErrorRateThreshold;
+	}
+
+	/**
+	 * Sets the average error rate beyond which a server is ejected.
+	 *
+	 * @param healthErrorRateThreshold an error rate between 0 and 1
+	 */
+	public void setHealthErrorRateThreshold(double healthErrorRateThreshold) {
+		if (!(healthErrorRateThreshold >= 0 && healthErrorRateThreshold <= 1)) {
+			throw new IllegalArgumentException("The given healthErrorRateThreshold should be between 0 and 1.");
+		}
+		this.healthErrorRateThreshold = healthErrorRateThreshold;
+	}
+
+	public int getHealthEjectionTime() {
+		return healthEjectionTime;
+	}
+
+	/**
+	 * Sets the time in milliseconds for which an unhealthy server is ejected,
+	 * before it is probed again.
+	 *
+	 * @param healthEjectionTime a positive time in milliseconds
+	 */
+	public void setHealthEjectionTime(int healthEjectionTime) {
+		checkPositive(healthEjectionTime, "healthEjectionTime");
+		this.healthEjectionTime = healthEjectionTime;
+	}
+
+	public int getHealthProbeInterval() {
+		return healthProbeInterval;
+	}
+
+	/**
+	 * Sets the time in milliseconds without any call after which a server
+	 * behind a cluster client is probed in the background.
+	 *
+	 * @param healthProbeInterval a positive time in milliseconds
+	 */
+	public void setHealthProbeInterval(int healthProbeInterval) {
+		checkPositive(healthProbeInterval, "healthProbeInterval");
+		this.healthProbeInterval = healthProbeInterval;
+	}
+
+	public int getCircuitFailureThreshold() {
+		return circuitFailureThreshold;
+	}
+
+	/**
+	 * Sets the number of calls in a row failed by an I/O error or a server error
+	 * which opens a circuit breaker of an <code>ISparkJobServerClient</code>. The
+	 * job and context submissions and the other calls have separate circuits.
+	 *
+	 * @param circuitFailureThreshold a non-negative number, 0, the default, means
+	 *        the circuit breakers are disabled
+	 */
+	public void setCircuitFailureThreshold(int circuitFailureThreshold) {
+		if (circuitFailureThreshold < 0) {
+			throw new IllegalArgumentException("The given circuitFailureThreshold should not be negative.");
+		}
+		this.circuitFailureThreshold = circuitFailureThreshold;
+	}
+
+	public int getCircuitOpenTime() {
+		return circuitOpenTime;
+	}
+
+	/**
+	 * Sets the time in milliseconds for which an open circuit breaker fails
+	 * the calls at once, before a trial call is sent.
+	 *
+	 * @param circuitOpenTime a positive time in milliseconds
+	 */
+	public void setCircuitOpenTime(int circuitOpenTime) {
+		checkPositive(circuitOpenTime, "circuitOpenTime");
+		this.circuitOpenTime = circuitOpenTime;
+	}
+
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	/**
+	 * Sets the max concurrency limit of the calls of an <code>ISparkJobServerClient</code>
+	 * to a server. The limit adapts to the server below it, and the calls beyond the
+	 * limit wait in a queue. A call slower than <code>healthLatencyThreshold</code>
+	 * counts as a failure of the server.
+	 *
+	 * @param maxConcurrency a non-negative number, 0 means the calls are not limited,
+	 *        which is the default
+	 */
+	public void setMaxConcurrency(int maxConcurrency) {
+		if (maxConcurrency < 0) {
+			throw new IllegalArgumentException("The given maxConcurrency should not be negative.");
+		}
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	public int getConcurrencyQueueSize() {
+		return concurrencyQueueSize;
+	}
+
+	/**
+	 * Sets the max number of calls waiting for the concurrency limit, the
+	 * calls beyond it are rejected at once.
+	 *
+	 * @param concurrencyQueueSize a non-negative number, 0 means the calls
+	 *        beyond the limit are always rejected
+	 */
+	public void setConcurrencyQueueSize(int concurrencyQueueSize) {
+		if (concurrencyQueueSize < 0) {
+			throw new IllegalArgumentException("The given concurrencyQueueSize should not be negative.");
+		}
+		this.concurrencyQueueSize = concurrencyQueueSize;
+	}
+
+	public int getConcurrencyQueueTimeout() {
+		return concurrencyQueueTimeout;
+	}
+
+	/**
+	 * Sets the max time in milliseconds a call waits for the concurrency limit,
+	 * before it is rejected.
+	 *
+	 * @param concurrencyQueueTimeout a positive time in milliseconds
+	 */
+	public void setConcurrencyQueueTimeout(int concurrencyQueueTimeout) {
+		checkPositive(concurrencyQueueTimeout, "concurrencyQueueTimeout");
+		this.concurrencyQueueTimeout = concurrencyQueueTimeout;
+	}
+
+	public SparkJobServerRetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+
+	/**
+	 * Sets how the calls failed by transient errors are retried by an
+	 * <code>ISparkJobServerClient</code>.
+	 *
+	 * The calls are not retried unless a policy is set, for example
+	 * <code>SparkJobServerRetryPolicy.defaultPolicy()</code>.
+	 *
+	 * @param retryPolicy the retry policy, null means
+	 *        <code>SparkJobServerRetryPolicy.noRetry()</code>
+	 */
+	public void setRetryPolicy(SparkJobServerRetryPolicy retryPolicy) {
+		this.retryPolicy = retryPolicy == null ? SparkJobServerRetryPolicy.noRetry() : retryPolicy;
+	}
+
+	public SparkJobServerHedgePolicy getHedgePolicy() {
+		return hedgePolicy;
+	}
+
+	/**
+	 * Sets how the reads of the status of jobs, <code>getJobResult</code> and
+	 * <code>getJobs</code>, are hedged by an <code>ISparkJobServerClient</code>.
+	 *
+	 * @param hedgePolicy the hedge policy, null means the reads are never hedged,
+	 *        which is the default
+	 */
+	public void setHedgePolicy(SparkJobServerHedgePolicy hedgePolicy) {
+		this.hedgePolicy = hedgePolicy;
+	}
+
+	public ISparkJobServerMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Sets the receiver of the metrics of the calls of an <code>ISparkJobServerClient</code>,
+	 * such as a <code>SparkJobServerHistogramMetrics</code> instance.
+	 *
+	 * @param metrics the metrics, null means the metrics are dropped, which is the default
+	 */
+	public void setMetrics(ISparkJobServerMetrics metrics) {
+		this.metrics = metrics == null ? SparkJobServerNoopMetrics.INSTANCE : metrics;
+	}
+
+	/**
+	 * Gets the listeners of the phases of the calls.
+	 *
+	 * @return an unmodifiable list of the listeners
+	 */
+	public List<ISparkJobServerClientEventListener> getEventListeners() {
+		return Collections.unmodifiableList(eventListeners);
+	}
+
+	/**
+	 * Adds a listener of the phases of the calls of an <code>ISparkJobServerClient</code>.
+	 * The listeners should be added before the client is created.
+	 *
+	 * @param eventListener the listener to be added
+	 */
+	public void addEventListener(ISparkJobServerClientEventListener eventListener) {
+		if (eventListener == null) {
+			throw new IllegalArgumentException("The given eventListener should not be null.");
+		}
+		eventListeners.add(eventListener);
+	}
+
+	private static void checkPositive(long value, String name) {
+		if (value <= 0) {
+			throw new IllegalArgumentException("The given " + name + " should be positive.");
+		}
+	}
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Presents one call of an <code>ISparkJobServerClient</code> passed to the
+ * <code>ISparkJobServerClientEventListener</code>s, with the times of its phases.
+ *
+ * <p>
+ * The times of the phases are the nanoseconds elapsed from the start of the
+ * call, or -1 if the phase has not been reached. When the call is retried,
+ * they are the times of the latest attempt. The hedge of a call has an event
+ * of its own, see <code>isHedge()</code>.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public final class SparkJobServerClientEvent {
+	private static Logger logger = Logger.getLogger(SparkJobServerClientEvent.class);
+
+	private final ISparkJobServerClientEventListener[] listeners;
+	private final String operation;
+	private final String target;
+	private final String path;
+	private final long startTimeMillis;
+	private final long startTime;
+	private volatile long connectionAcquiredTime = -1;
+	private volatile boolean connectionReused;
+	private volatile long requestSentTime = -1;
+	private volatile long firstByteTime = -1;
+	private volatile long bodyReadTime = -1;
+	private volatile long parseDoneTime = -1;
+	private volatile int statusCode = -1;
+	private volatile Throwable failure;
+	private final boolean hedge;
+
+	/**
+	 * Constructs an instance of <code>SparkJobServerClientEvent</code> at the start of a call.
+	 *
+	 * @param listeners the listeners of the call
+	 * @param operation the name of the operation
+	 * @param target the id of the job or the name of the context or application of the
+	 *        call, it can be null
+	 * @param path the path of the url of the call
+	 */
+	SparkJobServerClientEvent(ISparkJobServerClientEventListener[] listeners, String operation,
+		String target, String path) {
+		this.listeners = listeners;
+		this.operation = operation;
+		this.target = target;
+		this.path = path;
+		this.startTimeMillis = System.currentTimeMillis();
+		this.startTime = System.nanoTime();
+		this.hedge = false;
+	}
+
+	private SparkJobServerClientEvent(SparkJobServerClientEvent call) {
+		this.listeners = call.listeners;
+		this.operation = call.operation;
+		this.target = call.target;
+		this.path = call.path;
+		this.startTimeMillis = System.currentTimeMillis();
+		this.startTime = System.nanoTime();
+		this.hedge = true;
+	}
+
+	/**
+	 * Creates the event of a hedge of current call, so the two requests
+	 * sent at the same time never mix up their phases.
+	 *
+	 * @return the event of the hedge
+	 */
+	SparkJobServerClientEvent newHedge() {
+		return new SparkJobServerClientEvent(this);
+	}
+
+	/**
+	 * Gets the name of the operation, such as <code>getJobResult</code>.
+	 *
+	 * @return the name of the operation
+	 */
+	public String getOperation() {
+		return operation;
+	}
+
+	/**
+	 * Gets the id of the job, or the name of the context or application, of current call.
+	 *
+	 * @return the target of the call, or null if it lists the jars, contexts or jobs
+	 */
+	public String getTarget() {
+		return target;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * Judges current event presents the hedge of a slow call, which is sent while
+	 * the first request of the call is still waiting.
+	 *
+	 * <p>
+	 * The event of a hedge receives the phases of the hedge up to its first
+	 * byte, and <code>failed</code> if it fails. The body read and the parse of
+	 * the response taken, which may be the one of the hedge, are received by
+	 * the event of the call.
+	 *
+	 * @return true if it is the event of a hedge, false if it is the one of a call
+	 */
+	public boolean isHedge() {
+		return hedge;
+	}
+
+	/**
+	 * Gets the time of the start of current call.
+	 *
+	 * @return the milliseconds since the epoch
+	 */
+	public long getStartTimeMillis() {
+		return startTimeMillis;
+	}
+
+	public long getConnectionAcquiredTime() {
+		return connectionAcquiredTime;
+	}
+
+	/**
+	 * Judges the connection of current call had served former requests or not.
+	 *
+	 * @return true if the connection is reused, false if it is a new one
+	 */
+	public boolean isConnectionReused() {
+		return connectionReused;
+	}
+
+	public long getRequestSentTime() {
+		return requestSentTime;
+	}
+
+	public long getFirstByteTime() {
+		return firstByteTime;
+	}
+
+	public long getBodyReadTime() {
+		return bodyReadTime;
+	}
+
+	public long getParseDoneTime() {
+		return parseDoneTime;
+	}
+
+	/**
+	 * Gets the status code of the response of current call.
+	 *
+	 * @return the status code, or -1 if no response has been received
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * Gets the error failing current call.
+	 *
+	 * @return the error, or null if the call has not failed
+	 */
+	public Throwable getFailure() {
+		return failure;
+	}
+
+	void requestStarted() {
+		for (ISparkJobServerClientEventListener listener : listeners) {
+			try {
+				listener.requestStarted(this);
+			} catch (RuntimeException e) {
+				logError(e);
+			}
+		}
+	}
+
+	void connectionAcquired(boolean reused) {
+		connectionAcquiredTime = elapsed();
+		connectionReused = reused;
+		for (ISparkJobServerClientEventListener listener : listeners) {
+			try {
+				listener.connectionAcquired(this);
+			} catch (RuntimeException e) {
+				logError(e);
+			}
+		}
+	}
+
+	void requestSent() {
+		requestSentTime = elapsed();
+		for (ISparkJobServerClientEventListener listener : listeners) {
+			try {
+				listener.requestSent(this);
+			} catch (RuntimeException e) {
+				logError(e);
+			}
+		}
+	}
+
+	void firstByteReceived(int statusCode) {
+		firstByteTime = elapsed();
+		this.statusCode = statusCode;
+		for (ISparkJobServerClientEventListener listener : listeners) {
+			try {
+				listener.firstByteReceived(this);
+			} catch (RuntimeException e) {
+				logError(e);
+			}
+		}
+	}
+
+	void bodyRead() {
+		bodyReadTime = elapsed();
+		for (ISparkJobServerClientEventListener listener : listeners) {
+			try {
+				listener.bodyRead(this);
+			} catch (RuntimeException e) {
+				logError(e);
+			}
+		}
+	}
+
+	void parseDone() {
+		parseDoneTime = elapsed();
+		for (ISparkJobServerClientEventListener listener : listeners) {
+			try {
+				listener.parseDone(this);
+			} catch (RuntimeException e) {
+				logError(e);
+			}
+		}
+	}
+
+	/**
+	 * Fails current call, which is received by the listeners once at most.
+	 */
+	void failed(Throwable failure) {
+		synchronized (this) {
+			if (this.failure != null) {
+				return;
+			}
+			this.failure = failure;
+		}
+		for (ISparkJobServerClientEventListener listener : listeners) {
+			try {
+				listener.failed(this);
+			} catch (RuntimeException e) {
+				logError(e);
+			}
+		}
+	}
+
+	private long elapsed() {
+		return System.nanoTime() - startTime;
+	}
+
+	private void logError(RuntimeException e) {
+		logger.error("Error occurs in a listener of " + operation + " " + path, e);
+	}
+
+	@Override
+	public String toString() {
+		return "SparkJobServerClientEvent{operation=" + operation + ", target=" + target + ", path=" + path
+			+ ", startTimeMillis=" + startTimeMillis + ", connectionAcquiredTime=" + connectionAcquiredTime
+			+ ", connectionReused=" + connectionReused + ", requestSentTime=" + requestSentTime
+			+ ", firstByteTime=" + firstByteTime + ", bodyReadTime=" + bodyReadTime
+			+ ", parseDoneTime=" + parseDoneTime + ", statusCode=" + statusCode + ", failure=" + failure
+			+ ", hedge=" + hedge + "}";
+	}
+}
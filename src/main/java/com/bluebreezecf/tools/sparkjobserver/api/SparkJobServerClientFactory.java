@@ -18,6 +18,8 @@ package com.bluebreezecf.tools.sparkjobserver.api;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -36,8 +38,11 @@ public final class SparkJobServerClientFactory {
 	
 	private static Logger logger = Logger.getLogger(SparkJobServerClientFactory.class);
 	
-	private static Map<String, ISparkJobServerClient> jobServerClientCache 
-	    = new ConcurrentHashMap<String, ISparkJobServerClient>();
+	private static Map<String, SparkJobServerClientImpl> jobServerClientCache 
+	    = new ConcurrentHashMap<String, SparkJobServerClientImpl>();
+
+	private static Map<String, SparkJobServerAsyncClientImpl> jobServerAsyncClientCache
+	    = new ConcurrentHashMap<String, SparkJobServerAsyncClientImpl>();
 	
 	/**
 	 * The default constructor of <code>SparkJobServerClientFactory</code>. 
@@ -66,13 +71,9 @@ public final class SparkJobServerClientFactory {
 		if (!isValidUrl(url)) {
 			throw new SparkJobServerClientException("Invalid url can't be used to create a spark job server client.");
 		}
-		String sparkJobServerUrl = url.trim();
-		ISparkJobServerClient sparkJobServerClient = jobServerClientCache.get(sparkJobServerUrl);
-		if (null == sparkJobServerClient) {
-			sparkJobServerClient = new SparkJobServerClientImpl(url);
-			jobServerClientCache.put(url, sparkJobServerClient);
-		}
-		return sparkJobServerClient;
+		final String sparkJobServerUrl = url.trim();
+		return jobServerClientCache.computeIfAbsent(sparkJobServerUrl,
+			key -> new SparkJobServerClientImpl(sparkJobServerUrl).share());
 	}
 
 	/**
@@ -94,13 +95,9 @@ public final class SparkJobServerClientFactory {
 			throw new SparkJobServerClientException("Invalid username can't be null or empty.");
 		}
 		String sparkJobServerUrl = url.trim();
-		jobServerUsername = jobServerUsername.trim();
-		ISparkJobServerClient sparkJobServerClient = jobServerClientCache.get(sparkJobServerUrl + "_@_" + jobServerUsername + "_@_" + jobServerPassword);
-		if (null == sparkJobServerClient) {
-			sparkJobServerClient = new SparkJobServerClientImpl(url, jobServerUsername, jobServerPassword);
-			jobServerClientCache.put(sparkJobServerUrl + "_@_" + jobServerUsername + "_@_" + jobServerPassword, sparkJobServerClient);
-		}
-		return sparkJobServerClient;
+		final String username = jobServerUsername.trim();
+		return jobServerClientCache.computeIfAbsent(sparkJobServerUrl + "_@_" + username + "_@_" + jobServerPassword,
+			key -> new SparkJobServerClientImpl(url, username, jobServerPassword).share());
 	}
 
     /**
@@ -128,19 +125,201 @@ public final class SparkJobServerClientFactory {
             throw new SparkJobServerClientException("Invalid username can't be null or empty.");
         }
         String sparkJobServerUrl = url.trim();
-        jobServerUsername = jobServerUsername.trim();
-        String cacheKey = sparkJobServerUrl + "_@_" + jobServerUsername
+        final String username = jobServerUsername.trim();
+        String cacheKey = sparkJobServerUrl + "_@_" + username
                 + "_@_" + jobServerPassword + "_@_" + connectionTimeOut + "_@_" + connectionReqTimeOut +
                 "_@_" + socketTimeOut;
-        ISparkJobServerClient sparkJobServerClient = jobServerClientCache.get(cacheKey);
-        if (null == sparkJobServerClient) {
-            sparkJobServerClient = new SparkJobServerClientImpl(url, jobServerUsername, jobServerPassword,
-                    connectionTimeOut, connectionReqTimeOut, socketTimeOut);
-            jobServerClientCache.put(cacheKey, sparkJobServerClient);
-        }
-        return sparkJobServerClient;
+        return jobServerClientCache.computeIfAbsent(cacheKey,
+                key -> new SparkJobServerClientImpl(url, username, jobServerPassword,
+                        connectionTimeOut, connectionReqTimeOut, socketTimeOut).share());
     }
 
+	/**
+	 * Creates a new instance of <code>ISparkJobServerClient</code> with the given url
+	 * and client settings.
+	 *
+	 * <p>
+	 * Unlike the other methods, the created client is not shared, and the caller
+	 * should close it when it is no longer used.
+	 *
+	 * @param url the url of the target Spark Job Server
+	 * @param config the settings of the timeouts and the connection pool
+	 * @return the corresponding <code>ISparkJobServerClient</code> instance
+	 * @throws SparkJobServerClientException error occurs when trying to create the
+	 *     target spark job server client
+	 */
+	public ISparkJobServerClient createSparkJobServerClient(String url, SparkJobServerClientConfig config)
+		throws SparkJobServerClientException {
+		return createSparkJobServerClient(url, null, null, config);
+	}
+
+	/**
+	 * Creates a new instance of <code>ISparkJobServerClient</code> with the given url,
+	 * username, password and client settings.
+	 *
+	 * <p>
+	 * Unlike the other methods, the created client is not shared, and the caller
+	 * should close it when it is no longer used.
+	 *
+	 * @param url the url of the target Spark Job Server
+	 * @param jobServerUsername the username for authentication of target Spark Job Server,
+	 *     or null if the authentication is not needed
+	 * @param jobServerPassword the password for authentication of the target Spark Job Server
+	 * @param config the settings of the timeouts and the connection pool
+	 * @return the corresponding <code>ISparkJobServerClient</code> instance
+	 * @throws SparkJobServerClientException error occurs when trying to create the
+	 *     target spark job server client
+	 */
+	public ISparkJobServerClient createSparkJobServerClient(String url, String jobServerUsername,
+		String jobServerPassword, SparkJobServerClientConfig config) throws SparkJobServerClientException {
+		if (!isValidUrl(url)) {
+			throw new SparkJobServerClientException("Invalid url can't be used to create a spark job server client.");
+		}
+		if (config == null) {
+			throw new SparkJobServerClientException("Invalid config can't be null.");
+		}
+		String username = jobServerUsername == null ? null : jobServerUsername.trim();
+		return new SparkJobServerClientImpl(url.trim(), username, jobServerPassword, config);
+	}
+
+	/**
+	 * Creates an instance of <code>ISparkJobServerAsyncClient</code> with the given url.
+	 *
+	 * @param url the url of the target Spark Job Server
+	 * @return the corresponding <code>ISparkJobServerAsyncClient</code> instance
+	 * @throws SparkJobServerClientException error occurs when trying to create the
+	 *     target spark job server client
+	 */
+	public ISparkJobServerAsyncClient createSparkJobServerAsyncClient(String url)
+		throws SparkJobServerClientException {
+		if (!isValidUrl(url)) {
+			throw new SparkJobServerClientException("Invalid url can't be used to create a spark job server client.");
+		}
+		final String sparkJobServerUrl = url.trim();
+		return jobServerAsyncClientCache.computeIfAbsent(sparkJobServerUrl,
+			key -> new SparkJobServerAsyncClientImpl(sparkJobServerUrl, null, null,
+				new SparkJobServerClientConfig()).share());
+	}
+
+	/**
+	 * Creates an instance of <code>ISparkJobServerAsyncClient</code> with the given url,
+	 * username and password.
+	 *
+	 * @param url the url of the target Spark Job Server
+	 * @param jobServerUsername the username for authentication of target Spark Job Server
+	 * @param jobServerPassword the password for authentication of the target Spark Job Server
+	 * @return the corresponding <code>ISparkJobServerAsyncClient</code> instance
+	 * @throws SparkJobServerClientException error occurs when trying to create the
+	 *     target spark job server client
+	 */
+	public ISparkJobServerAsyncClient createSparkJobServerAsyncClient(String url, String jobServerUsername,
+		String jobServerPassword) throws SparkJobServerClientException {
+		if (!isValidUrl(url)) {
+			throw new SparkJobServerClientException("Invalid url can't be used to create a spark job server client.");
+		}
+		if (jobServerUsername == null || jobServerUsername.isEmpty()) {
+			throw new SparkJobServerClientException("Invalid username can't be null or empty.");
+		}
+		final String sparkJobServerUrl = url.trim();
+		final String username = jobServerUsername.trim();
+		String cacheKey = sparkJobServerUrl + "_@_" + username + "_@_" + jobServerPassword;
+		return jobServerAsyncClientCache.computeIfAbsent(cacheKey,
+			key -> new SparkJobServerAsyncClientImpl(sparkJobServerUrl, username,
+				jobServerPassword, new SparkJobServerClientConfig()).share());
+	}
+
+	/**
+	 * Creates a new instance of <code>ISparkJobServerAsyncClient</code> with the given url,
+	 * username, password and client settings.
+	 *
+	 * <p>
+	 * Unlike the other methods, the created client is not shared, and the caller
+	 * should close it when it is no longer used.
+	 *
+	 * @param url the url of the target Spark Job Server
+	 * @param jobServerUsername the username for authentication of target Spark Job Server,
+	 *     or null if the authentication is not needed
+	 * @param jobServerPassword the password for authentication of the target Spark Job Server
+	 * @param config the settings of the timeouts, the connection pool and the I/O threads
+	 * @return the corresponding <code>ISparkJobServerAsyncClient</code> instance
+	 * @throws SparkJobServerClientException error occurs when trying to create the
+	 *     target spark job server client
+	 */
+	public ISparkJobServerAsyncClient createSparkJobServerAsyncClient(String url, String jobServerUsername,
+		String jobServerPassword, SparkJobServerClientConfig config) throws SparkJobServerClientException {
+		if (!isValidUrl(url)) {
+			throw new SparkJobServerClientException("Invalid url can't be used to create a spark job server client.");
+		}
+		if (config == null) {
+			throw new SparkJobServerClientException("Invalid config can't be null.");
+		}
+		String username = jobServerUsername == null ? null : jobServerUsername.trim();
+		return new SparkJobServerAsyncClientImpl(url.trim(), username, jobServerPassword, config);
+	}
+
+	/**
+	 * Creates a new instance of <code>ISparkJobServerClient</code> backed by the Spark Job Servers
+	 * with the given urls, which spreads the new jobs and contexts across the servers.
+	 *
+	 * <p>
+	 * The created client is not shared, and the caller should close it when it is no longer used.
+	 *
+	 * @param urls the urls of the target Spark Job Servers
+	 * @param loadBalancer the strategy choosing the servers of the new jobs and contexts,
+	 *     or null indicates <code>SparkJobServerLoadBalancers.roundRobin()</code>
+	 * @return the corresponding <code>ISparkJobServerClient</code> instance
+	 * @throws SparkJobServerClientException error occurs when trying to create the
+	 *     target spark job server client
+	 */
+	public ISparkJobServerClient createSparkJobServerClusterClient(List<String> urls,
+		ISparkJobServerLoadBalancer loadBalancer) throws SparkJobServerClientException {
+		return createSparkJobServerClusterClient(urls, null, null, new SparkJobServerClientConfig(), loadBalancer);
+	}
+
+	/**
+	 * Creates a new instance of <code>ISparkJobServerClient</code> backed by the Spark Job Servers
+	 * with the given urls, which spreads the new jobs and contexts across the servers.
+	 *
+	 * <p>
+	 * The created client is not shared, and the caller should close it when it is no longer used.
+	 *
+	 * @param urls the urls of the target Spark Job Servers
+	 * @param jobServerUsername the username for authentication of target Spark Job Servers,
+	 *     or null if the authentication is not needed
+	 * @param jobServerPassword the password for authentication of the target Spark Job Servers
+	 * @param config the settings used by the client of each server
+	 * @param loadBalancer the strategy choosing the servers of the new jobs and contexts,
+	 *     or null indicates <code>SparkJobServerLoadBalancers.roundRobin()</code>
+	 * @return the corresponding <code>ISparkJobServerClient</code> instance
+	 * @throws SparkJobServerClientException error occurs when trying to create the
+	 *     target spark job server client
+	 */
+	public ISparkJobServerClient createSparkJobServerClusterClient(List<String> urls, String jobServerUsername,
+		String jobServerPassword, SparkJobServerClientConfig config, ISparkJobServerLoadBalancer loadBalancer)
+		throws SparkJobServerClientException {
+		if (urls == null || urls.isEmpty()) {
+			throw new SparkJobServerClientException("Invalid urls can't be null or empty.");
+		}
+		for (String url : urls) {
+			if (!isValidUrl(url)) {
+				throw new SparkJobServerClientException("Invalid url can't be used to create a spark job server client.");
+			}
+		}
+		if (config == null) {
+			throw new SparkJobServerClientException("Invalid config can't be null.");
+		}
+		String username = jobServerUsername == null ? null : jobServerUsername.trim();
+		List<SparkJobServerEndpoint> endpoints = new ArrayList<SparkJobServerEndpoint>();
+		for (String url : urls) {
+			String sparkJobServerUrl = url.trim();
+			SparkJobServerClientImpl client = new SparkJobServerClientImpl(sparkJobServerUrl, username,
+				jobServerPassword, config, true);
+			endpoints.add(new SparkJobServerEndpoint(sparkJobServerUrl, client, client.getHealth()));
+		}
+		return new SparkJobServerClusterClient(endpoints,
+			loadBalancer != null ? loadBalancer : SparkJobServerLoadBalancers.roundRobin());
+	}
+
 	/**
 	 * Checks the given url is valid or not.
 	 * 
@@ -16,37 +16,42 @@
 
 package com.bluebreezecf.tools.sparkjobserver.api;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedReader;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import net.sf.json.JSONArray;
-import net.sf.json.JSONObject;
-import org.apache.commons.io.IOUtils;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.apache.http.HttpEntity;
-import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
-import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.log4j.Logger;
 
 
@@ -61,17 +66,39 @@ import org.apache.log4j.Logger;
  */
 class SparkJobServerClientImpl implements ISparkJobServerClient {
 	private static Logger logger = Logger.getLogger(SparkJobServerClientImpl.class);
-	private static final int BUFFER_SIZE = 512 * 1024;
-	private static final int DEFAULT_CONNECTION_TIMEOUT=60000;
-	private static final int DEFAULT_SOCKET_TIMEOUT=60000;
-	private static final int DEFAULT_REQUEST_TIMEOUT=60000;
 	private String jobServerUrl;
 	private String jobServerUsername;
 	private String jobServerPassword;
 	private Integer connectionTimeOut;
 	private Integer connectionReqTimeOut;
 	private Integer socketTimeOut;
-	private static List<String> INFO_JOBS_STATUS = Arrays.asList("OK", "STARTED", "RUNNING", "ACCEPTED", "ERROR");
+	private final CloseableHttpClient httpClient;
+	private final SparkJobResultCache resultCache;
+	private final SparkJobLruCache<String, SparkJobConfig> configCache;
+	private final SparkJobServerHealth health;
+	private final SparkJobServerRetryPolicy retryPolicy;
+	private final SparkJobServerRetryBudget retryBudget;
+	private final SparkJobServerCircuitBreaker controlCircuit;
+	private final SparkJobServerCircuitBreaker submissionCircuit;
+	private final SparkJobServerHedger hedger;
+	private final SparkJobServerConcurrencyLimiter limiter;
+	private final SparkJobServerSingleFlight singleFlight = new SparkJobServerSingleFlight();
+	private final SparkJobServerListingCache<List<String>> contextsCache;
+	private final SparkJobServerListingCache<List<SparkJobJarInfo>> jarsCache;
+	private final ISparkJobServerMetrics metrics;
+	private final ISparkJobServerClientEventListener[] eventListeners;
+	private volatile boolean closed;
+	private volatile boolean shared;
+	static final ContentType JAR_CONTENT_TYPE = ContentType.create("application/java-archive");
+	static final ContentType JOB_DATA_CONTENT_TYPE = ContentType.create("text/plain");
+	static final List<String> INFO_JOBS_STATUS = Arrays.asList("OK", "STARTED", "RUNNING", "ACCEPTED", "ERROR");
+
+	/**
+	 * Parses the content of a http response into the result of a call.
+	 */
+	private interface Parser<V> {
+		V parse() throws Exception;
+	}
 
 	/**
 	 * Constructs an instance of <code>SparkJobServerClientImpl</code>
@@ -80,13 +107,7 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 	 * @param jobServerUrl a url pointing to a existing spark job server
 	 */
 	SparkJobServerClientImpl(String jobServerUrl) {
-		if (!jobServerUrl.endsWith("/")) {
-			jobServerUrl = jobServerUrl + "/";
-		}
-		this.jobServerUrl = jobServerUrl;
-		this.socketTimeOut = DEFAULT_SOCKET_TIMEOUT;
-		this.connectionReqTimeOut = DEFAULT_REQUEST_TIMEOUT;
-		this.connectionTimeOut = DEFAULT_CONNECTION_TIMEOUT;
+		this(jobServerUrl, null, null, new SparkJobServerClientConfig());
 	}
 
 	/**
@@ -99,13 +120,7 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 	 * @param socketTimeOut Timeout in milliseconds for Socket to transfer data
 	 */
 	SparkJobServerClientImpl(String jobServerUrl, Integer connectionTimeOut, Integer connectionReqTimeOut, Integer socketTimeOut) {
-		if (!jobServerUrl.endsWith("/")) {
-			jobServerUrl = jobServerUrl + "/";
-		}
-		this.jobServerUrl = jobServerUrl;
-		this.socketTimeOut = socketTimeOut == null ? DEFAULT_SOCKET_TIMEOUT : socketTimeOut;
-		this.connectionReqTimeOut = connectionReqTimeOut == null ? DEFAULT_REQUEST_TIMEOUT : connectionReqTimeOut;
-		this.connectionTimeOut = connectionTimeOut == null ? DEFAULT_CONNECTION_TIMEOUT : connectionTimeOut;
+		this(jobServerUrl, null, null, connectionTimeOut, connectionReqTimeOut, socketTimeOut);
 	}
 
     /**
@@ -118,9 +133,7 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
      */
     SparkJobServerClientImpl(String jobServerUrl, String jobServerUsername,
         String jobServerPassword) {
-        this(jobServerUrl);
-        this.jobServerUsername = jobServerUsername;
-        this.jobServerPassword = jobServerPassword;
+        this(jobServerUrl, jobServerUsername, jobServerPassword, new SparkJobServerClientConfig());
     }
 
 	/**
@@ -136,9 +149,106 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 	 */
 	SparkJobServerClientImpl(String jobServerUrl, String jobServerUsername,
 							 String jobServerPassword, Integer connectionTimeOut, Integer connectionReqTimeOut, Integer socketTimeOut) {
-		this(jobServerUrl, connectionTimeOut, connectionReqTimeOut, socketTimeOut);
+		this(jobServerUrl, jobServerUsername, jobServerPassword,
+			createConfig(connectionTimeOut, connectionReqTimeOut, socketTimeOut));
+	}
+
+	/**
+	 * Constructs an instance of <code>SparkJobServerClientImpl</code>
+	 * with the given spark job server url, username, password and client settings.
+	 *
+	 * @param jobServerUrl a url pointing to a existing spark job server
+	 * @param jobServerUsername a username to a existing spark job server, it can be null
+	 * @param jobServerPassword  a password to a existing spark job server, it can be null
+	 * @param config the settings of the timeouts and the connection pool
+	 */
+	SparkJobServerClientImpl(String jobServerUrl, String jobServerUsername,
+							 String jobServerPassword, SparkJobServerClientConfig config) {
+		this(jobServerUrl, jobServerUsername, jobServerPassword, config, false);
+	}
+
+	/**
+	 * Constructs an instance of <code>SparkJobServerClientImpl</code>
+	 * with the given spark job server url, username, password and client settings.
+	 *
+	 * @param jobServerUrl a url pointing to a existing spark job server
+	 * @param jobServerUsername a username to a existing spark job server, it can be null
+	 * @param jobServerPassword  a password to a existing spark job server, it can be null
+	 * @param config the settings of the timeouts and the connection pool
+	 * @param healthTracked true if the health of the server is kept for the
+	 *        ejection of a cluster client, false otherwise
+	 */
+	SparkJobServerClientImpl(String jobServerUrl, String jobServerUsername,
+							 String jobServerPassword, SparkJobServerClientConfig config, boolean healthTracked) {
+		if (!jobServerUrl.endsWith("/")) {
+			jobServerUrl = jobServerUrl + "/";
+		}
+		this.jobServerUrl = jobServerUrl;
 		this.jobServerUsername = jobServerUsername;
 		this.jobServerPassword = jobServerPassword;
+		this.socketTimeOut = config.getSocketTimeOut();
+		this.connectionReqTimeOut = config.getConnectionReqTimeOut();
+		this.connectionTimeOut = config.getConnectionTimeOut();
+		this.httpClient = buildClient(config);
+		this.health = healthTracked ? SparkJobServerHealthRegistry.register(jobServerUrl, config) : null;
+		this.resultCache = SparkJobResultCache.create(config);
+		this.configCache = createConfigCache(config);
+		this.retryPolicy = config.getRetryPolicy();
+		this.retryBudget = new SparkJobServerRetryBudget(retryPolicy.getBudgetRatio(),
+			SparkJobServerRetryPolicy.BUDGET_RESERVE);
+		this.controlCircuit = createCircuitBreaker("control calls to " + jobServerUrl, config);
+		this.submissionCircuit = createCircuitBreaker("submissions to " + jobServerUrl, config);
+		this.hedger = config.getHedgePolicy() == null ? null : new SparkJobServerHedger(config.getHedgePolicy());
+		this.limiter = config.getMaxConcurrency() <= 0 ? null
+			: new SparkJobServerConcurrencyLimiter(jobServerUrl, config);
+		this.metrics = config.getMetrics();
+		this.eventListeners = config.getEventListeners().toArray(new ISparkJobServerClientEventListener[0]);
+		if (config.getListingCacheTimeToLive() > 0) {
+			this.contextsCache = new SparkJobServerListingCache<List<String>>("contexts of " + jobServerUrl,
+				config.getListingCacheTimeToLive(), this::loadContexts);
+			this.jarsCache = new SparkJobServerListingCache<List<SparkJobJarInfo>>("jars of " + jobServerUrl,
+				config.getListingCacheTimeToLive(), this::loadJars);
+		} else {
+			this.contextsCache = null;
+			this.jarsCache = null;
+		}
+	}
+
+	/**
+	 * Creates a circuit breaker of one class of calls.
+	 *
+	 * @param name the name of the circuit
+	 * @param config the settings of the client
+	 * @return the circuit breaker, or null if it is disabled
+	 */
+	private static SparkJobServerCircuitBreaker createCircuitBreaker(String name, SparkJobServerClientConfig config) {
+		if (config.getCircuitFailureThreshold() <= 0) {
+			return null;
+		}
+		return new SparkJobServerCircuitBreaker(name, config.getCircuitFailureThreshold(), config.getCircuitOpenTime());
+	}
+
+	/**
+	 * Creates the cache of job configurations, which never change once the
+	 * jobs have been submitted.
+	 *
+	 * @param config the settings of the client
+	 * @return the cache of job configurations, or null if it is disabled
+	 */
+	static SparkJobLruCache<String, SparkJobConfig> createConfigCache(SparkJobServerClientConfig config) {
+		if (config.getConfigCacheMaxEntries() <= 0) {
+			return null;
+		}
+		return new SparkJobLruCache<String, SparkJobConfig>(config.getConfigCacheMaxEntries(), Long.MAX_VALUE);
+	}
+
+	private static SparkJobServerClientConfig createConfig(Integer connectionTimeOut,
+		Integer connectionReqTimeOut, Integer socketTimeOut) {
+		SparkJobServerClientConfig config = new SparkJobServerClientConfig();
+		config.setConnectionTimeOut(connectionTimeOut);
+		config.setConnectionReqTimeOut(connectionReqTimeOut);
+		config.setSocketTimeOut(socketTimeOut);
+		return config;
 	}
 
 	/**
@@ -170,33 +280,47 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 	 */
 	public List<SparkJobJarInfo> getJars()
         throws SparkJobServerClientException {
+		List<SparkJobJarInfo> jars = jarsCache != null ? jarsCache.get() : loadJars();
+		//Each caller gets its own list of the shared one
+		return new ArrayList<SparkJobJarInfo>(jars);
+	}
+
+	/**
+	 * Loads the jars, the identical calls at the same time share one request.
+	 *
+	 * @return the shared list of the jars
+	 * @throws SparkJobServerClientException error occurs when trying to get
+	 *         information of jars
+	 */
+	private List<SparkJobJarInfo> loadJars() throws SparkJobServerClientException {
+		return singleFlight.execute("jars", this::fetchJars);
+	}
+
+	/**
+	 * Sends the request of jars, which may be shared by the identical calls.
+	 *
+	 * @return a list containing information of the jars
+	 * @throws SparkJobServerClientException error occurs when trying to get
+	 *         information of jars
+	 */
+	private List<SparkJobJarInfo> fetchJars() throws SparkJobServerClientException {
 		List<SparkJobJarInfo> sparkJobJarInfos = new ArrayList<>();
-		final CloseableHttpClient httpClient = buildClient();
+		CloseableHttpResponse response = null;
 		try {
 			HttpGet getMethod = new HttpGet(jobServerUrl + "jars");
-			getMethod.setConfig(getRequestConfig());
-            setAuthorization(getMethod);
-			HttpResponse response = httpClient.execute(getMethod);
+			response = execute(getMethod, SparkJobServerOperation.GET_JARS, null);
 			int statusCode = response.getStatusLine().getStatusCode();
 			String resContent = getResponseContent(response.getEntity());
 			if (statusCode == HttpStatus.SC_OK) {
-				JSONObject jsonObj = JSONObject.fromObject(resContent);
-				Iterator<?> keyIter = jsonObj.keys();
-				while (keyIter.hasNext()) {
-					String jarName = (String)keyIter.next();
-					String uploadedTime = (String)jsonObj.get(jarName);
-					SparkJobJarInfo sparkJobJarInfo = new SparkJobJarInfo();
-					sparkJobJarInfo.setJarName(jarName);
-					sparkJobJarInfo.setUploadedTime(uploadedTime);
-					sparkJobJarInfos.add(sparkJobJarInfo);
-				}
+				sparkJobJarInfos = parse(response.getEntity(), SparkJobServerOperation.GET_JARS,
+					() -> SparkJobResponseParser.parseJars(resContent));
 			} else {
 				logError(statusCode, resContent, true);
 			}
 		} catch (Exception e) {
 			processException("Error occurs when trying to get information of jars:", e);
 		} finally {
-			close(httpClient);
+			close(response);
 		}
 		return sparkJobJarInfos;
 	}
@@ -209,27 +333,12 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 		if (jarData == null || appName == null || appName.trim().length() == 0) {
 			throw new SparkJobServerClientException("Invalid parameters.");
 		}
-		HttpPost postMethod = new HttpPost(jobServerUrl + "jars/" + appName);
-        postMethod.setConfig(getRequestConfig());
-		setAuthorization(postMethod);
-		final CloseableHttpClient httpClient = buildClient();
 		try {
-			ByteArrayEntity entity = new ByteArrayEntity(IOUtils.toByteArray(jarData));
-			postMethod.setEntity(entity);
-			entity.setContentType("application/java-archive");
-			HttpResponse response = httpClient.execute(postMethod);
-			int statusCode = response.getStatusLine().getStatusCode();
-			getResponseContent(response.getEntity());
-			if (statusCode == HttpStatus.SC_OK) {
-				return true;
-			}
-		} catch (Exception e) {
-			logger.error("Error occurs when uploading spark job jars:", e);
+			//Streams the jar with chunked encoding instead of loading it into the heap
+			return uploadSparkJobJar(new InputStreamEntity(jarData, -1, JAR_CONTENT_TYPE), appName);
 		} finally {
-			close(httpClient);
 			closeStream(jarData);
 		}
-		return false;
 	}
 	
 	/**
@@ -237,51 +346,105 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 	 */
 	public boolean uploadSparkJobJar(File jarFile, String appName)
 		    throws SparkJobServerClientException {
-		if (jarFile == null 
-		    || !jarFile.getName().endsWith(".jar") 
-		    || !jarFile.getName().endsWith(".jar.original") 
+		if (!isValidJarFile(jarFile) 
 		    || appName == null 
 		    || appName.trim().length() == 0) 
 		{
 			throw new SparkJobServerClientException("Invalid parameters.");
 		}
-		InputStream jarIn = null;
-		try {
-			jarIn = new FileInputStream(jarFile);
-		} catch (FileNotFoundException fnfe) {
+		if (!jarFile.isFile()) {
 			String errorMsg = "Error occurs when getting stream of the given jar file";
+			FileNotFoundException fnfe = new FileNotFoundException(jarFile.getAbsolutePath());
 			logger.error(errorMsg, fnfe);
 			throw new SparkJobServerClientException(errorMsg, fnfe);
 		}
-		return uploadSparkJobJar(jarIn, appName);
+		return uploadSparkJobJar(new FileChannelEntity(jarFile, JAR_CONTENT_TYPE), appName);
+	}
+
+	/**
+	 * Uploads the jar held by the given entity under the given application name.
+	 *
+	 * @param entity the entity streaming the content of the jar
+	 * @param appName the application name of the jar
+	 * @return true if the operation of uploading is successful, false otherwise
+	 */
+	private boolean uploadSparkJobJar(HttpEntity entity, String appName) {
+		HttpPost postMethod = new HttpPost(jobServerUrl + "jars/" + appName);
+		postMethod.setEntity(entity);
+		CloseableHttpResponse response = null;
+		try {
+			response = execute(postMethod, SparkJobServerOperation.UPLOAD_JAR, appName);
+			int statusCode = response.getStatusLine().getStatusCode();
+			getResponseContent(response.getEntity());
+			if (statusCode == HttpStatus.SC_OK) {
+				if (jarsCache != null) {
+					jarsCache.invalidate();
+				}
+				return true;
+			}
+		} catch (Exception e) {
+			logger.error("Error occurs when uploading spark job jars:", e);
+		} finally {
+			close(response);
+		}
+		return false;
+	}
+
+	/**
+	 * Judges the given file could be a spark job jar or not.
+	 *
+	 * @param jarFile the file to be checked
+	 * @return true if it is named as a jar, false otherwise
+	 */
+	static boolean isValidJarFile(File jarFile) {
+		return jarFile != null
+		    && (jarFile.getName().endsWith(".jar") || jarFile.getName().endsWith(".jar.original"));
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	public List<String> getContexts() throws SparkJobServerClientException {
+		List<String> contexts = contextsCache != null ? contextsCache.get() : loadContexts();
+		return new ArrayList<String>(contexts);
+	}
+
+	/**
+	 * Loads the contexts, the identical calls at the same time share one request.
+	 *
+	 * @return the shared list of the contexts
+	 * @throws SparkJobServerClientException error occurs when trying to get
+	 *         information of contexts
+	 */
+	private List<String> loadContexts() throws SparkJobServerClientException {
+		return singleFlight.execute("contexts", this::fetchContexts);
+	}
+
+	/**
+	 * Sends the request of contexts, which may be shared by the identical calls.
+	 *
+	 * @return a list containing the names of the contexts
+	 * @throws SparkJobServerClientException error occurs when trying to get
+	 *         information of contexts
+	 */
+	private List<String> fetchContexts() throws SparkJobServerClientException {
 		List<String> contexts = new ArrayList<String>();
-		final CloseableHttpClient httpClient = buildClient();
+		CloseableHttpResponse response = null;
 		try {
 			HttpGet getMethod = new HttpGet(jobServerUrl + "contexts");
-			getMethod.setConfig(getRequestConfig());
-            setAuthorization(getMethod);
-			HttpResponse response = httpClient.execute(getMethod);
+			response = execute(getMethod, SparkJobServerOperation.GET_CONTEXTS, null);
 			int statusCode = response.getStatusLine().getStatusCode();
 			String resContent = getResponseContent(response.getEntity());
 			if (statusCode == HttpStatus.SC_OK) {
-				JSONArray jsonArray = JSONArray.fromObject(resContent);
-				Iterator<?> iter = jsonArray.iterator();
-				while (iter.hasNext()) {
-					contexts.add((String)iter.next());
-				}
+				contexts = parse(response.getEntity(), SparkJobServerOperation.GET_CONTEXTS,
+					() -> SparkJobResponseParser.parseContexts(resContent));
 			} else {
 				logError(statusCode, resContent, true);
 			}
 		} catch (Exception e) {
 			processException("Error occurs when trying to get information of contexts:", e);
 		} finally {
-			close(httpClient);
+			close(response);
 		}
 		return contexts;
 	}
@@ -291,33 +454,26 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 	 */
 	public boolean createContext(String contextName, Map<String, String> params)
 		throws SparkJobServerClientException {
-		final CloseableHttpClient httpClient = buildClient();
+		CloseableHttpResponse response = null;
 		try {
 			//TODO add a check for the validation of contextName naming
 			if (!isNotEmpty(contextName)) {
 				throw new SparkJobServerClientException("The given contextName is null or empty.");
 			}
-			StringBuffer postUrlBuff = new StringBuffer(jobServerUrl);
-			postUrlBuff.append("contexts/").append(contextName);
-			if (params != null && !params.isEmpty()) {
-				postUrlBuff.append('?');
-				int num = params.size();
-				for (String key : params.keySet()) {
-					postUrlBuff.append(key).append('=').append(params.get(key));
-					num--;
-					if (num > 0) {
-						postUrlBuff.append('&');
-					}
-				}
-				
-			}
-			HttpPost postMethod = new HttpPost(postUrlBuff.toString());
-			postMethod.setConfig(getRequestConfig());
-            setAuthorization(postMethod);
-			HttpResponse response = httpClient.execute(postMethod);
+			HttpPost postMethod = new HttpPost(buildUrl(jobServerUrl + "contexts/" + contextName, params));
+			response = execute(postMethod, SparkJobServerOperation.CREATE_CONTEXT, contextName);
 			int statusCode = response.getStatusLine().getStatusCode();
 			String resContent = getResponseContent(response.getEntity());
 			if (statusCode == HttpStatus.SC_OK) {
+				if (contextsCache != null) {
+					contextsCache.update(contexts -> {
+						List<String> newContexts = new ArrayList<String>(contexts);
+						if (!newContexts.contains(contextName)) {
+							newContexts.add(contextName);
+						}
+						return newContexts;
+					});
+				}
 				return true;
 			} else {
 				logError(statusCode, resContent, false);
@@ -325,7 +481,7 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 		} catch (Exception e) {
 			processException("Error occurs when trying to create a context:", e);
 		} finally {
-			close(httpClient);
+			close(response);
 		}
 		return false;
 	}
@@ -335,7 +491,7 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 	 */
 	public boolean deleteContext(String contextName) 
 		throws SparkJobServerClientException {
-		final CloseableHttpClient httpClient = buildClient();
+		CloseableHttpResponse response = null;
 		try {
 			//TODO add a check for the validation of contextName naming
 			if (!isNotEmpty(contextName)) {
@@ -345,12 +501,17 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 			postUrlBuff.append("contexts/").append(contextName);
 			
 			HttpDelete deleteMethod = new HttpDelete(postUrlBuff.toString());
-			deleteMethod.setConfig(getRequestConfig());
-            setAuthorization(deleteMethod);
-			HttpResponse response = httpClient.execute(deleteMethod);
+			response = execute(deleteMethod, SparkJobServerOperation.DELETE_CONTEXT, contextName);
 			int statusCode = response.getStatusLine().getStatusCode();
 			String resContent = getResponseContent(response.getEntity());
 			if (statusCode == HttpStatus.SC_OK) {
+				if (contextsCache != null) {
+					contextsCache.update(contexts -> {
+						List<String> newContexts = new ArrayList<String>(contexts);
+						newContexts.remove(contextName);
+						return newContexts;
+					});
+				}
 				return true;
 			} else {
 				logError(statusCode, resContent, false);
@@ -358,7 +519,7 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 		} catch (Exception e) {
 			processException("Error occurs when trying to delete the target context:", e);
 		} finally {
-			close(httpClient);
+			close(response);
 		}
 		return false;
 	}
@@ -367,30 +528,40 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 	 * {@inheritDoc}
 	 */
 	public List<SparkJobInfo> getJobs() throws SparkJobServerClientException {
+		return getJobs(new HttpGet(jobServerUrl + "jobs"));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public List<SparkJobInfo> getJobs(int limit) throws SparkJobServerClientException {
+		checkLimit(limit);
+		return getJobs(new HttpGet(jobServerUrl + "jobs?limit=" + limit));
+	}
+
+	/**
+	 * Sends the given request of jobs, and decodes the listed jobs.
+	 *
+	 * @param getMethod the request of jobs
+	 * @return a list containing information of the jobs
+	 * @throws SparkJobServerClientException error occurs when trying to get
+	 *         information of jobs
+	 */
+	private List<SparkJobInfo> getJobs(HttpGet getMethod) throws SparkJobServerClientException {
 		List<SparkJobInfo> sparkJobInfos = new ArrayList<SparkJobInfo>();
-		final CloseableHttpClient httpClient = buildClient();
+		CloseableHttpResponse response = null;
 		try {
-			HttpGet getMethod = new HttpGet(jobServerUrl + "jobs");
-			getMethod.setConfig(getRequestConfig());
-            setAuthorization(getMethod);
-			HttpResponse response = httpClient.execute(getMethod);
+			response = execute(getMethod, SparkJobServerOperation.GET_JOBS, null);
 			int statusCode = response.getStatusLine().getStatusCode();
-			String resContent = getResponseContent(response.getEntity());
 			if (statusCode == HttpStatus.SC_OK) {
-				JSONArray jsonArray = JSONArray.fromObject(resContent);
-				Iterator<?> iter = jsonArray.iterator();
-				while (iter.hasNext()) {
-					JSONObject jsonObj = (JSONObject)iter.next();
-					SparkJobInfo jobInfo = createSparkJobInfo(jsonObj);
-					sparkJobInfos.add(jobInfo);
-				}
+				sparkJobInfos = decodeJobs(response.getEntity());
 			} else {
-				logError(statusCode, resContent, true);
+				logError(statusCode, getResponseContent(response.getEntity()), true);
 			}
 		} catch (Exception e) {
 			processException("Error occurs when trying to get information of jobs:", e);
 		} finally {
-			close(httpClient);
+			close(response);
 		}
 		return sparkJobInfos;
 	}
@@ -405,131 +576,244 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 					INFO_JOBS_STATUS.toString());
         }
         List<SparkJobInfo> sparkJobInfos = new ArrayList<SparkJobInfo>();
-        final CloseableHttpClient httpClient = buildClient();
+        CloseableHttpResponse response = null;
         try {
             HttpGet getMethod = new HttpGet(jobServerUrl + "jobs?status=" + jobStatus);
-            getMethod.setConfig(getRequestConfig());
-            setAuthorization(getMethod);
-            HttpResponse response = httpClient.execute(getMethod);
+            response = execute(getMethod, SparkJobServerOperation.GET_JOBS, null);
             int statusCode = response.getStatusLine().getStatusCode();
-            String resContent = getResponseContent(response.getEntity());
             if (statusCode == HttpStatus.SC_OK) {
-                JSONArray jsonArray = JSONArray.fromObject(resContent);
-                Iterator<?> iter = jsonArray.iterator();
-                while (iter.hasNext()) {
-                    JSONObject jsonObj = (JSONObject)iter.next();
-                    SparkJobInfo jobInfo = createSparkJobInfo(jsonObj);
-                    sparkJobInfos.add(jobInfo);
-                }
+                sparkJobInfos = decodeJobs(response.getEntity());
             } else {
-                logError(statusCode, resContent, true);
+                logError(statusCode, getResponseContent(response.getEntity()), true);
             }
         } catch (Exception e) {
             processException("Error occurs when trying to get information of jobs:", e);
         } finally {
-            close(httpClient);
+            close(response);
         }
         return sparkJobInfos;
     }
 
 	/**
-	 * Constructs an instance of <code>SparkJobInfo</code>
-	 * from the given spark job JSON.
+	 * {@inheritDoc}
+	 */
+	public Stream<SparkJobInfo> streamJobs() throws SparkJobServerClientException {
+		return openJobStream(new HttpGet(jobServerUrl + "jobs"));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Stream<SparkJobInfo> streamJobs(int limit) throws SparkJobServerClientException {
+		checkLimit(limit);
+		return openJobStream(new HttpGet(jobServerUrl + "jobs?limit=" + limit));
+	}
+
+	/**
+	 * Checks the limit of a listing of jobs.
 	 *
-	 * @param jsonObj spark job json returned by spark job server
+	 * @param limit the max number of the listed jobs
+	 * @throws SparkJobServerClientException if the limit is not positive
 	 */
-    private SparkJobInfo createSparkJobInfo(JSONObject jsonObj) {
-    	SparkJobInfo toReturn = new SparkJobInfo();
-		toReturn.setDuration(jsonObj.getString(SparkJobInfo.INFO_KEY_DURATION));
-		toReturn.setClassPath(jsonObj.getString(SparkJobInfo.INFO_KEY_CLASSPATH));
-		toReturn.setStartTime(jsonObj.getString(SparkJobInfo.INFO_KEY_START_TIME));
-		toReturn.setContext(jsonObj.getString(SparkJobBaseInfo.INFO_KEY_CONTEXT));
-		toReturn.setStatus(jsonObj.getString(SparkJobBaseInfo.INFO_KEY_STATUS));
-		toReturn.setJobId(jsonObj.getString(SparkJobBaseInfo.INFO_KEY_JOB_ID));
-		toReturn.setContextId(jsonObj.getString(SparkJobInfo.INFO_CONTEXT_ID));
-		setErrorDetails(SparkJobBaseInfo.INFO_KEY_RESULT, jsonObj, toReturn);
-		return toReturn;
+	private void checkLimit(int limit) throws SparkJobServerClientException {
+		if (limit <= 0) {
+			throw new SparkJobServerClientException("The given limit should be positive.");
+		}
 	}
-	
+
 	/**
 	 * {@inheritDoc}
 	 */
-	public SparkJobResult startJob(String data, Map<String, String> params) throws SparkJobServerClientException {
-		final CloseableHttpClient httpClient = buildClient();
+	public Stream<SparkJobInfo> streamJobsByStatus(String jobStatus) throws SparkJobServerClientException {
+		if (!INFO_JOBS_STATUS.contains(jobStatus.toUpperCase())) {
+			throw new SparkJobServerClientException("Invalid Job Status " +
+				jobStatus + ". Supported Job Status : " +
+				INFO_JOBS_STATUS.toString());
+		}
+		return openJobStream(new HttpGet(jobServerUrl + "jobs?status=" + jobStatus));
+	}
+
+	/**
+	 * Sends the given request of jobs, and gets a lazy stream decoding the jobs
+	 * from the live http response. The stream owns the response since then.
+	 *
+	 * @param getMethod the request of jobs
+	 * @return a lazy stream of the information of the jobs
+	 * @throws SparkJobServerClientException error occurs when trying to get
+	 *         information of jobs
+	 */
+	private Stream<SparkJobInfo> openJobStream(HttpGet getMethod) throws SparkJobServerClientException {
+		CloseableHttpResponse response = null;
 		try {
-			if (params == null || params.isEmpty()) {
-				throw new SparkJobServerClientException("The given params is null or empty.");
+			response = execute(getMethod, SparkJobServerOperation.GET_JOBS, null);
+			int statusCode = response.getStatusLine().getStatusCode();
+			if (statusCode != HttpStatus.SC_OK) {
+				logError(statusCode, getResponseContent(response.getEntity()), true);
 			}
-			if (params.containsKey(ISparkJobServerClientConstants.PARAM_APP_NAME) &&
-			    params.containsKey(ISparkJobServerClientConstants.PARAM_CLASS_PATH)) {
-				StringBuffer postUrlBuff = new StringBuffer(jobServerUrl);
-				postUrlBuff.append("jobs?");
-				int num = params.size();
-				for (String key : params.keySet()) {
-					postUrlBuff.append(key).append('=').append(params.get(key));
-					num--;
-					if (num > 0) {
-						postUrlBuff.append('&');
+			final SparkJobInfoDecoder decoder = new SparkJobInfoDecoder(response.getEntity().getContent());
+			final SparkJobServerClientEvent event = getEvent(response.getEntity());
+			final CloseableHttpResponse jobsResponse = response;
+			response = null;
+			Iterator<SparkJobInfo> iter = new Iterator<SparkJobInfo>() {
+				private SparkJobInfo nextJobInfo;
+
+				public boolean hasNext() {
+					if (nextJobInfo == null && !decoder.isFinished()) {
+						try {
+							nextJobInfo = decoder.next();
+							if (nextJobInfo == null) {
+								//Gives the connection back to the pool at once
+								decoder.close();
+							}
+						} catch (IOException ioe) {
+							if (event != null) {
+								event.failed(ioe);
+							}
+							throw new UncheckedIOException(ioe);
+						}
 					}
+					return nextJobInfo != null;
 				}
-				HttpPost postMethod = new HttpPost(postUrlBuff.toString());
-				postMethod.setConfig(getRequestConfig());
-                setAuthorization(postMethod);
-                if (data != null) {
-					StringEntity strEntity = new StringEntity(data);
-					strEntity.setContentEncoding("UTF-8");
-					strEntity.setContentType("text/plain");
-					postMethod.setEntity(strEntity);
-				}
-				
-				HttpResponse response = httpClient.execute(postMethod);
-				String resContent = getResponseContent(response.getEntity());
-				int statusCode = response.getStatusLine().getStatusCode();
-				if (statusCode == HttpStatus.SC_OK || statusCode == HttpStatus.SC_ACCEPTED) {
-					return parseResult(resContent);
-				} else {
-					logError(statusCode, resContent, true);
+
+				public SparkJobInfo next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					SparkJobInfo jobInfo = nextJobInfo;
+					nextJobInfo = null;
+					return jobInfo;
 				}
-			} else {
-				throw new SparkJobServerClientException("The given params should contains appName and classPath");
+			};
+			return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iter,
+				Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(() -> closeJobStream(decoder, jobsResponse));
+		} catch (Exception e) {
+			processException("Error occurs when trying to get information of jobs:", e);
+		} finally {
+			close(response);
+		}
+		return Stream.empty();
+	}
+
+	/**
+	 * Closes a lazy stream of jobs. When the jobs have not been read up, the
+	 * connection is dropped instead of reading the rest of the response.
+	 *
+	 * @param decoder the decoder of the jobs
+	 * @param response the response holding the jobs
+	 */
+	private void closeJobStream(SparkJobInfoDecoder decoder, CloseableHttpResponse response) {
+		close(response);
+		if (!decoder.isFinished()) {
+			try {
+				decoder.close();
+			} catch (IOException ioe) {
+				logger.debug("The dropped response of jobs is closed", ioe);
+			}
+		}
+	}
+
+	/**
+	 * Decodes the information of jobs straight from the content of the given
+	 * <code>HttpEntity</code> instance, without holding the whole content in memory.
+	 *
+	 * @param entity the <code>HttpEntity</code> instance holding the json array of jobs
+	 * @return a list containing information of the jobs
+	 * @throws Exception error occurs when reading or parsing the content
+	 */
+	private List<SparkJobInfo> decodeJobs(HttpEntity entity) throws Exception {
+		return parse(entity, SparkJobServerOperation.GET_JOBS, () -> {
+			SparkJobInfoDecoder decoder = new SparkJobInfoDecoder(entity.getContent());
+			try {
+				return decoder.decodeAll();
+			} finally {
+				decoder.close();
+			}
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public SparkJobResult startJob(String data, Map<String, String> params) throws SparkJobServerClientException {
+		StringEntity strEntity = null;
+		try {
+			if (data != null) {
+				strEntity = new StringEntity(data);
+				strEntity.setContentEncoding("UTF-8");
+				strEntity.setContentType("text/plain");
 			}
 		} catch (Exception e) {
 			processException("Error occurs when trying to start a new job:", e);
-		} finally {
-			close(httpClient);
 		}
-		return null;
+		return startJob(strEntity, params);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	public SparkJobResult startJob(InputStream dataFileStream, Map<String, String> params) throws SparkJobServerClientException {
-		BufferedReader br = null;
 		try {
-			br = new BufferedReader(new InputStreamReader(dataFileStream));
-			String data = br.lines().collect(Collectors.joining(System.lineSeparator()));
-			return startJob(data, params);
-		} catch (Exception e) {
-			processException("Error occurs when reading inputstream:", e);
+			//Sends the data with chunked encoding, without reading it into the heap
+			InputStreamEntity streamEntity = new InputStreamEntity(dataFileStream, -1, JOB_DATA_CONTENT_TYPE);
+			streamEntity.setContentEncoding("UTF-8");
+			return startJob(streamEntity, params);
 		} finally {
-			closeStream(br);
+			closeStream(dataFileStream);
 		}
-		return null;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	public SparkJobResult startJob(File dataFile, Map<String, String> params) throws SparkJobServerClientException {
-		InputStream dataFileStream = null;
+		if (dataFile == null || !dataFile.isFile()) {
+			throw new SparkJobServerClientException("Error occurs when reading file:" + dataFile);
+		}
+		FileChannelEntity fileEntity = new FileChannelEntity(dataFile, JOB_DATA_CONTENT_TYPE);
+		fileEntity.setContentEncoding("UTF-8");
+		return startJob(fileEntity, params);
+	}
+
+	/**
+	 * Starts a new job with the given request body and parameters.
+	 *
+	 * @param entity the <code>HttpEntity</code> instance holding the data processed by
+	 *        the target job, it can be null
+	 * @param params a non-null map containing parameters to start the job
+	 * @return the corresponding job status or job result
+	 * @throws SparkJobServerClientException the given parameters exist null or empty value,
+	 *        or I/O error occurs when trying to start the new job
+	 */
+	private SparkJobResult startJob(HttpEntity entity, Map<String, String> params) throws SparkJobServerClientException {
+		CloseableHttpResponse response = null;
 		try {
-			dataFileStream = new FileInputStream(dataFile);
-			return startJob(dataFileStream, params);
+			if (params == null || params.isEmpty()) {
+				throw new SparkJobServerClientException("The given params is null or empty.");
+			}
+			if (params.containsKey(ISparkJobServerClientConstants.PARAM_APP_NAME) &&
+			    params.containsKey(ISparkJobServerClientConstants.PARAM_CLASS_PATH)) {
+				HttpPost postMethod = new HttpPost(buildUrl(jobServerUrl + "jobs", params));
+				if (entity != null) {
+					postMethod.setEntity(entity);
+				}
+				
+				response = execute(postMethod, SparkJobServerOperation.START_JOB, params.get(ISparkJobServerClientConstants.PARAM_CONTEXT));
+				String resContent = getResponseContent(response.getEntity());
+				int statusCode = response.getStatusLine().getStatusCode();
+				if (statusCode == HttpStatus.SC_OK || statusCode == HttpStatus.SC_ACCEPTED) {
+					return parse(response.getEntity(), SparkJobServerOperation.START_JOB,
+						() -> SparkJobResponseParser.parseResult(resContent));
+				} else {
+					logError(statusCode, resContent, true);
+				}
+			} else {
+				throw new SparkJobServerClientException("The given params should contains appName and classPath");
+			}
 		} catch (Exception e) {
-			processException("Error occurs when reading file:", e);
+			processException("Error occurs when trying to start a new job:", e);
 		} finally {
-			closeStream(dataFileStream);
+			close(response);
 		}
 		return null;
 	}
@@ -537,21 +821,41 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 	/**
 	 * {@inheritDoc}
 	 */
-	public SparkJobResult getJobResult(String jobId) throws SparkJobServerClientException {
-		final CloseableHttpClient httpClient = buildClient();
-		try {
-			if (!isNotEmpty(jobId)) {
-				throw new SparkJobServerClientException("The given jobId is null or empty.");
+	public SparkJobResult getJobResult(final String jobId) throws SparkJobServerClientException {
+		if (!isNotEmpty(jobId)) {
+			throw new SparkJobServerClientException("The given jobId is null or empty.");
+		}
+		if (resultCache != null) {
+			SparkJobResult cachedResult = resultCache.get(jobId);
+			if (cachedResult != null) {
+				return cachedResult;
 			}
+		}
+		return singleFlight.execute("jobs/" + jobId, () -> fetchJobResult(jobId));
+	}
+
+	/**
+	 * Sends the request of the given job, which may be shared by the identical calls.
+	 *
+	 * @param jobId the id of the target job
+	 * @return the corresponding job status or job result
+	 * @throws SparkJobServerClientException error occurs when trying to get
+	 *         information of the target job
+	 */
+	private SparkJobResult fetchJobResult(String jobId) throws SparkJobServerClientException {
+		CloseableHttpResponse response = null;
+		try {
 			HttpGet getMethod = new HttpGet(jobServerUrl + "jobs/" + jobId);
-			getMethod.setConfig(getRequestConfig());
-            setAuthorization(getMethod);
-			HttpResponse response = httpClient.execute(getMethod);
+			response = execute(getMethod, SparkJobServerOperation.GET_JOB_RESULT, jobId);
 			String resContent = getResponseContent(response.getEntity());
 			int statusCode = response.getStatusLine().getStatusCode();
 			if (statusCode == HttpStatus.SC_OK) {
-				final SparkJobResult jobResult = parseResult(resContent);
+				final SparkJobResult jobResult = parse(response.getEntity(), SparkJobServerOperation.GET_JOB_RESULT,
+					() -> SparkJobResponseParser.parseResult(resContent));
 				jobResult.setJobId(jobId);
+				if (resultCache != null) {
+					resultCache.putIfCompleted(jobId, jobResult);
+				}
 				return jobResult;
 			} else if (statusCode == HttpStatus.SC_NOT_FOUND) {
 				return new SparkJobResult(resContent, jobId);
@@ -561,37 +865,46 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 		} catch (Exception e) {
 			processException("Error occurs when trying to get information of the target job:", e);
 		} finally {
-			close(httpClient);
+			close(response);
 		}
 		return null;
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 */
+	public SparkJobCacheStats getResultCacheStats() {
+		return resultCache == null ? null : resultCache.getStats();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	public SparkJobConfig getConfig(String jobId) throws SparkJobServerClientException {
-		final CloseableHttpClient httpClient = buildClient();
+		CloseableHttpResponse response = null;
 		try {
 			if (!isNotEmpty(jobId)) {
 				throw new SparkJobServerClientException("The given jobId is null or empty.");
 			}
+			if (configCache != null) {
+				SparkJobConfig cachedConfig = configCache.get(jobId);
+				if (cachedConfig != null) {
+					return cachedConfig;
+				}
+			}
 			HttpGet getMethod = new HttpGet(jobServerUrl + "jobs/" + jobId + "/config");
-			getMethod.setConfig(getRequestConfig());
-            setAuthorization(getMethod);
-			HttpResponse response = httpClient.execute(getMethod);
+			response = execute(getMethod, SparkJobServerOperation.GET_CONFIG, jobId);
 			String resContent = getResponseContent(response.getEntity());
-			JSONObject jsonObj = JSONObject.fromObject(resContent);
-			SparkJobConfig jobConfg = new SparkJobConfig();
-			Iterator<?> keyIter = jsonObj.keys();
-			while (keyIter.hasNext()) {
-				String key = (String)keyIter.next();
-				jobConfg.putConfigItem(key, jsonObj.get(key));
-			}
-			return jobConfg;
+			SparkJobConfig jobConfig = parse(response.getEntity(), SparkJobServerOperation.GET_CONFIG,
+				() -> SparkJobResponseParser.parseConfig(resContent));
+			if (configCache != null && response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
+				configCache.put(jobId, jobConfig, 1);
+			}
+			return jobConfig;
 		} catch (Exception e) {
 			processException("Error occurs when trying to get information of the target job config:", e);
 		} finally {
-			close(httpClient);
+			close(response);
 		}
 		return null;
 	}
@@ -600,16 +913,14 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
     public boolean killJob(String jobId) throws SparkJobServerClientException {
         /*ISparkJobServerClient client = SparkJobServerClientFactory.getInstance().createSparkJobServerClient(this.jobServerUrl);
          */
-        final CloseableHttpClient httpClient = buildClient();
+        CloseableHttpResponse response = null;
         try {
             if (!isNotEmpty(jobId)) {
                 throw new SparkJobServerClientException("The JobId cannot Null or empty.");
             }
 
             HttpDelete deleteMethod = new HttpDelete(this.jobServerUrl + "jobs/" + jobId);
-            deleteMethod.setConfig(getRequestConfig());
-            setAuthorization(deleteMethod);
-            HttpResponse response = httpClient.execute(deleteMethod);
+            response = execute(deleteMethod, SparkJobServerOperation.KILL_JOB, jobId);
             int statusCode = response.getStatusLine().getStatusCode();
             String resContent = getResponseContent(response.getEntity());
             if (statusCode == HttpStatus.SC_OK) {
@@ -620,7 +931,7 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
         } catch (Exception e) {
             processException("Error occured when trying to delete the target job:Message:"+e.getMessage(), e);
         } finally {
-           close(httpClient);
+           close(response);
         }
         return false;
     }
@@ -633,22 +944,46 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 	 * @return the corresponding response content
 	 */
 	protected String getResponseContent(HttpEntity entity) {
-		byte[] buff = new byte[BUFFER_SIZE];
-		StringBuffer contents = new StringBuffer();
-		InputStream in = null;
+		return readResponseContent(entity);
+	}
+
+	/**
+	 * Reads the contents of the http response from the given <code>HttpEntity</code>
+	 * instance.
+	 * 
+	 * @param entity the <code>HttpEntity</code> instance holding the http response content
+	 * @return the corresponding response content
+	 */
+	static String readResponseContent(HttpEntity entity) {
 		try {
-			in = entity.getContent();
-			BufferedInputStream bis = new BufferedInputStream(in);
-			int readBytes = 0;
-			while ((readBytes = bis.read(buff)) != -1) {
-				contents.append(new String(buff, 0, readBytes));
-			}
+			return SparkJobResponseReader.read(entity);
 		} catch (Exception e) {
 			logger.error("Error occurs when trying to reading response", e);
-		} finally {
-			closeStream(in);
 		}
-		return contents.toString().trim();
+		return "";
+	}
+
+	/**
+	 * Appends the given parameters as the query string of the given url.
+	 *
+	 * @param url the url without query string
+	 * @param params the parameters to be appended, it can be null or empty
+	 * @return the url with the query string
+	 */
+	static String buildUrl(String url, Map<String, String> params) {
+		StringBuffer urlBuff = new StringBuffer(url);
+		if (params != null && !params.isEmpty()) {
+			urlBuff.append('?');
+			int num = params.size();
+			for (String key : params.keySet()) {
+				urlBuff.append(key).append('=').append(params.get(key));
+				num--;
+				if (num > 0) {
+					urlBuff.append('&');
+				}
+			}
+		}
+		return urlBuff.toString();
 	}
 	
 	/**
@@ -719,136 +1054,388 @@ class SparkJobServerClientImpl implements ISparkJobServerClient {
 	}
 	
 	/**
-	 * Sets the information of the error details.
-	 * 
-	 * @param key the key contains the error details
-	 * @param parnetJsonObj the parent <code>JSONObject</code> instance
+	 * Builds the long-lived <code>CloseableHttpClient</code> shared by all the calls
+	 * of current client. Its connections are pooled and kept alive between calls, while
+	 * the expired and idle ones are evicted by a background thread. Its own retries are
+	 * disabled, since the calls are retried by the retry policy of current client.
+	 *
+	 * @param config the settings of the timeouts and the connection pool
+	 * @return the pooled http client
 	 */
-	private void setErrorDetails(String key, JSONObject parnetJsonObj, SparkJobBaseInfo jobErrorInfo) {
-		if (parnetJsonObj.containsKey(key)) {
-			JSONObject resultJson = parnetJsonObj.getJSONObject(key);
-			if (resultJson.containsKey(SparkJobInfo.INFO_KEY_RESULT_MESSAGE)) {
-				jobErrorInfo.setMessage(resultJson.getString(SparkJobInfo.INFO_KEY_RESULT_MESSAGE));
-			}
-			if (resultJson.containsKey(SparkJobInfo.INFO_KEY_RESULT_ERROR_CLASS)) {
-				jobErrorInfo.setErrorClass(resultJson.getString(SparkJobInfo.INFO_KEY_RESULT_ERROR_CLASS));
-			}
-			if (resultJson.containsKey(SparkJobInfo.INFO_KEY_RESULT_STACK)) {
-				if (resultJson.get(SparkJobInfo.INFO_KEY_RESULT_STACK) instanceof String) {
-					String[] stack = { resultJson.getString(SparkJobInfo.INFO_KEY_RESULT_STACK) };
-					jobErrorInfo.setStack(stack);
+	private CloseableHttpClient buildClient(SparkJobServerClientConfig config) {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(config.getMaxTotalConnections());
+		connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+		HttpClientBuilder builder = HttpClientBuilder.create();
+		if (!config.getEventListeners().isEmpty()) {
+			builder.setRequestExecutor(new SparkJobServerRequestExecutor());
+		}
+		return builder
+			.setConnectionManager(connectionManager)
+			.setDefaultRequestConfig(getRequestConfig())
+			.setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+			.evictExpiredConnections()
+			.evictIdleConnections(config.getIdleConnectionTimeOut(), TimeUnit.MILLISECONDS)
+			.disableAutomaticRetries()
+			.build();
+	}
 
-				} else {
-					JSONArray stackJsonArray = resultJson.getJSONArray(SparkJobInfo.INFO_KEY_RESULT_STACK);
-					String[] stack = new String[stackJsonArray.size()];
-					for (int i = 0; i < stackJsonArray.size(); i++) {
-						stack[i] = stackJsonArray.optString(i);
+	/**
+	 * Sends the given request through the pooled http client, and retries it
+	 * by the retry policy when it fails by a transient error.
+	 *
+	 * <p>
+	 * The returned response should be closed by the caller, which gives the
+	 * connection back to the pool once the response content has been consumed.
+	 *
+	 * @param request the request to be sent
+	 * @param operation the operation of the request, which decides the retries
+	 * @param target the id of the job or the name of the context or application
+	 *        of the request, it can be null
+	 * @return the corresponding http response
+	 * @throws IOException error occurs when sending the request
+	 * @throws SparkJobServerClientException current client has been closed
+	 */
+	private CloseableHttpResponse execute(HttpRequestBase request, SparkJobServerOperation operation, String target)
+		throws IOException, SparkJobServerClientException {
+		if (closed) {
+			throw new SparkJobServerClientException("The spark job server client has been closed.");
+		}
+		setAuthorization(request);
+		retryBudget.deposit();
+		SparkJobServerCircuitBreaker circuit = operation.isSubmission() ? submissionCircuit : controlCircuit;
+		SparkJobServerClientEvent event = eventListeners.length == 0 ? null : new SparkJobServerClientEvent(
+			eventListeners, operation.getMethodName(), target, request.getURI().getPath());
+		boolean metered = metrics != SparkJobServerNoopMetrics.INSTANCE || event != null;
+		if (metered && request instanceof HttpEntityEnclosingRequestBase) {
+			HttpEntityEnclosingRequestBase enclosingRequest = (HttpEntityEnclosingRequestBase)request;
+			if (enclosingRequest.getEntity() != null) {
+				enclosingRequest.setEntity(new SparkJobServerMeteredEntity(enclosingRequest.getEntity(),
+					metrics, operation.getMethodName(), null));
+			}
+		}
+		metrics.requestStarted(operation.getMethodName());
+		if (event != null) {
+			event.requestStarted();
+		}
+		long startTime = System.nanoTime();
+		int statusCode = -1;
+		try {
+			for (int attempt = 1; ; attempt++) {
+				CloseableHttpResponse response = null;
+				try {
+					response = send(request, operation, circuit, event);
+				} catch (IOException ioe) {
+					if (!retryPolicy.isRetryable(operation, ioe) || !prepareRetry(request, operation, circuit, attempt, ioe)) {
+						throw ioe;
 					}
-					jobErrorInfo.setStack(stack);
+					continue;
 				}
+				int attemptStatusCode = response.getStatusLine().getStatusCode();
+				if (!retryPolicy.isRetryable(operation, attemptStatusCode)
+					|| !prepareRetry(request, operation, circuit, attempt, response.getStatusLine())) {
+					statusCode = attemptStatusCode;
+					if (metered && response.getEntity() != null) {
+						response.setEntity(new SparkJobServerMeteredEntity(response.getEntity(),
+							metrics, operation.getMethodName(), event));
+					}
+					if (event != null && (statusCode < HttpStatus.SC_OK || statusCode >= HttpStatus.SC_MULTIPLE_CHOICES)) {
+						event.failed(new SparkJobServerClientException("Spark Job Server " + jobServerUrl
+							+ " response " + response.getStatusLine()));
+					}
+					return response;
+				}
+				close(response);
+			}
+		} catch (IOException | SparkJobServerClientException | RuntimeException e) {
+			if (event != null) {
+				event.failed(e);
 			}
+			throw e;
+		} finally {
+			metrics.requestFinished(operation.getMethodName(), statusCode, System.nanoTime() - startTime);
 		}
 	}
-	
+
 	/**
-	 * Generates an instance of <code>SparkJobResult</code> according to the given contents.
-	 * 
-	 * @param resContent the content of a http response
-	 * @return the corresponding <code>SparkJobResult</code> instance
-	 * @throws Exception error occurs when parsing the http response content
-	 */
-	private SparkJobResult parseResult(String resContent) throws Exception {
-		JSONObject jsonObj = JSONObject.fromObject(resContent);
-		SparkJobResult jobResult = new SparkJobResult(resContent);
-		boolean completed = false;
-		if(jsonObj.has(SparkJobBaseInfo.INFO_KEY_STATUS)) {
-			jobResult.setStatus(jsonObj.getString(SparkJobBaseInfo.INFO_KEY_STATUS));
-			if (SparkJobBaseInfo.COMPLETED.contains(jobResult.getStatus())) {
-				completed = true;
+	 * Parses a response content, and records the time spent in the metrics,
+	 * the event of the call and the flight recorder.
+	 *
+	 * @param entity the <code>HttpEntity</code> instance holding the response content
+	 * @param operation the operation of the response
+	 * @param parser the parsing of the response content
+	 * @return the parsed response content
+	 * @throws Exception error occurs when reading or parsing the content
+	 */
+	private <V> V parse(HttpEntity entity, SparkJobServerOperation operation, Parser<V> parser) throws Exception {
+		Object flightEvent = SparkJobServerFlightRecorder.beginParse();
+		long parseStartTime = System.nanoTime();
+		SparkJobServerClientEvent event = getEvent(entity);
+		try {
+			V value = parser.parse();
+			if (event != null) {
+				event.parseDone();
 			}
-		} else {
-			completed = true;
-		}
-		if (completed) {
-			//Job finished with results
-			jobResult.setResult(jsonObj.get(SparkJobBaseInfo.INFO_KEY_RESULT).toString());
-		} else if (containsAsynjobStatus(jsonObj)) {
-			//asynchronously started job only with status information
-			setAsynjobStatus(jobResult, jsonObj);
-		} else if (containsErrorInfo(jsonObj)) {
-			String errorKey = null;
-			if (jsonObj.containsKey(SparkJobBaseInfo.INFO_STATUS_ERROR)) {
-				errorKey = SparkJobBaseInfo.INFO_STATUS_ERROR;
-			} else if (jsonObj.containsKey(SparkJobBaseInfo.INFO_KEY_RESULT)) {
-				errorKey = SparkJobBaseInfo.INFO_KEY_RESULT;
-			} 
-			//Job failed with error details
-			setErrorDetails(errorKey, jsonObj, jobResult);
-		} else {
-			//Other unknown kind of value needs application to parse itself
-			Iterator<?> keyIter = jsonObj.keys();
-			while (keyIter.hasNext()) {
-				String key = (String)keyIter.next();
-				if (SparkJobInfo.INFO_KEY_STATUS.equals(key)) {
-					continue;
-				}
-				jobResult.putExtendAttribute(key, jsonObj.get(key));
+			return value;
+		} catch (Exception e) {
+			if (event != null) {
+				event.failed(e);
+			}
+			throw e;
+		} finally {
+			metrics.parsed(operation.getMethodName(), System.nanoTime() - parseStartTime);
+			if (flightEvent != null) {
+				SparkJobServerFlightRecorder.commitParse(flightEvent, operation.getMethodName(),
+					entity == null ? -1 : entity.getContentLength());
 			}
 		}
-		return jobResult;
 	}
-	
+
 	/**
-	 * Judges the given json object contains the error information of a  
-	 * spark job or not.
-	 * 
-	 * @param jsonObj the <code>JSONObject</code> instance to be checked.
-	 * @return true if it contains the error information, false otherwise
+	 * Gets the event of the call whose response holds the given entity.
+	 *
+	 * @return the event, or null if the call has no event
 	 */
-	private boolean containsErrorInfo(JSONObject jsonObj) {
-		return SparkJobBaseInfo.INFO_STATUS_ERROR.equals(jsonObj.getString(SparkJobBaseInfo.INFO_KEY_STATUS));
+	private static SparkJobServerClientEvent getEvent(HttpEntity entity) {
+		return entity instanceof SparkJobServerMeteredEntity ? ((SparkJobServerMeteredEntity)entity).getEvent() : null;
 	}
-	
-	
+
 	/**
-	 * Judges the given json object contains the status information of a asynchronous 
-	 * started spark job or not.
-	 * 
-	 * @param jsonObj the <code>JSONObject</code> instance to be checked.
-	 * @return true if it contains the status information of a asynchronous 
-	 *         started spark job, false otherwise
+	 * Sends the given request once through the concurrency limiter and the given
+	 * circuit breaker, and records its outcome in both of them. The reads of the
+	 * status of jobs are hedged when the hedge policy is set.
+	 *
+	 * @param request the request to be sent
+	 * @param operation the operation of the request
+	 * @param circuit the circuit breaker of the request, it can be null
+	 * @param event the event of the request, it can be null
+	 * @return the corresponding http response
+	 * @throws IOException error occurs when sending the request
+	 * @throws SparkJobServerClientException the concurrency limit rejects the
+	 *         request, or the circuit breaker is open
+	 */
+	private CloseableHttpResponse send(HttpRequestBase request, SparkJobServerOperation operation,
+		SparkJobServerCircuitBreaker circuit, SparkJobServerClientEvent event)
+		throws IOException, SparkJobServerClientException {
+		if (limiter != null) {
+			limiter.acquire();
+		}
+		long startTime = -1;
+		boolean failed = true;
+		try {
+			if (circuit != null) {
+				circuit.acquire();
+			}
+			startTime = System.nanoTime();
+			CloseableHttpResponse response = null;
+			if (hedger != null && (operation == SparkJobServerOperation.GET_JOB_RESULT
+				|| operation == SparkJobServerOperation.GET_JOBS)) {
+				response = hedger.execute(request, hedgedRequest -> hedgedRequest == request
+					? send(hedgedRequest, operation, event) : sendHedge(hedgedRequest, operation, event));
+			} else {
+				response = send(request, operation, event);
+			}
+			failed = response.getStatusLine().getStatusCode() >= HttpStatus.SC_INTERNAL_SERVER_ERROR;
+			return response;
+		} finally {
+			if (startTime >= 0 && circuit != null) {
+				circuit.record(failed);
+			}
+			if (limiter != null) {
+				limiter.release(operation, startTime < 0 ? -1
+					: TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), failed);
+			}
+		}
+	}
+
+	/**
+	 * Sends the hedge of a slow request, which reports its phases by an event of its own.
 	 */
-	private boolean containsAsynjobStatus(JSONObject jsonObj) {
-		return jsonObj != null && jsonObj.containsKey(SparkJobBaseInfo.INFO_KEY_STATUS)
-		    && SparkJobBaseInfo.INFO_STATUS_STARTED.equals(jsonObj.getString(SparkJobBaseInfo.INFO_KEY_STATUS))
-		    && jsonObj.containsKey(SparkJobBaseInfo.INFO_KEY_RESULT);
+	private CloseableHttpResponse sendHedge(HttpRequestBase hedge, SparkJobServerOperation operation,
+		SparkJobServerClientEvent event) throws IOException {
+		SparkJobServerClientEvent hedgeEvent = event == null ? null : event.newHedge();
+		if (hedgeEvent != null) {
+			hedgeEvent.requestStarted();
+		}
+		try {
+			return send(hedge, operation, hedgeEvent);
+		} catch (IOException e) {
+			//An aborted hedge has lost to the first request, it has not failed
+			if (hedgeEvent != null && !hedge.isAborted()) {
+				hedgeEvent.failed(e);
+			}
+			throw e;
+		}
 	}
-	
+
 	/**
-	 * Sets the status information of a asynchronous started spark job to the given
-	 * job result instance.
-	 * 
-	 * @param jobResult the <code>SparkJobResult</code> instance to be set the status information
-	 * @param jsonObj the <code>JSONObject</code> instance holds the status information
+	 * {@inheritDoc}
 	 */
-	private void setAsynjobStatus(SparkJobResult jobResult, JSONObject jsonObj) {
-		JSONObject resultJsonObj = jsonObj.getJSONObject(SparkJobBaseInfo.INFO_KEY_RESULT);
-		jobResult.setContext(resultJsonObj.getString(SparkJobBaseInfo.INFO_KEY_CONTEXT));
-		jobResult.setJobId(resultJsonObj.getString(SparkJobBaseInfo.INFO_KEY_JOB_ID));
+	public long getCoalescedCount() {
+		return singleFlight.getCoalescedCount();
 	}
 
-	private CloseableHttpClient buildClient() {
-		return HttpClientBuilder.create().build();
+	/**
+	 * {@inheritDoc}
+	 */
+	public SparkJobServerConcurrencyStats getConcurrencyStats() {
+		return limiter == null ? null : limiter.getStats();
 	}
 
-	private void close(final CloseableHttpClient client) {
+	/**
+	 * Sends the given request once, and records its outcome in the health of the server if it is tracked.
+	 *
+	 * @param request the request to be sent
+	 * @param operation the operation of the request
+	 * @param event the event of the request, it can be null
+	 * @return the corresponding http response
+	 * @throws IOException error occurs when sending the request
+	 */
+	private CloseableHttpResponse send(HttpRequestBase request, SparkJobServerOperation operation,
+		SparkJobServerClientEvent event) throws IOException {
+		Object flightEvent = SparkJobServerFlightRecorder.beginCall();
+		long startTime = System.nanoTime();
+		int statusCode = -1;
+		long responseBytes = -1;
+		boolean failed = true;
 		try {
-			client.close();
+			CloseableHttpResponse response = null;
+			if (event == null) {
+				response = httpClient.execute(request);
+			} else {
+				HttpClientContext context = HttpClientContext.create();
+				context.setAttribute(SparkJobServerRequestExecutor.EVENT_ATTRIBUTE, event);
+				response = httpClient.execute(request, context);
+			}
+			statusCode = response.getStatusLine().getStatusCode();
+			if (response.getEntity() != null) {
+				responseBytes = response.getEntity().getContentLength();
+			}
+			failed = statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR;
+			return response;
+		} finally {
+			//An aborted request has lost to its hedge, which tells nothing of the server
+			if (health != null && !request.isAborted()) {
+				health.record(operation, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), failed);
+			}
+			if (flightEvent != null) {
+				SparkJobServerFlightRecorder.commitCall(flightEvent, operation.getMethodName(),
+					request.getURI().getPath(), statusCode, responseBytes);
+			}
+		}
+	}
+
+	/**
+	 * Gets the state of the circuit breaker of the given class of calls.
+	 *
+	 * @param submission true for the job and context submissions, false for the other calls
+	 * @return the state of the circuit, or null if the circuit breakers are disabled
+	 */
+	SparkJobServerCircuitState getCircuitState(boolean submission) {
+		SparkJobServerCircuitBreaker circuit = submission ? submissionCircuit : controlCircuit;
+		return circuit == null ? null : circuit.getState();
+	}
+
+	/**
+	 * Waits for the backoff before retrying the given failed request, when the
+	 * attempts, the budget and the circuit breaker allow it.
+	 *
+	 * @param request the failed request
+	 * @param operation the operation of the request
+	 * @param circuit the circuit breaker of the request, it can be null
+	 * @param attempt the number of the failed attempt, starting from 1
+	 * @param cause the error or the status line failing the attempt
+	 * @return true if the request should be sent again, false otherwise
+	 */
+	private boolean prepareRetry(HttpRequestBase request, SparkJobServerOperation operation,
+		SparkJobServerCircuitBreaker circuit, int attempt, Object cause) {
+		if (attempt >= retryPolicy.getMaxAttempts() || closed
+			|| (circuit != null && circuit.getState() == SparkJobServerCircuitState.OPEN)
+			|| !retryBudget.tryWithdraw()) {
+			return false;
+		}
+		long backoff = retryPolicy.backoff(attempt);
+		logger.warn("Attempt " + attempt + " of " + operation + " to " + jobServerUrl + " failed by "
+			+ cause + ", retrying in " + backoff + " ms");
+		try {
+			Thread.sleep(backoff);
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		request.reset();
+		return true;
+	}
+
+	/**
+	 * Gets the health of the spark job server, which is shared by the clients
+	 * of the same url and health settings.
+	 *
+	 * @return the shared health of the spark job server, or null if it is not tracked
+	 */
+	SparkJobServerHealth getHealth() {
+		return health;
+	}
+
+	/**
+	 * Closes the given http response, which releases the connection holding it.
+	 *
+	 * @param response the response to be closed, it can be null
+	 */
+	private void close(final CloseableHttpResponse response) {
+		if (response == null) {
+			return;
+		}
+		try {
+			response.close();
+		} catch (final IOException e) {
+			logger.error("could not close response" , e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() {
+		if (closed || shared) {
+			return;
+		}
+		closed = true;
+		if (health != null) {
+			SparkJobServerHealthRegistry.release(health);
+		}
+		if (contextsCache != null) {
+			contextsCache.close();
+			jarsCache.close();
+		}
+		try {
+			httpClient.close();
 		} catch (final IOException e) {
 			logger.error("could not close client" , e);
 		}
 	}
 
+	/**
+	 * Marks current client as shared by the callers of <code>SparkJobServerClientFactory</code>,
+	 * which keeps any of them from closing it under the others.
+	 *
+	 * @return current client
+	 */
+	SparkJobServerClientImpl share() {
+		shared = true;
+		return this;
+	}
+
+	/**
+	 * Judges current client has been closed or not.
+	 *
+	 * @return true if it has been closed, false otherwise
+	 */
+	boolean isClosed() {
+		return closed;
+	}
+
     /**
      * Gets the Basic Auth Header Value for Spark Job Server
      * The Value is 'Basic &lt;username&gt;:&lt;password&gt; with base64 encoding
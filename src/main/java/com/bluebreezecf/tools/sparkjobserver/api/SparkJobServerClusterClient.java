@@ -0,0 +1,641 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.log4j.Logger;
+
+/**
+ * An implementation of <code>ISparkJobServerClient</code> backed by several
+ * Spark Job Servers.
+ *
+ * <p>
+ * The new jobs and contexts are spread across the servers by an
+ * <code>ISparkJobServerLoadBalancer</code>, unless a job is started in a
+ * known context, which runs it on the server owning that context. The server
+ * running a job or owning a context is remembered, so the following calls
+ * for them are sent to the same server. The ones never seen by current client
+ * are looked up on all the servers. The jars are uploaded to all the servers,
+ * and the listings of contexts and jobs are merged from all the healthy ones.
+ * A server failing a listing or a lookup is logged and skipped, and the call
+ * fails only if every server failed it.
+ *
+ * <p>
+ * The servers are probed in the background, and an ejected server receives
+ * no new jobs or contexts until it is healthy again, see
+ * <code>SparkJobServerHealthState</code>.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+class SparkJobServerClusterClient implements ISparkJobServerClient {
+	private static Logger logger = Logger.getLogger(SparkJobServerClusterClient.class);
+	/**
+	 * The max number of job ids whose servers are remembered.
+	 */
+	static final int MAX_TRACKED_JOBS = 100000;
+	/**
+	 * The max number of context names whose servers are remembered.
+	 */
+	static final int MAX_TRACKED_CONTEXTS = 10000;
+	private final List<SparkJobServerEndpoint> endpoints;
+	private final ISparkJobServerLoadBalancer loadBalancer;
+	private final SparkJobLruCache<String, SparkJobServerEndpoint> jobOwners
+		= new SparkJobLruCache<String, SparkJobServerEndpoint>(MAX_TRACKED_JOBS, Long.MAX_VALUE);
+	private final SparkJobLruCache<String, SparkJobServerEndpoint> contextOwners
+		= new SparkJobLruCache<String, SparkJobServerEndpoint>(MAX_TRACKED_CONTEXTS, Long.MAX_VALUE);
+	private volatile boolean closed;
+
+	/**
+	 * A call sent to one of the servers.
+	 */
+	private interface Call<T> {
+		T call(ISparkJobServerClient client) throws SparkJobServerClientException;
+	}
+
+	/**
+	 * Constructs an instance of <code>SparkJobServerClusterClient</code>.
+	 *
+	 * @param endpoints the non-empty list of the servers, which are owned
+	 *        and closed by current client since then
+	 * @param loadBalancer the strategy choosing the servers of the new jobs and contexts
+	 */
+	SparkJobServerClusterClient(List<SparkJobServerEndpoint> endpoints, ISparkJobServerLoadBalancer loadBalancer) {
+		this.endpoints = Collections.unmodifiableList(new ArrayList<SparkJobServerEndpoint>(endpoints));
+		this.loadBalancer = loadBalancer;
+		for (SparkJobServerEndpoint endpoint : this.endpoints) {
+			SparkJobServerHealthRegistry.startProbing(endpoint.getHealth());
+		}
+	}
+
+	/**
+	 * Gets the servers behind current client.
+	 *
+	 * @return an unmodifiable list of the endpoints
+	 */
+	List<SparkJobServerEndpoint> getEndpoints() {
+		return endpoints;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public List<SparkJobJarInfo> getJars() throws SparkJobServerClientException {
+		//The jars are uploaded to all the servers
+		return call(choose(), client -> client.getJars());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The jar is uploaded to all the servers, the data is saved into a
+	 * temporary file at first so it can be sent more than once.
+	 */
+	public boolean uploadSparkJobJar(InputStream jarData, String appName) throws SparkJobServerClientException {
+		if (jarData == null || appName == null || appName.trim().length() == 0) {
+			throw new SparkJobServerClientException("Invalid parameters.");
+		}
+		Path jarFile = null;
+		try {
+			jarFile = Files.createTempFile("spark-job-server-", ".jar");
+			Files.copy(jarData, jarFile, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			deleteQuietly(jarFile);
+			throw new SparkJobServerClientException("Error occurs when trying to save the jar data:", e);
+		} finally {
+			closeQuietly(jarData);
+		}
+		try {
+			return uploadSparkJobJar(jarFile.toFile(), appName);
+		} finally {
+			deleteQuietly(jarFile);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The jar is uploaded to all the servers one by one.
+	 */
+	public boolean uploadSparkJobJar(final File jarFile, final String appName) throws SparkJobServerClientException {
+		boolean uploaded = true;
+		for (SparkJobServerEndpoint endpoint : endpoints) {
+			if (!call(endpoint, client -> client.uploadSparkJobJar(jarFile, appName))) {
+				logger.error("Failed to upload the jar " + appName + " to " + endpoint.getUrl());
+				uploaded = false;
+			}
+		}
+		return uploaded;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public List<String> getContexts() throws SparkJobServerClientException {
+		Set<String> contexts = new LinkedHashSet<String>();
+		for (Map.Entry<SparkJobServerEndpoint, List<String>> answer : callAll(client -> client.getContexts()).entrySet()) {
+			for (String context : answer.getValue()) {
+				contextOwners.put(context, answer.getKey(), 1);
+				contexts.add(context);
+			}
+		}
+		return new ArrayList<String>(contexts);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean createContext(final String contextName, final Map<String, String> params)
+		throws SparkJobServerClientException {
+		SparkJobServerEndpoint endpoint = choose();
+		boolean created = call(endpoint, client -> client.createContext(contextName, params));
+		if (created) {
+			contextOwners.put(contextName, endpoint, 1);
+		}
+		return created;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean deleteContext(final String contextName) throws SparkJobServerClientException {
+		SparkJobServerEndpoint owner = contextName == null ? null : contextOwners.get(contextName);
+		List<SparkJobServerEndpoint> candidates = owner != null
+			? Collections.singletonList(owner) : getEndpointsByHealth();
+		SparkJobServerClientException failure = null;
+		boolean answered = false;
+		for (SparkJobServerEndpoint endpoint : candidates) {
+			try {
+				if (call(endpoint, client -> client.deleteContext(contextName))) {
+					contextOwners.remove(contextName);
+					return true;
+				}
+				answered = true;
+			} catch (SparkJobServerClientException e) {
+				failure = skip(endpoint, e, failure);
+			}
+		}
+		if (!answered && failure != null) {
+			throw failure;
+		}
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public List<SparkJobInfo> getJobs() throws SparkJobServerClientException {
+		return getJobs(client -> client.getJobs());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The limit applies to each server.
+	 */
+	public List<SparkJobInfo> getJobs(final int limit) throws SparkJobServerClientException {
+		return getJobs(client -> client.getJobs(limit));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public List<SparkJobInfo> getJobsByStatus(final String jobStatus) throws SparkJobServerClientException {
+		return getJobs(client -> client.getJobsByStatus(jobStatus));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The jobs of the servers are listed one server after another.
+	 */
+	public Stream<SparkJobInfo> streamJobs() throws SparkJobServerClientException {
+		return streamJobs(client -> client.streamJobs());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The jobs of the servers are listed one server after another, and the
+	 * limit applies to each server.
+	 */
+	public Stream<SparkJobInfo> streamJobs(final int limit) throws SparkJobServerClientException {
+		return streamJobs(client -> client.streamJobs(limit));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The jobs of the servers are listed one server after another.
+	 */
+	public Stream<SparkJobInfo> streamJobsByStatus(final String jobStatus) throws SparkJobServerClientException {
+		return streamJobs(client -> client.streamJobsByStatus(jobStatus));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public SparkJobResult startJob(final String data, final Map<String, String> params)
+		throws SparkJobServerClientException {
+		return startJob(params, client -> client.startJob(data, params));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public SparkJobResult startJob(final File dataFile, final Map<String, String> params)
+		throws SparkJobServerClientException {
+		return startJob(params, client -> client.startJob(dataFile, params));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public SparkJobResult startJob(final InputStream dataFileStream, final Map<String, String> params)
+		throws SparkJobServerClientException {
+		return startJob(params, client -> client.startJob(dataFileStream, params));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public SparkJobResult getJobResult(final String jobId) throws SparkJobServerClientException {
+		SparkJobServerEndpoint owner = jobId == null ? null : jobOwners.get(jobId);
+		if (owner != null) {
+			return call(owner, client -> client.getJobResult(jobId));
+		}
+		SparkJobResult missingResult = null;
+		SparkJobServerClientException failure = null;
+		boolean answered = false;
+		for (SparkJobServerEndpoint endpoint : getEndpointsByHealth()) {
+			SparkJobResult jobResult;
+			try {
+				jobResult = call(endpoint, client -> client.getJobResult(jobId));
+			} catch (SparkJobServerClientException e) {
+				failure = skip(endpoint, e, failure);
+				continue;
+			}
+			if (!isMissing(jobResult)) {
+				jobOwners.put(jobId, endpoint, 1);
+				return jobResult;
+			}
+			if (!answered) {
+				missingResult = jobResult;
+				answered = true;
+			}
+		}
+		if (!answered && failure != null) {
+			throw failure;
+		}
+		return missingResult;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public SparkJobConfig getConfig(final String jobId) throws SparkJobServerClientException {
+		return call(findJobOwner(jobId), client -> client.getConfig(jobId));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean killJob(final String jobId) throws SparkJobServerClientException {
+		return call(findJobOwner(jobId), client -> client.killJob(jobId));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The statistics are summed up from the result caches of all the servers.
+	 */
+	public SparkJobCacheStats getResultCacheStats() {
+		SparkJobCacheStats totalStats = null;
+		for (SparkJobServerEndpoint endpoint : endpoints) {
+			SparkJobCacheStats stats = endpoint.getClient().getResultCacheStats();
+			if (stats == null) {
+				continue;
+			}
+			totalStats = totalStats == null ? stats : new SparkJobCacheStats(
+				totalStats.getHitCount() + stats.getHitCount(),
+				totalStats.getMissCount() + stats.getMissCount(),
+				totalStats.getEvictionCount() + stats.getEvictionCount(),
+				totalStats.getEntryCount() + stats.getEntryCount(),
+				totalStats.getWeight() + stats.getWeight());
+		}
+		return totalStats;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The counts are summed up from the clients of all the servers.
+	 */
+	public long getCoalescedCount() {
+		long coalescedCount = 0;
+		for (SparkJobServerEndpoint endpoint : endpoints) {
+			coalescedCount += endpoint.getClient().getCoalescedCount();
+		}
+		return coalescedCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * Each server has a concurrency limit of its own, and the statistics are
+	 * summed up from all the servers.
+	 */
+	public SparkJobServerConcurrencyStats getConcurrencyStats() {
+		SparkJobServerConcurrencyStats totalStats = null;
+		for (SparkJobServerEndpoint endpoint : endpoints) {
+			SparkJobServerConcurrencyStats stats = endpoint.getClient().getConcurrencyStats();
+			if (stats == null) {
+				continue;
+			}
+			totalStats = totalStats == null ? stats : new SparkJobServerConcurrencyStats(
+				totalStats.getLimit() + stats.getLimit(),
+				totalStats.getInFlight() + stats.getInFlight(),
+				totalStats.getQueueDepth() + stats.getQueueDepth(),
+				totalStats.getRejectedCount() + stats.getRejectedCount());
+		}
+		return totalStats;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		for (SparkJobServerEndpoint endpoint : endpoints) {
+			SparkJobServerHealthRegistry.stopProbing(endpoint.getHealth());
+			endpoint.getClient().close();
+		}
+	}
+
+	/**
+	 * Judges current client has been closed or not.
+	 *
+	 * @return true if it has been closed, false otherwise
+	 */
+	boolean isClosed() {
+		return closed;
+	}
+
+	private List<SparkJobInfo> getJobs(Call<List<SparkJobInfo>> listCall) throws SparkJobServerClientException {
+		List<SparkJobInfo> jobs = new ArrayList<SparkJobInfo>();
+		for (Map.Entry<SparkJobServerEndpoint, List<SparkJobInfo>> answer : callAll(listCall).entrySet()) {
+			for (SparkJobInfo job : answer.getValue()) {
+				rememberJob(job.getJobId(), answer.getKey());
+				jobs.add(job);
+			}
+		}
+		return jobs;
+	}
+
+	private Stream<SparkJobInfo> streamJobs(Call<Stream<SparkJobInfo>> streamCall)
+		throws SparkJobServerClientException {
+		Stream<SparkJobInfo> jobs = Stream.empty();
+		for (Map.Entry<SparkJobServerEndpoint, Stream<SparkJobInfo>> answer : callAll(streamCall).entrySet()) {
+			final SparkJobServerEndpoint endpoint = answer.getKey();
+			//The concatenated stream closes both of its parts
+			jobs = Stream.concat(jobs, answer.getValue().peek(job -> rememberJob(job.getJobId(), endpoint)));
+		}
+		return jobs;
+	}
+
+	/**
+	 * Starts a new job on the server owning the context given by the parameters,
+	 * or on the one chosen by the load balancer.
+	 */
+	private SparkJobResult startJob(Map<String, String> params, Call<SparkJobResult> startCall)
+		throws SparkJobServerClientException {
+		SparkJobServerEndpoint endpoint = null;
+		String contextName = params == null ? null : params.get(ISparkJobServerClientConstants.PARAM_CONTEXT);
+		if (contextName != null) {
+			endpoint = findContextOwner(contextName);
+		}
+		if (endpoint == null) {
+			endpoint = choose();
+		}
+		SparkJobResult jobResult = call(endpoint, startCall);
+		if (jobResult != null) {
+			rememberJob(jobResult.getJobId(), endpoint);
+		}
+		return jobResult;
+	}
+
+	/**
+	 * Finds the server owning the given context, the contexts of all the servers
+	 * are listed if it is unknown yet.
+	 *
+	 * @return the owner of the context, or null if no server owns it
+	 */
+	private SparkJobServerEndpoint findContextOwner(String contextName) throws SparkJobServerClientException {
+		SparkJobServerEndpoint owner = contextOwners.get(contextName);
+		if (owner == null) {
+			getContexts();
+			owner = contextOwners.get(contextName);
+		}
+		return owner;
+	}
+
+	/**
+	 * Finds the server running the given job, the job is looked up on all the
+	 * servers if it is unknown yet.
+	 *
+	 * @return the owner of the job, or the first server if no server knows it,
+	 *         which reports the missing job as a single server does
+	 */
+	private SparkJobServerEndpoint findJobOwner(String jobId) throws SparkJobServerClientException {
+		if (jobId == null || jobId.isEmpty()) {
+			return endpoints.get(0);
+		}
+		if (jobOwners.get(jobId) == null) {
+			getJobResult(jobId);
+		}
+		SparkJobServerEndpoint owner = jobOwners.get(jobId);
+		return owner != null ? owner : endpoints.get(0);
+	}
+
+	private void rememberJob(String jobId, SparkJobServerEndpoint endpoint) {
+		if (jobId != null && !jobId.isEmpty()) {
+			jobOwners.put(jobId, endpoint, 1);
+		}
+	}
+
+	/**
+	 * Chooses the server of a new job or context among the healthy ones,
+	 * or among all of them if none is healthy.
+	 */
+	private SparkJobServerEndpoint choose() {
+		List<SparkJobServerEndpoint> candidates = endpoints;
+		for (int i = 0; i < endpoints.size(); i++) {
+			if (endpoints.get(i).getHealthState() != SparkJobServerHealthState.HEALTHY) {
+				candidates = getHealthyEndpoints();
+				break;
+			}
+		}
+		return loadBalancer.choose(candidates.isEmpty() ? endpoints : candidates);
+	}
+
+	/**
+	 * Gets the healthy servers followed by the other ones, the order a job or
+	 * a context never seen is looked up in.
+	 */
+	private List<SparkJobServerEndpoint> getEndpointsByHealth() {
+		List<SparkJobServerEndpoint> sortedEndpoints = getHealthyEndpoints();
+		for (SparkJobServerEndpoint endpoint : endpoints) {
+			if (endpoint.getHealthState() != SparkJobServerHealthState.HEALTHY && !sortedEndpoints.contains(endpoint)) {
+				sortedEndpoints.add(endpoint);
+			}
+		}
+		return sortedEndpoints;
+	}
+
+	private List<SparkJobServerEndpoint> getHealthyEndpoints() {
+		List<SparkJobServerEndpoint> healthyEndpoints = new ArrayList<SparkJobServerEndpoint>(endpoints.size());
+		for (SparkJobServerEndpoint endpoint : endpoints) {
+			if (endpoint.getHealthState() == SparkJobServerHealthState.HEALTHY) {
+				healthyEndpoints.add(endpoint);
+			}
+		}
+		return healthyEndpoints;
+	}
+
+	/**
+	 * Sends the given call to the given server, and records its outstanding calls.
+	 */
+	private <T> T call(SparkJobServerEndpoint endpoint, Call<T> call) throws SparkJobServerClientException {
+		if (closed) {
+			throw new SparkJobServerClientException("The spark job server client has been closed.");
+		}
+		endpoint.callStarted();
+		try {
+			return call.call(endpoint.getClient());
+		} finally {
+			endpoint.callFinished();
+		}
+	}
+
+	/**
+	 * Sends the given call to the healthy servers, or to all of them if none is
+	 * healthy, one after another. A server failing the call is skipped, so the
+	 * others still answer it.
+	 *
+	 * @return the answers by server, in the order of the servers
+	 * @throws SparkJobServerClientException the failure of the first server,
+	 *         if every server failed the call
+	 */
+	private <T> Map<SparkJobServerEndpoint, T> callAll(Call<T> call) throws SparkJobServerClientException {
+		if (closed) {
+			throw new SparkJobServerClientException("The spark job server client has been closed.");
+		}
+		List<SparkJobServerEndpoint> candidates = getHealthyEndpoints();
+		Map<SparkJobServerEndpoint, T> answers = new LinkedHashMap<SparkJobServerEndpoint, T>();
+		SparkJobServerClientException failure = null;
+		for (SparkJobServerEndpoint endpoint : candidates.isEmpty() ? endpoints : candidates) {
+			try {
+				answers.put(endpoint, call(endpoint, call));
+			} catch (SparkJobServerClientException e) {
+				failure = skip(endpoint, e, failure);
+			} catch (RuntimeException e) {
+				//The streams opened by the servers already answered are not returned
+				for (T answer : answers.values()) {
+					if (answer instanceof Stream) {
+						((Stream<?>)answer).close();
+					}
+				}
+				throw e;
+			}
+		}
+		if (answers.isEmpty()) {
+			throw failure;
+		}
+		return answers;
+	}
+
+	/**
+	 * Logs the given failure of a server skipped by a call sent to several ones.
+	 *
+	 * @return the first failure of the call, with the later ones suppressed by it
+	 */
+	private static SparkJobServerClientException skip(SparkJobServerEndpoint endpoint,
+		SparkJobServerClientException e, SparkJobServerClientException failure) {
+		logger.warn("Skipped the spark job server " + endpoint.getUrl() + ": " + e.getMessage());
+		if (failure == null) {
+			return e;
+		}
+		failure.addSuppressed(e);
+		return failure;
+	}
+
+	/**
+	 * Judges the given result tells the job does not exist on the queried server.
+	 */
+	private static boolean isMissing(SparkJobResult jobResult) {
+		//A response of 404 Not Found is not parsed, so it has neither status nor result
+		return jobResult == null || jobResult.jobNotExists()
+			|| (jobResult.getStatus() == null && jobResult.getResult() == null);
+	}
+
+	private static void closeQuietly(InputStream stream) {
+		try {
+			stream.close();
+		} catch (IOException e) {
+			logger.error("Error occurs when closing the stream:", e);
+		}
+	}
+
+	private static void deleteQuietly(Path file) {
+		if (file == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			logger.error("Error occurs when deleting the temporary file " + file, e);
+		}
+	}
+}
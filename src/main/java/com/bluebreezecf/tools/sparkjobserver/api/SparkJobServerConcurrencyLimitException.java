@@ -0,0 +1,41 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * The exception indicates a call has been rejected without being sent,
+ * since the client has reached its concurrency limit and its queue is full,
+ * or the call has waited in the queue for too long.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public class SparkJobServerConcurrencyLimitException extends SparkJobServerClientException {
+
+	private static final long serialVersionUID = -2734180663149075213L;
+
+	/**
+	 * Constructs a new <code>SparkJobServerConcurrencyLimitException</code> instance
+	 * with the specified detail message.
+	 *
+	 * @param message the detail message
+	 */
+	public SparkJobServerConcurrencyLimitException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the outstanding calls of a client to one Spark Job Server, by a
+ * limit adapted to the server with additive increase and multiplicative
+ * decrease.
+ *
+ * <p>
+ * When a call fails by an I/O error or a server error, or a call other than a
+ * submission is slower than the latency threshold, the limit is cut by a tenth.
+ * It is cut once per round trip, so the calls sent before the last cut do not
+ * cut it again when they fail together.
+ * When a call succeeds while the limit is at least half used, the limit grows
+ * by one over itself, so it grows by about one after each round of calls. The calls beyond the
+ * limit wait in a queue, and they are rejected when the queue is full or
+ * they have waited for the queue timeout.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobServerConcurrencyLimiter {
+	/**
+	 * The limit of the first calls, before it is adapted.
+	 */
+	static final int INITIAL_LIMIT = 10;
+	private static final double BACKOFF_RATIO = 0.9;
+	private final String url;
+	private final int maxLimit;
+	private final int queueSize;
+	private final long queueTimeout;
+	private final long latencyThreshold;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition available = lock.newCondition();
+	private double limit;
+	private int inFlight;
+	private int queueDepth;
+	private long rejectedCount;
+	/**
+	 * The <code>System.nanoTime()</code> of the last cut of the limit, if it has been cut.
+	 */
+	private long lastCutTime;
+	private boolean everCut;
+
+	/**
+	 * Constructs an instance of <code>SparkJobServerConcurrencyLimiter</code>.
+	 *
+	 * @param url the url of the server
+	 * @param config the settings holding the max limit, the queue size and timeout,
+	 *        and the latency threshold
+	 */
+	SparkJobServerConcurrencyLimiter(String url, SparkJobServerClientConfig config) {
+		this.url = url;
+		this.maxLimit = config.getMaxConcurrency();
+		this.queueSize = config.getConcurrencyQueueSize();
+		this.queueTimeout = TimeUnit.MILLISECONDS.toNanos(config.getConcurrencyQueueTimeout());
+		this.latencyThreshold = config.getHealthLatencyThreshold();
+		this.limit = Math.min(INITIAL_LIMIT, maxLimit);
+	}
+
+	/**
+	 * Asks for sending a call, which waits in the queue when the limit is reached.
+	 * It should be followed by a call of <code>release</code>.
+	 *
+	 * @throws SparkJobServerConcurrencyLimitException the queue is full, or the
+	 *         call has waited for too long
+	 */
+	void acquire() throws SparkJobServerConcurrencyLimitException {
+		lock.lock();
+		try {
+			if (inFlight < (int)limit) {
+				inFlight++;
+				return;
+			}
+			if (queueDepth >= queueSize) {
+				rejectedCount++;
+				throw new SparkJobServerConcurrencyLimitException("Too many calls to " + url + ", "
+					+ inFlight + " calls are outstanding and " + queueDepth + " calls are queued.");
+			}
+			queueDepth++;
+			try {
+				long remaining = queueTimeout;
+				while (inFlight >= (int)limit) {
+					if (remaining <= 0) {
+						rejectedCount++;
+						throw new SparkJobServerConcurrencyLimitException("The call to " + url + " has waited for "
+							+ TimeUnit.NANOSECONDS.toMillis(queueTimeout) + " milliseconds in the queue.");
+					}
+					remaining = available.awaitNanos(remaining);
+				}
+				inFlight++;
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				throw new SparkJobServerConcurrencyLimitException("Interrupted when waiting for a call to " + url);
+			} finally {
+				queueDepth--;
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Releases a call allowed by <code>acquire</code>, and adapts the limit by its outcome.
+	 * The latency of a submission is not judged, since a job started with
+	 * <code>sync=true</code> runs within the call.
+	 *
+	 * @param operation the operation of the call
+	 * @param latency the milliseconds taken by the call, or -1 if it has not been sent
+	 * @param failed true if the call failed by an I/O error or a server error,
+	 *        false otherwise
+	 */
+	void release(SparkJobServerOperation operation, long latency, boolean failed) {
+		release(operation, latency, failed, System.nanoTime());
+	}
+
+	/**
+	 * Releases a call allowed by <code>acquire</code> at the given time.
+	 *
+	 * @param now the <code>System.nanoTime()</code> when the call finished
+	 */
+	void release(SparkJobServerOperation operation, long latency, boolean failed, long now) {
+		lock.lock();
+		try {
+			int oldLimit = (int)limit;
+			boolean used = inFlight * 2 >= limit;
+			inFlight--;
+			if (latency < 0) {
+				//The call has not been sent, which tells nothing of the server
+			} else if (failed || !operation.isSubmission() && latency > latencyThreshold) {
+				//A call sent before the last cut has been judged by that cut
+				if (!everCut || now - TimeUnit.MILLISECONDS.toNanos(latency) - lastCutTime >= 0) {
+					limit = Math.max(1, limit * BACKOFF_RATIO);
+					lastCutTime = now;
+					everCut = true;
+				}
+			} else if (used) {
+				limit = Math.min(maxLimit, limit + 1 / limit);
+			}
+			if ((int)limit > oldLimit) {
+				available.signalAll();
+			} else {
+				available.signal();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	SparkJobServerConcurrencyStats getStats() {
+		lock.lock();
+		try {
+			return new SparkJobServerConcurrencyStats((int)limit, inFlight, queueDepth, rejectedCount);
+		} finally {
+			lock.unlock();
+		}
+	}
+}
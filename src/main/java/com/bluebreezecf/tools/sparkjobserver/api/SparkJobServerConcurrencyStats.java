@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * Presents a snapshot of the adaptive concurrency limit of a client.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public class SparkJobServerConcurrencyStats {
+	private final int limit;
+	private final int inFlight;
+	private final int queueDepth;
+	private final long rejectedCount;
+
+	SparkJobServerConcurrencyStats(int limit, int inFlight, int queueDepth, long rejectedCount) {
+		this.limit = limit;
+		this.inFlight = inFlight;
+		this.queueDepth = queueDepth;
+		this.rejectedCount = rejectedCount;
+	}
+
+	/**
+	 * Gets the current max number of outstanding calls.
+	 *
+	 * @return the current concurrency limit
+	 */
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * Gets the number of calls sent and still waiting for the responses.
+	 *
+	 * @return the number of outstanding calls
+	 */
+	public int getInFlight() {
+		return inFlight;
+	}
+
+	/**
+	 * Gets the number of calls queued until an outstanding call finishes.
+	 *
+	 * @return the number of queued calls
+	 */
+	public int getQueueDepth() {
+		return queueDepth;
+	}
+
+	/**
+	 * Gets the number of calls rejected since the queue was full, or they
+	 * had waited for too long.
+	 *
+	 * @return the number of rejected calls
+	 */
+	public long getRejectedCount() {
+		return rejectedCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "SparkJobServerConcurrencyStats[limit=" + limit + ", inFlight=" + inFlight
+			+ ", queueDepth=" + queueDepth + ", rejectedCount=" + rejectedCount + "]";
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Presents one of the Spark Job Servers behind a cluster client, together
+ * with the load information used by <code>ISparkJobServerLoadBalancer</code>.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public final class SparkJobServerEndpoint {
+	private final String url;
+	private final ISparkJobServerClient client;
+	private final SparkJobServerHealth health;
+	private final AtomicInteger outstandingRequests = new AtomicInteger();
+
+	SparkJobServerEndpoint(String url, ISparkJobServerClient client, SparkJobServerHealth health) {
+		this.url = url;
+		this.client = client;
+		this.health = health;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Gets the number of calls to current endpoint still waiting for the responses.
+	 *
+	 * @return the number of outstanding calls
+	 */
+	public int getOutstandingRequests() {
+		return outstandingRequests.get();
+	}
+
+	/**
+	 * Gets the exponentially weighted moving average of the latencies of the calls
+	 * to current endpoint, which mostly reflects the recent calls. It is shared by
+	 * all the clients of the same url.
+	 *
+	 * @return the average latency in milliseconds, or -1 if no call has completed yet
+	 */
+	public double getAverageLatency() {
+		return health.getLatency();
+	}
+
+	/**
+	 * Gets the exponentially weighted moving average of the failures of the calls
+	 * to current endpoint, it is shared by all the clients of the same url.
+	 *
+	 * @return the error rate between 0 and 1
+	 */
+	public double getErrorRate() {
+		return health.getErrorRate();
+	}
+
+	/**
+	 * Gets the health of current endpoint, only the healthy endpoints are given
+	 * to <code>ISparkJobServerLoadBalancer</code> unless none of them is healthy.
+	 *
+	 * @return the health state of current endpoint
+	 */
+	public SparkJobServerHealthState getHealthState() {
+		return health.getState();
+	}
+
+	ISparkJobServerClient getClient() {
+		return client;
+	}
+
+	SparkJobServerHealth getHealth() {
+		return health;
+	}
+
+	/**
+	 * Marks the beginning of a call to current endpoint.
+	 */
+	void callStarted() {
+		outstandingRequests.incrementAndGet();
+	}
+
+	/**
+	 * Marks the end of a call to current endpoint.
+	 */
+	void callFinished() {
+		outstandingRequests.decrementAndGet();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "SparkJobServerEndpoint[" + url + "]";
+	}
+}
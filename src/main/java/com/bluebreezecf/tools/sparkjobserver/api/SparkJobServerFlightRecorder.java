@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * Records the http calls and the response parsing of the client as
+ * JDK Flight Recorder events, named <code>com.bluebreezecf.sparkjobserver.Call</code>
+ * and <code>com.bluebreezecf.sparkjobserver.Parse</code>.
+ *
+ * <p>
+ * An event is only allocated when it is enabled in a running recording, so
+ * the cost is a check of a flag otherwise. On a JVM without a flight recorder
+ * nothing is recorded, and the event classes are never loaded.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobServerFlightRecorder {
+	private static final boolean AVAILABLE = isAvailable();
+
+	private SparkJobServerFlightRecorder() {
+	}
+
+	private static boolean isAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event");
+			return true;
+		} catch (Throwable e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Begins the event of a http call.
+	 *
+	 * @return the begun event, or null if it is not recorded
+	 */
+	static Object beginCall() {
+		return AVAILABLE ? SparkJobServerCallEvent.start() : null;
+	}
+
+	/**
+	 * Commits the event of a http call begun by <code>beginCall()</code>.
+	 *
+	 * @param event the begun event, it should not be null
+	 * @param operation the name of the operation of the call
+	 * @param path the path of the url of the call
+	 * @param statusCode the status code of the response, -1 if no response was received
+	 * @param responseBytes the length of the response content, -1 if it is unknown
+	 */
+	static void commitCall(Object event, String operation, String path, int statusCode, long responseBytes) {
+		SparkJobServerCallEvent.finish(event, operation, path, statusCode, responseBytes);
+	}
+
+	/**
+	 * Begins the event of the parsing of a response content.
+	 *
+	 * @return the begun event, or null if it is not recorded
+	 */
+	static Object beginParse() {
+		return AVAILABLE ? SparkJobServerParseEvent.start() : null;
+	}
+
+	/**
+	 * Commits the event of the parsing of a response content begun by <code>beginParse()</code>.
+	 *
+	 * @param event the begun event, it should not be null
+	 * @param operation the name of the operation of the parsed response
+	 * @param bytes the length of the parsed content, -1 if it is unknown
+	 */
+	static void commitParse(Object event, String operation, long bytes) {
+		SparkJobServerParseEvent.finish(event, operation, bytes);
+	}
+}
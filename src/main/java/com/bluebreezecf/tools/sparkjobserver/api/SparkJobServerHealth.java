@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Keeps the health of one Spark Job Server, from the timings of the real
+ * calls and of the background probes sent to it.
+ *
+ * <p>
+ * The latency and the error rate are exponentially weighted moving averages,
+ * so they mostly reflect the recent calls. Once either of them exceeds its
+ * threshold, the server is ejected for a while. After that it is half open,
+ * and the next call or probe decides whether it is healthy again.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobServerHealth {
+	private static Logger logger = Logger.getLogger(SparkJobServerHealth.class);
+	/**
+	 * The weight of the latest call in the moving averages.
+	 */
+	private static final double DECAY = 0.2;
+	/**
+	 * The calls needed before a healthy server can be ejected.
+	 */
+	private static final int MIN_SAMPLES = 5;
+	private final String url;
+	private final long latencyThreshold;
+	private final double errorRateThreshold;
+	private final long ejectionTime;
+	private SparkJobServerHealthState state = SparkJobServerHealthState.HEALTHY;
+	private double latency = -1;
+	private double errorRate;
+	private long samples;
+	private long ejectedUntil;
+	private long lastCallTime;
+
+	/**
+	 * Constructs an instance of <code>SparkJobServerHealth</code>.
+	 *
+	 * @param url the url of the server
+	 * @param config the settings holding the thresholds of the ejection
+	 */
+	SparkJobServerHealth(String url, SparkJobServerClientConfig config) {
+		this.url = url;
+		this.latencyThreshold = config.getHealthLatencyThreshold();
+		this.errorRateThreshold = config.getHealthErrorRateThreshold();
+		this.ejectionTime = TimeUnit.MILLISECONDS.toNanos(config.getHealthEjectionTime());
+		this.lastCallTime = System.nanoTime();
+	}
+
+	String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Records the outcome of a call or probe sent to the server. The latency of
+	 * a submission is left out of the average, since a job started with
+	 * <code>sync=true</code> runs within the call, and only its failure counts.
+	 *
+	 * @param operation the operation of the call, the probes are <code>GET_CONTEXTS</code>
+	 * @param callLatency the milliseconds taken by the call
+	 * @param failed true if the call failed or the server responded with an error
+	 *        of itself, false otherwise
+	 */
+	synchronized void record(SparkJobServerOperation operation, long callLatency, boolean failed) {
+		long now = System.nanoTime();
+		lastCallTime = now;
+		boolean timed = !operation.isSubmission();
+		if (getState(now) == SparkJobServerHealthState.HALF_OPEN) {
+			//The trial call decides the state, and starts the averages afresh
+			samples = 1;
+			latency = timed ? callLatency : -1;
+			errorRate = failed ? 1 : 0;
+			if (failed || timed && callLatency > latencyThreshold) {
+				eject(now);
+			} else {
+				state = SparkJobServerHealthState.HEALTHY;
+				logger.info("The spark job server " + url + " is healthy again.");
+			}
+			return;
+		}
+		samples++;
+		if (timed) {
+			latency = latency < 0 ? callLatency : latency + DECAY * (callLatency - latency);
+		}
+		errorRate = errorRate + DECAY * ((failed ? 1 : 0) - errorRate);
+		if (state == SparkJobServerHealthState.HEALTHY && samples >= MIN_SAMPLES
+			&& (errorRate > errorRateThreshold || latency > latencyThreshold)) {
+			eject(now);
+		}
+	}
+
+	private void eject(long now) {
+		state = SparkJobServerHealthState.EJECTED;
+		ejectedUntil = now + ejectionTime;
+		logger.warn("The spark job server " + url + " is ejected for " + TimeUnit.NANOSECONDS.toMillis(ejectionTime)
+			+ " milliseconds, average latency " + Math.round(latency) + " ms, error rate " + errorRate);
+	}
+
+	synchronized SparkJobServerHealthState getState() {
+		return getState(System.nanoTime());
+	}
+
+	private SparkJobServerHealthState getState(long now) {
+		if (state == SparkJobServerHealthState.EJECTED && now - ejectedUntil >= 0) {
+			state = SparkJobServerHealthState.HALF_OPEN;
+		}
+		return state;
+	}
+
+	/**
+	 * Gets the moving average of the latencies.
+	 *
+	 * @return the average latency in milliseconds, or -1 if nothing has been recorded
+	 */
+	synchronized double getLatency() {
+		return latency;
+	}
+
+	/**
+	 * Gets the moving average of the failures, between 0 and 1.
+	 *
+	 * @return the error rate
+	 */
+	synchronized double getErrorRate() {
+		return errorRate;
+	}
+
+	/**
+	 * Judges the server should be probed or not. A half open server is always
+	 * probed, an ejected one is never probed before its ejection time elapses,
+	 * and a healthy one is probed only if it has not been called for the given
+	 * interval.
+	 *
+	 * @param interval the probe interval in nanoseconds
+	 * @return true if it should be probed, false otherwise
+	 */
+	synchronized boolean needsProbe(long interval) {
+		long now = System.nanoTime();
+		SparkJobServerHealthState currentState = getState(now);
+		if (currentState == SparkJobServerHealthState.EJECTED) {
+			return false;
+		}
+		return currentState == SparkJobServerHealthState.HALF_OPEN || now - lastCallTime >= interval;
+	}
+
+	long getLatencyThreshold() {
+		return latencyThreshold;
+	}
+}
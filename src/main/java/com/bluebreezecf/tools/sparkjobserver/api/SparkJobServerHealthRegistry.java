@@ -0,0 +1,243 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
+import org.apache.log4j.Logger;
+
+/**
+ * Shares one <code>SparkJobServerHealth</code> per url and health settings
+ * among the clients of the cluster clients in current JVM, and probes the servers used by the cluster clients in the
+ * background.
+ *
+ * <p>
+ * A probe is a <code>GET /contexts</code>, and any response but a server error
+ * proves the server is responsive, so no credentials are needed. A healthy
+ * server is only probed when it has not been called for the probe interval,
+ * since the timings of the real calls are recorded as well. All the probes are
+ * sent one after another by a single daemon thread.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobServerHealthRegistry {
+	private static Logger logger = Logger.getLogger(SparkJobServerHealthRegistry.class);
+	/**
+	 * The registrations by the url and the health settings of their clients.
+	 */
+	private static final Map<String, Registration> REGISTRATIONS = new HashMap<String, Registration>();
+	private static final Map<SparkJobServerHealth, Registration> REGISTRATIONS_BY_HEALTH =
+		new IdentityHashMap<SparkJobServerHealth, Registration>();
+	private static final ScheduledExecutorService PROBER = Executors.newSingleThreadScheduledExecutor(
+		new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "spark-job-server-health-prober");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	private static CloseableHttpClient probeClient;
+	private static ScheduledFuture<?> probeTask;
+	private static int probedCount;
+
+	/**
+	 * The shared health of one url and health settings, with the numbers of its users.
+	 */
+	private static final class Registration {
+		private final String key;
+		private final SparkJobServerHealth health;
+		private final long probeInterval;
+		private int clients;
+		private int probers;
+
+		Registration(String key, SparkJobServerHealth health, long probeInterval) {
+			this.key = key;
+			this.health = health;
+			this.probeInterval = probeInterval;
+		}
+	}
+
+	private SparkJobServerHealthRegistry() {
+	}
+
+	/**
+	 * Gets the health of the given url shared by the clients with the same
+	 * health settings, which is created by the first of them. Each call should
+	 * be paired with a call of <code>release</code>.
+	 *
+	 * @param url the url of the server, ending with "/"
+	 * @param config the settings of the calling client
+	 * @return the shared health of the url and the health settings
+	 */
+	static synchronized SparkJobServerHealth register(String url, SparkJobServerClientConfig config) {
+		String key = url + " " + config.getHealthLatencyThreshold() + " " + config.getHealthErrorRateThreshold()
+			+ " " + config.getHealthEjectionTime() + " " + config.getHealthProbeInterval();
+		Registration registration = REGISTRATIONS.get(key);
+		if (registration == null) {
+			registration = new Registration(key, new SparkJobServerHealth(url, config),
+				TimeUnit.MILLISECONDS.toNanos(config.getHealthProbeInterval()));
+			REGISTRATIONS.put(key, registration);
+			REGISTRATIONS_BY_HEALTH.put(registration.health, registration);
+		}
+		registration.clients++;
+		return registration.health;
+	}
+
+	/**
+	 * Releases the shared health got by <code>register</code>.
+	 *
+	 * @param health the shared health
+	 */
+	static synchronized void release(SparkJobServerHealth health) {
+		Registration registration = REGISTRATIONS_BY_HEALTH.get(health);
+		if (registration == null) {
+			return;
+		}
+		if (--registration.clients <= 0) {
+			if (registration.probers > 0) {
+				stopProbing(registration);
+			}
+			REGISTRATIONS.remove(registration.key);
+			REGISTRATIONS_BY_HEALTH.remove(health);
+		}
+	}
+
+	/**
+	 * Starts probing the server of the given shared health in the background,
+	 * until <code>stopProbing</code> is called or all its users release it.
+	 *
+	 * @param health the shared health
+	 */
+	static synchronized void startProbing(SparkJobServerHealth health) {
+		Registration registration = REGISTRATIONS_BY_HEALTH.get(health);
+		if (registration == null) {
+			return;
+		}
+		if (registration.probers++ == 0 && probedCount++ == 0) {
+			probeClient = HttpClientBuilder.create().disableAutomaticRetries().build();
+			probeTask = PROBER.scheduleWithFixedDelay(new Runnable() {
+				public void run() {
+					probeAll();
+				}
+			}, 1, 1, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Stops probing the server of the given shared health.
+	 *
+	 * @param health the shared health
+	 */
+	static synchronized void stopProbing(SparkJobServerHealth health) {
+		Registration registration = REGISTRATIONS_BY_HEALTH.get(health);
+		if (registration == null || registration.probers <= 0) {
+			return;
+		}
+		if (--registration.probers == 0) {
+			stopProbing(registration);
+		}
+	}
+
+	private static void stopProbing(Registration registration) {
+		registration.probers = 0;
+		if (--probedCount == 0) {
+			probeTask.cancel(false);
+			final CloseableHttpClient client = probeClient;
+			//Closes the probe client on the prober thread, after the running probes
+			PROBER.execute(new Runnable() {
+				public void run() {
+					closeQuietly(client);
+				}
+			});
+			probeTask = null;
+			probeClient = null;
+		}
+	}
+
+	private static void probeAll() {
+		List<SparkJobServerHealth> healths = new ArrayList<SparkJobServerHealth>();
+		CloseableHttpClient client = null;
+		synchronized (SparkJobServerHealthRegistry.class) {
+			client = probeClient;
+			if (client == null) {
+				return;
+			}
+			for (Registration registration : REGISTRATIONS.values()) {
+				if (registration.probers > 0 && registration.health.needsProbe(registration.probeInterval)) {
+					healths.add(registration.health);
+				}
+			}
+		}
+		for (SparkJobServerHealth health : healths) {
+			probe(client, health);
+		}
+	}
+
+	private static void probe(CloseableHttpClient client, SparkJobServerHealth health) {
+		int timeout = (int)Math.min(health.getLatencyThreshold(), Integer.MAX_VALUE);
+		HttpGet getMethod = new HttpGet(health.getUrl() + "contexts");
+		getMethod.setConfig(RequestConfig.custom()
+			.setConnectTimeout(timeout)
+			.setConnectionRequestTimeout(timeout)
+			.setSocketTimeout(timeout)
+			.build());
+		long startTime = System.nanoTime();
+		boolean failed = true;
+		CloseableHttpResponse response = null;
+		try {
+			response = client.execute(getMethod);
+			EntityUtils.consume(response.getEntity());
+			failed = response.getStatusLine().getStatusCode() >= 500;
+		} catch (Exception e) {
+			logger.debug("Failed to probe the spark job server " + health.getUrl(), e);
+		} finally {
+			closeQuietly(response);
+		}
+		health.record(SparkJobServerOperation.GET_CONTEXTS,
+			TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), failed);
+	}
+
+	private static void closeQuietly(Closeable closeable) {
+		if (closeable == null) {
+			return;
+		}
+		try {
+			closeable.close();
+		} catch (IOException e) {
+			logger.error("could not close the probe resource", e);
+		}
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * Presents the health of a Spark Job Server as seen by the clients.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public enum SparkJobServerHealthState {
+	/**
+	 * The server responds in time, and receives new jobs and contexts.
+	 */
+	HEALTHY,
+	/**
+	 * The server has been too slow or failing, and receives no new jobs
+	 * or contexts until its ejection time elapses.
+	 */
+	EJECTED,
+	/**
+	 * The ejection time of the server has elapsed, and the next call or
+	 * probe decides whether it is healthy again or ejected once more.
+	 */
+	HALF_OPEN
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * Presents when an <code>ISparkJobServerClient</code> hedges a read of the
+ * status of jobs, that is sends the same request once more on another pooled
+ * connection if the first one has not answered for a while. The first answer
+ * is taken and the other request is aborted.
+ *
+ * <p>
+ * The hedge delay is either fixed, or the given percentile of the latencies of
+ * the recent reads, so only the slowest reads are hedged. The hedges are
+ * limited to the given ratio of the reads, so a slow server never receives
+ * much more calls than usual.
+ *
+ * <p>
+ * A hedge is always sent to the same server as the first request, so a
+ * cluster client never hedges a read on another server.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public final class SparkJobServerHedgePolicy {
+	public static final double DEFAULT_PERCENTILE = 0.95;
+	public static final long DEFAULT_MIN_DELAY = 10;
+	public static final double DEFAULT_MAX_HEDGE_RATIO = 0.05;
+
+	private final long delay;
+	private final double percentile;
+	private final double maxHedgeRatio;
+
+	private SparkJobServerHedgePolicy(long delay, double percentile, double maxHedgeRatio) {
+		if (delay <= 0) {
+			throw new IllegalArgumentException("The delay should be positive.");
+		}
+		if (!(maxHedgeRatio > 0 && maxHedgeRatio <= 1)) {
+			throw new IllegalArgumentException("The maxHedgeRatio should be greater than 0 and at most 1.");
+		}
+		this.delay = delay;
+		this.percentile = percentile;
+		this.maxHedgeRatio = maxHedgeRatio;
+	}
+
+	/**
+	 * Creates a policy hedging the reads not answered after the given delay.
+	 *
+	 * @param delay the hedge delay in milliseconds
+	 * @param maxHedgeRatio the max ratio of the hedged reads, greater than 0 and at most 1
+	 * @return the <code>SparkJobServerHedgePolicy</code> instance
+	 */
+	public static SparkJobServerHedgePolicy fixedDelay(long delay, double maxHedgeRatio) {
+		return new SparkJobServerHedgePolicy(delay, 0, maxHedgeRatio);
+	}
+
+	/**
+	 * Creates a policy hedging the reads slower than the given percentile
+	 * of the recent reads.
+	 *
+	 * @param percentile the percentile of the latencies used as the hedge delay,
+	 *        such as 0.95, greater than 0 and less than 1
+	 * @param minDelay the min hedge delay in milliseconds
+	 * @param maxHedgeRatio the max ratio of the hedged reads, greater than 0 and at most 1
+	 * @return the <code>SparkJobServerHedgePolicy</code> instance
+	 */
+	public static SparkJobServerHedgePolicy percentileDelay(double percentile, long minDelay, double maxHedgeRatio) {
+		if (!(percentile > 0 && percentile < 1)) {
+			throw new IllegalArgumentException("The percentile should be between 0 and 1.");
+		}
+		return new SparkJobServerHedgePolicy(minDelay, percentile, maxHedgeRatio);
+	}
+
+	/**
+	 * Gets the policy hedging the reads slower than the 95th percentile,
+	 * waiting at least 10 milliseconds, and hedging at most 5% of the reads.
+	 *
+	 * @return the <code>SparkJobServerHedgePolicy</code> instance
+	 */
+	public static SparkJobServerHedgePolicy defaultPolicy() {
+		return percentileDelay(DEFAULT_PERCENTILE, DEFAULT_MIN_DELAY, DEFAULT_MAX_HEDGE_RATIO);
+	}
+
+	/**
+	 * Gets the fixed hedge delay, or the min one when the delay follows a percentile.
+	 *
+	 * @return the delay in milliseconds
+	 */
+	public long getDelay() {
+		return delay;
+	}
+
+	/**
+	 * Gets the percentile of the latencies used as the hedge delay.
+	 *
+	 * @return the percentile, or 0 if the delay is fixed
+	 */
+	public double getPercentile() {
+		return percentile;
+	}
+
+	public double getMaxHedgeRatio() {
+		return maxHedgeRatio;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "SparkJobServerHedgePolicy[delay=" + delay + ", percentile=" + percentile
+			+ ", maxHedgeRatio=" + maxHedgeRatio + "]";
+	}
+}
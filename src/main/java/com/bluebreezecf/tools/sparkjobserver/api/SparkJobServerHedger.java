@@ -0,0 +1,277 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.log4j.Logger;
+
+/**
+ * Sends the reads of a client by a <code>SparkJobServerHedgePolicy</code>.
+ *
+ * <p>
+ * The first request is sent by the calling thread. If it has not answered
+ * after the hedge delay and the budget allows it, a copy of it is sent by a
+ * shared daemon thread. The first answer is given to the caller, and the other
+ * request is aborted, which gives its connection back to the pool. The hedge
+ * goes to the same url as the first request, it never crosses the servers.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobServerHedger {
+	private static Logger logger = Logger.getLogger(SparkJobServerHedger.class);
+	/**
+	 * The hedges which can be saved by a client seldom called.
+	 */
+	private static final int BUDGET_RESERVE = 5;
+	/**
+	 * The number of the recent latencies kept for the percentile.
+	 */
+	private static final int WINDOW_SIZE = 1024;
+	/**
+	 * The latencies needed before the percentile is used as the hedge delay.
+	 */
+	private static final int MIN_SAMPLES = 100;
+	/**
+	 * The percentile is computed again after the given number of latencies.
+	 */
+	private static final int UPDATE_INTERVAL = 64;
+	private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "spark-job-server-hedger");
+			thread.setDaemon(true);
+			return thread;
+		}
+	};
+	private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(THREAD_FACTORY);
+	private static final ExecutorService SENDER = Executors.newCachedThreadPool(THREAD_FACTORY);
+
+	/**
+	 * Sends a request once.
+	 */
+	interface Sender {
+		CloseableHttpResponse send(HttpRequestBase request) throws IOException;
+	}
+
+	private final SparkJobServerHedgePolicy policy;
+	private final SparkJobServerRetryBudget budget;
+	private final long[] latencies = new long[WINDOW_SIZE];
+	private int latencyCount;
+	private volatile long percentileDelay = -1;
+	private final AtomicLong hedges = new AtomicLong();
+	private final AtomicLong hedgeWins = new AtomicLong();
+
+	SparkJobServerHedger(SparkJobServerHedgePolicy policy) {
+		this.policy = policy;
+		this.budget = new SparkJobServerRetryBudget(policy.getMaxHedgeRatio(), BUDGET_RESERVE);
+	}
+
+	/**
+	 * Sends the given read, and hedges it when it is too slow.
+	 *
+	 * @param request the read request, which is a GET
+	 * @param sender the sender of the requests
+	 * @return the first response
+	 * @throws IOException error occurs when sending the requests
+	 */
+	CloseableHttpResponse execute(HttpRequestBase request, Sender sender) throws IOException {
+		budget.deposit();
+		long delay = getDelay();
+		if (delay < 0) {
+			return send(request, sender);
+		}
+		HedgedCall call = new HedgedCall(request, sender);
+		ScheduledFuture<?> timer = TIMER.schedule(call, delay, TimeUnit.MILLISECONDS);
+		try {
+			return call.sendFirst();
+		} finally {
+			timer.cancel(false);
+		}
+	}
+
+	/**
+	 * Gets the current hedge delay.
+	 *
+	 * @return the delay in milliseconds, or -1 if there are not enough latencies
+	 *         for the percentile yet
+	 */
+	long getDelay() {
+		if (policy.getPercentile() <= 0) {
+			return policy.getDelay();
+		}
+		return percentileDelay;
+	}
+
+	long getHedges() {
+		return hedges.get();
+	}
+
+	long getHedgeWins() {
+		return hedgeWins.get();
+	}
+
+	private CloseableHttpResponse send(HttpRequestBase request, Sender sender) throws IOException {
+		long startTime = System.nanoTime();
+		CloseableHttpResponse response = sender.send(request);
+		recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+		return response;
+	}
+
+	private void recordLatency(long latency) {
+		if (policy.getPercentile() <= 0) {
+			return;
+		}
+		long[] sorted = null;
+		synchronized (latencies) {
+			latencies[latencyCount++ % WINDOW_SIZE] = latency;
+			if (latencyCount >= MIN_SAMPLES && latencyCount % UPDATE_INTERVAL == 0) {
+				sorted = Arrays.copyOf(latencies, Math.min(latencyCount, WINDOW_SIZE));
+			}
+			if (latencyCount >= 2 * WINDOW_SIZE) {
+				latencyCount -= WINDOW_SIZE;
+			}
+		}
+		if (sorted != null) {
+			Arrays.sort(sorted);
+			long percentile = sorted[(int)Math.min(sorted.length - 1, (long)(sorted.length * policy.getPercentile()))];
+			percentileDelay = Math.max(policy.getDelay(), percentile);
+		}
+	}
+
+	private static HttpRequestBase copy(HttpRequestBase request) {
+		HttpGet copy = new HttpGet(request.getURI());
+		copy.setHeaders(request.getAllHeaders());
+		copy.setConfig(request.getConfig());
+		return copy;
+	}
+
+	private static void closeQuietly(CloseableHttpResponse response) {
+		if (response == null) {
+			return;
+		}
+		try {
+			response.close();
+		} catch (IOException e) {
+			logger.debug("could not close the response of the losing request", e);
+		}
+	}
+
+	/**
+	 * A read which may be hedged, the timer runs it to send the hedge.
+	 */
+	private final class HedgedCall implements Runnable {
+		private final HttpRequestBase first;
+		private final Sender sender;
+		private HttpRequestBase hedge;
+		private CloseableHttpResponse winner;
+		private boolean done;
+		private boolean hedgeFinished;
+
+		HedgedCall(HttpRequestBase first, Sender sender) {
+			this.first = first;
+			this.sender = sender;
+		}
+
+		public void run() {
+			synchronized (this) {
+				if (done || !budget.tryWithdraw()) {
+					return;
+				}
+				hedge = copy(first);
+			}
+			hedges.incrementAndGet();
+			SENDER.execute(new Runnable() {
+				public void run() {
+					sendHedge();
+				}
+			});
+		}
+
+		private void sendHedge() {
+			CloseableHttpResponse response = null;
+			try {
+				response = send(hedge, sender);
+			} catch (IOException e) {
+				logger.debug("The hedge of " + first.getURI() + " failed", e);
+			}
+			synchronized (this) {
+				hedgeFinished = true;
+				notifyAll();
+				if (!done && response != null) {
+					done = true;
+					winner = response;
+					hedgeWins.incrementAndGet();
+					first.abort();
+					return;
+				}
+			}
+			closeQuietly(response);
+		}
+
+		CloseableHttpResponse sendFirst() throws IOException {
+			CloseableHttpResponse response = null;
+			IOException error = null;
+			try {
+				response = send(first, sender);
+			} catch (IOException e) {
+				error = e;
+			}
+			synchronized (this) {
+				if (!done && response != null) {
+					done = true;
+					if (hedge != null && !hedgeFinished) {
+						hedge.abort();
+					}
+					return response;
+				}
+				if (!done && hedge != null) {
+					//The first request failed, while the hedge may still answer
+					try {
+						while (!hedgeFinished) {
+							wait();
+						}
+					} catch (InterruptedException ie) {
+						Thread.currentThread().interrupt();
+						done = true;
+						hedge.abort();
+						throw new InterruptedIOException("Interrupted when waiting for the hedge of " + first.getURI());
+					}
+				}
+				if (!done) {
+					done = true;
+					throw error;
+				}
+			}
+			closeQuietly(response);
+			return winner;
+		}
+	}
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Keeps the metrics of the calls in memory, by operation: the latency and
+ * parse time histograms, the counts of the status codes, the calls in
+ * flight and the bytes sent and received.
+ *
+ * <p>
+ * The histograms are <a href="http://hdrhistogram.org/">HdrHistogram</a>s of
+ * microseconds with two significant digits, so any percentile is accurate to
+ * 1%. The HdrHistogram jar is an optional dependency, which should be added
+ * by the applications using this class.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public class SparkJobServerHistogramMetrics implements ISparkJobServerMetrics {
+	private static final int SIGNIFICANT_DIGITS = 2;
+	private static final int MAX_STATUS_CODE = 599;
+
+	/**
+	 * The metrics of one operation.
+	 */
+	private static final class OperationMetrics {
+		private final Histogram latency = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+		private final Histogram parseTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+		private final AtomicInteger inFlight = new AtomicInteger();
+		//The count of the status code i is at i, and the count of the failed calls at 0
+		private final AtomicLongArray statusCounts = new AtomicLongArray(MAX_STATUS_CODE + 1);
+		private final LongAdder bytesSent = new LongAdder();
+		private final LongAdder bytesReceived = new LongAdder();
+	}
+
+	private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<String, OperationMetrics>();
+
+	private OperationMetrics get(String operation) {
+		OperationMetrics metrics = operations.get(operation);
+		if (metrics == null) {
+			metrics = operations.computeIfAbsent(operation, name -> new OperationMetrics());
+		}
+		return metrics;
+	}
+
+	public void requestStarted(String operation) {
+		get(operation).inFlight.incrementAndGet();
+	}
+
+	public void requestFinished(String operation, int statusCode, long latencyNanos) {
+		OperationMetrics metrics = get(operation);
+		metrics.inFlight.decrementAndGet();
+		metrics.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+		if (statusCode < 0) {
+			metrics.statusCounts.incrementAndGet(0);
+		} else if (statusCode <= MAX_STATUS_CODE) {
+			metrics.statusCounts.incrementAndGet(statusCode);
+		}
+	}
+
+	public void bytesSent(String operation, long bytes) {
+		get(operation).bytesSent.add(bytes);
+	}
+
+	public void bytesReceived(String operation, long bytes) {
+		get(operation).bytesReceived.add(bytes);
+	}
+
+	public void parsed(String operation, long parseNanos) {
+		get(operation).parseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(parseNanos));
+	}
+
+	/**
+	 * Gets the names of the operations which have been called.
+	 *
+	 * @return the sorted names of the operations
+	 */
+	public Set<String> getOperations() {
+		return Collections.unmodifiableSet(new TreeSet<String>(operations.keySet()));
+	}
+
+	/**
+	 * Gets the latencies in microseconds of the finished calls of the given operation,
+	 * from their start until the headers of their responses have been received.
+	 *
+	 * @param operation the name of the operation
+	 * @return a copy of the latency histogram, or null if the operation has not been called
+	 */
+	public Histogram getLatencyHistogram(String operation) {
+		OperationMetrics metrics = operations.get(operation);
+		return metrics == null ? null : metrics.latency.copy();
+	}
+
+	/**
+	 * Gets the times in microseconds spent in parsing the responses of the given operation.
+	 *
+	 * @param operation the name of the operation
+	 * @return a copy of the parse time histogram, or null if the operation has not been called
+	 */
+	public Histogram getParseTimeHistogram(String operation) {
+		OperationMetrics metrics = operations.get(operation);
+		return metrics == null ? null : metrics.parseTime.copy();
+	}
+
+	/**
+	 * Gets the counts of the status codes of the responses of the given operation.
+	 *
+	 * @param operation the name of the operation
+	 * @return the counts by status code, which is empty if the operation has not been called
+	 */
+	public Map<Integer, Long> getStatusCounts(String operation) {
+		Map<Integer, Long> statusCounts = new TreeMap<Integer, Long>();
+		OperationMetrics metrics = operations.get(operation);
+		if (metrics != null) {
+			for (int statusCode = 1; statusCode <= MAX_STATUS_CODE; statusCode++) {
+				long count = metrics.statusCounts.get(statusCode);
+				if (count > 0) {
+					statusCounts.put(statusCode, count);
+				}
+			}
+		}
+		return statusCounts;
+	}
+
+	/**
+	 * Gets the number of the calls of the given operation failed without a response.
+	 *
+	 * @param operation the name of the operation
+	 * @return the number of the failed calls
+	 */
+	public long getFailedCount(String operation) {
+		OperationMetrics metrics = operations.get(operation);
+		return metrics == null ? 0 : metrics.statusCounts.get(0);
+	}
+
+	/**
+	 * Gets the number of the calls of the given operation waiting for their responses.
+	 *
+	 * @param operation the name of the operation
+	 * @return the number of the calls in flight
+	 */
+	public int getInFlight(String operation) {
+		OperationMetrics metrics = operations.get(operation);
+		return metrics == null ? 0 : metrics.inFlight.get();
+	}
+
+	/**
+	 * Gets the number of the bytes of the request contents sent by the given operation.
+	 *
+	 * @param operation the name of the operation
+	 * @return the number of bytes sent
+	 */
+	public long getBytesSent(String operation) {
+		OperationMetrics metrics = operations.get(operation);
+		return metrics == null ? 0 : metrics.bytesSent.sum();
+	}
+
+	/**
+	 * Gets the number of the bytes of the response contents received by the given operation.
+	 *
+	 * @param operation the name of the operation
+	 * @return the number of bytes received
+	 */
+	public long getBytesReceived(String operation) {
+		OperationMetrics metrics = operations.get(operation);
+		return metrics == null ? 0 : metrics.bytesReceived.sum();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buff = new StringBuilder("SparkJobServerHistogramMetrics{");
+		for (String operation : getOperations()) {
+			Histogram latency = getLatencyHistogram(operation);
+			Histogram parseTime = getParseTimeHistogram(operation);
+			buff.append("\n  ").append(operation)
+				.append(": count=").append(latency.getTotalCount())
+				.append(" latency(us) p50=").append(latency.getValueAtPercentile(50))
+				.append(" p99=").append(latency.getValueAtPercentile(99))
+				.append(" max=").append(latency.getMaxValue())
+				.append(" parse(us) p50=").append(parseTime.getValueAtPercentile(50))
+				.append(" p99=").append(parseTime.getValueAtPercentile(99))
+				.append(" status=").append(getStatusCounts(operation))
+				.append(" failed=").append(getFailedCount(operation))
+				.append(" inFlight=").append(getInFlight(operation))
+				.append(" sent=").append(getBytesSent(operation))
+				.append(" received=").append(getBytesReceived(operation));
+		}
+		return buff.append("\n}").toString();
+	}
+}
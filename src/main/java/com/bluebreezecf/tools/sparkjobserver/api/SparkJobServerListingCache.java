@@ -0,0 +1,177 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Caches a listing of the Spark Job Server, such as its contexts or jars,
+ * which seldom changes.
+ *
+ * <p>
+ * The listing is loaded by the first call. Within the time to live it is
+ * served as it is, and after that the stale listing is still served at once,
+ * while a shared daemon thread loads it again in the background. So the
+ * callers never wait for a refresh once the listing has been loaded. When
+ * the client changes the listing itself, the cached one is updated or dropped
+ * at once, and a refresh started before that is discarded.
+ *
+ * <p>
+ * After a failed refresh, the stale listing is served for another time to
+ * live, and at least <code>MIN_RETRY_DELAY</code>, before the next refresh.
+ * No refresh is started once the cache is closed along with its client.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobServerListingCache<V> {
+	private static Logger logger = Logger.getLogger(SparkJobServerListingCache.class);
+	/**
+	 * The min nanoseconds between a failed refresh and the next one.
+	 */
+	static final long MIN_RETRY_DELAY = TimeUnit.SECONDS.toNanos(1);
+	private static final ExecutorService REFRESHER = Executors.newCachedThreadPool(new ThreadFactory() {
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "spark-job-server-listing-refresher");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	/**
+	 * Loads the listing from the Spark Job Server.
+	 */
+	interface Loader<V> {
+		V load() throws SparkJobServerClientException;
+	}
+
+	private final String name;
+	private final long timeToLive;
+	private final Loader<V> loader;
+	private V value;
+	private long loadedTime;
+	private long version;
+	private boolean refreshing;
+	private boolean closed;
+
+	/**
+	 * Constructs an instance of <code>SparkJobServerListingCache</code>.
+	 *
+	 * @param name the name of the listing used in the messages
+	 * @param timeToLive the milliseconds for which a loaded listing is fresh
+	 * @param loader the loader of the listing
+	 */
+	SparkJobServerListingCache(String name, long timeToLive, Loader<V> loader) {
+		this.name = name;
+		this.timeToLive = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+		this.loader = loader;
+	}
+
+	/**
+	 * Gets the listing, which is loaded by the calling thread only when it has
+	 * not been loaded or it has been dropped.
+	 *
+	 * @return the cached listing, which should not be modified
+	 * @throws SparkJobServerClientException error occurs when loading the listing
+	 */
+	V get() throws SparkJobServerClientException {
+		long loadVersion;
+		synchronized (this) {
+			if (value != null) {
+				if (!refreshing && !closed && System.nanoTime() - loadedTime >= timeToLive) {
+					refreshing = true;
+					final long refreshVersion = version;
+					REFRESHER.execute(new Runnable() {
+						public void run() {
+							refresh(refreshVersion);
+						}
+					});
+				}
+				return value;
+			}
+			loadVersion = version;
+		}
+		V loaded = loader.load();
+		store(loaded, loadVersion);
+		return loaded;
+	}
+
+	private void refresh(long refreshVersion) {
+		try {
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+			}
+			store(loader.load(), refreshVersion);
+		} catch (Exception e) {
+			logger.warn("Failed to refresh the cached " + name + ", the stale one is still used.", e);
+			synchronized (this) {
+				//Backs off, or every call would start another failing refresh
+				loadedTime = System.nanoTime() - timeToLive + Math.max(timeToLive, MIN_RETRY_DELAY);
+			}
+		} finally {
+			synchronized (this) {
+				refreshing = false;
+			}
+		}
+	}
+
+	private synchronized void store(V loaded, long loadVersion) {
+		//A listing loaded before a change made by the client is out of date
+		if (loaded != null && version == loadVersion) {
+			value = loaded;
+			loadedTime = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Updates the cached listing after the client has changed it.
+	 *
+	 * @param updater the function creating the updated listing from the cached one,
+	 *        it should not modify the cached one
+	 */
+	synchronized void update(UnaryOperator<V> updater) {
+		version++;
+		if (value != null) {
+			value = updater.apply(value);
+		}
+	}
+
+	/**
+	 * Drops the cached listing after the client has changed it, so the next
+	 * call loads it again.
+	 */
+	synchronized void invalidate() {
+		version++;
+		value = null;
+	}
+
+	/**
+	 * Stops refreshing the listing after the client has been closed.
+	 */
+	synchronized void close() {
+		closed = true;
+	}
+}
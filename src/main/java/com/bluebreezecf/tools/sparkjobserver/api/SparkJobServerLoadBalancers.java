@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the built-in strategies of <code>ISparkJobServerLoadBalancer</code>.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public final class SparkJobServerLoadBalancers {
+
+	private SparkJobServerLoadBalancers() {
+	}
+
+	/**
+	 * Gets a strategy choosing the endpoints in turn.
+	 *
+	 * @return a new round-robin <code>ISparkJobServerLoadBalancer</code> instance
+	 */
+	public static ISparkJobServerLoadBalancer roundRobin() {
+		return new ISparkJobServerLoadBalancer() {
+			private final AtomicInteger counter = new AtomicInteger();
+
+			public SparkJobServerEndpoint choose(List<SparkJobServerEndpoint> endpoints) {
+				int index = (counter.getAndIncrement() & Integer.MAX_VALUE) % endpoints.size();
+				return endpoints.get(index);
+			}
+		};
+	}
+
+	/**
+	 * Gets a strategy choosing the endpoint with the fewest outstanding calls,
+	 * the ties are broken at random.
+	 *
+	 * @return a least-outstanding-requests <code>ISparkJobServerLoadBalancer</code> instance
+	 */
+	public static ISparkJobServerLoadBalancer leastOutstanding() {
+		return new ISparkJobServerLoadBalancer() {
+			public SparkJobServerEndpoint choose(List<SparkJobServerEndpoint> endpoints) {
+				SparkJobServerEndpoint chosen = null;
+				int leastRequests = Integer.MAX_VALUE;
+				int ties = 0;
+				for (SparkJobServerEndpoint endpoint : endpoints) {
+					int requests = endpoint.getOutstandingRequests();
+					if (requests < leastRequests) {
+						chosen = endpoint;
+						leastRequests = requests;
+						ties = 1;
+					} else if (requests == leastRequests && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+						//Keeps each tied endpoint with the same probability
+						chosen = endpoint;
+					}
+				}
+				return chosen;
+			}
+		};
+	}
+
+	/**
+	 * Gets a strategy choosing the endpoints at random, weighted by the inverse
+	 * of their average latencies, so a faster server receives more calls while
+	 * a slower one still receives some and gets its latency refreshed. An
+	 * endpoint without any completed call yet is treated as the fastest one.
+	 *
+	 * @return a latency-weighted <code>ISparkJobServerLoadBalancer</code> instance
+	 */
+	public static ISparkJobServerLoadBalancer latencyWeighted() {
+		return new ISparkJobServerLoadBalancer() {
+			public SparkJobServerEndpoint choose(List<SparkJobServerEndpoint> endpoints) {
+				int size = endpoints.size();
+				double[] latencies = new double[size];
+				double fastest = Double.MAX_VALUE;
+				for (int i = 0; i < size; i++) {
+					latencies[i] = endpoints.get(i).getAverageLatency();
+					if (latencies[i] >= 0 && latencies[i] < fastest) {
+						fastest = latencies[i];
+					}
+				}
+				if (fastest == Double.MAX_VALUE) {
+					fastest = 0;
+				}
+				double totalWeight = 0;
+				double[] weights = new double[size];
+				for (int i = 0; i < size; i++) {
+					double latency = latencies[i] < 0 ? fastest : latencies[i];
+					//One more millisecond avoids dividing by zero
+					weights[i] = 1 / (latency + 1);
+					totalWeight += weights[i];
+				}
+				double target = ThreadLocalRandom.current().nextDouble() * totalWeight;
+				for (int i = 0; i < size; i++) {
+					target -= weights[i];
+					if (target < 0) {
+						return endpoints.get(i);
+					}
+				}
+				return endpoints.get(size - 1);
+			}
+		};
+	}
+}
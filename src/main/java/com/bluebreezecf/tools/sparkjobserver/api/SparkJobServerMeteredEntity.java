@@ -0,0 +1,164 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+/**
+ * Counts the bytes of the content of a request or a response, and reports
+ * them to the <code>ISparkJobServerMetrics</code> of the client. A response
+ * also carries the <code>SparkJobServerClientEvent</code> of its call, which
+ * is told when the content has been read.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobServerMeteredEntity extends HttpEntityWrapper {
+	private final ISparkJobServerMetrics metrics;
+	private final String operation;
+	private final SparkJobServerClientEvent event;
+	private InputStream content;
+
+	/**
+	 * Constructs an instance of <code>SparkJobServerMeteredEntity</code>.
+	 *
+	 * @param entity the entity whose content is counted
+	 * @param metrics the metrics receiving the bytes
+	 * @param operation the name of the operation of the entity
+	 * @param event the event of the call of a response, it can be null
+	 */
+	SparkJobServerMeteredEntity(HttpEntity entity, ISparkJobServerMetrics metrics, String operation,
+		SparkJobServerClientEvent event) {
+		super(entity);
+		this.metrics = metrics;
+		this.operation = operation;
+		this.event = event;
+	}
+
+	/**
+	 * Gets the event of the call of current response.
+	 *
+	 * @return the event, or null if there is no listener
+	 */
+	SparkJobServerClientEvent getEvent() {
+		return event;
+	}
+
+	/**
+	 * Writes the content of a request, whose bytes are reported as sent.
+	 */
+	@Override
+	public void writeTo(OutputStream out) throws IOException {
+		final long[] count = new long[1];
+		try {
+			super.writeTo(new FilterOutputStream(out) {
+				@Override
+				public void write(int b) throws IOException {
+					out.write(b);
+					count[0]++;
+				}
+
+				@Override
+				public void write(byte[] b, int off, int len) throws IOException {
+					out.write(b, off, len);
+					count[0] += len;
+				}
+			});
+		} finally {
+			metrics.bytesSent(operation, count[0]);
+		}
+	}
+
+	/**
+	 * Gets the content of a response, whose bytes are reported as received
+	 * once it has been read through or closed.
+	 */
+	@Override
+	public synchronized InputStream getContent() throws IOException {
+		if (content == null) {
+			content = new CountingInputStream(super.getContent());
+		}
+		return content;
+	}
+
+	/**
+	 * The content stream counting the bytes read.
+	 */
+	private final class CountingInputStream extends FilterInputStream {
+		private long count;
+		private boolean reported;
+
+		CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b < 0) {
+				report();
+			} else {
+				count++;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n < 0) {
+				report();
+			} else {
+				count += n;
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count += skipped;
+			return skipped;
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			} finally {
+				report();
+			}
+		}
+
+		private void report() {
+			if (!reported) {
+				reported = true;
+				metrics.bytesReceived(operation, count);
+				if (event != null) {
+					event.bodyRead();
+				}
+			}
+		}
+	}
+}
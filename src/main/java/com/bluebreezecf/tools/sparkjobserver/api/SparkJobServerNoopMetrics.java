@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * The <code>ISparkJobServerMetrics</code> dropping all the metrics, which
+ * is used when no metrics are set.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobServerNoopMetrics implements ISparkJobServerMetrics {
+	static final SparkJobServerNoopMetrics INSTANCE = new SparkJobServerNoopMetrics();
+
+	private SparkJobServerNoopMetrics() {
+	}
+
+	public void requestStarted(String operation) {
+	}
+
+	public void requestFinished(String operation, int statusCode, long latencyNanos) {
+	}
+
+	public void bytesSent(String operation, long bytes) {
+	}
+
+	public void bytesReceived(String operation, long bytes) {
+	}
+
+	public void parsed(String operation, long parseNanos) {
+	}
+}
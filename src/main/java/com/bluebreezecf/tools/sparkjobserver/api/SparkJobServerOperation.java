@@ -0,0 +1,81 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * Presents the rest api calls sent to the Spark Job Server, classified by
+ * whether sending one of them twice is harmless, and by whether it submits
+ * work to Spark or only manages the server.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+enum SparkJobServerOperation {
+	GET_JARS("getJars", true, false),
+	UPLOAD_JAR("uploadSparkJobJar", false, false),
+	GET_CONTEXTS("getContexts", true, false),
+	CREATE_CONTEXT("createContext", false, true),
+	DELETE_CONTEXT("deleteContext", false, false),
+	GET_JOBS("getJobs", true, false),
+	START_JOB("startJob", false, true),
+	GET_JOB_RESULT("getJobResult", true, false),
+	GET_CONFIG("getConfig", true, false),
+	KILL_JOB("killJob", false, false);
+
+	private final String methodName;
+	private final boolean idempotent;
+	private final boolean submission;
+
+	private SparkJobServerOperation(String methodName, boolean idempotent, boolean submission) {
+		this.methodName = methodName;
+		this.idempotent = idempotent;
+		this.submission = submission;
+	}
+
+	/**
+	 * Gets the name of the method of <code>ISparkJobServerClient</code> sending
+	 * current operation, which names it in the metrics.
+	 *
+	 * @return the name of the method
+	 */
+	String getMethodName() {
+		return methodName;
+	}
+
+	/**
+	 * Judges current operation only reads the state of the server or not.
+	 * The others change the state, and a repeated job submission or context
+	 * creation is not harmless, while a repeated deletion reports a failure.
+	 *
+	 * @return true if it can be sent again safely, false otherwise
+	 */
+	boolean isIdempotent() {
+		return idempotent;
+	}
+
+	/**
+	 * Judges current operation submits work to Spark or not. Starting a job or
+	 * a context takes far longer than the other calls, and it may fail while
+	 * the server is still able to manage its jars, contexts and jobs.
+	 *
+	 * @return true if it is a submission, false if it is a control call
+	 */
+	boolean isSubmission() {
+		return submission;
+	}
+}
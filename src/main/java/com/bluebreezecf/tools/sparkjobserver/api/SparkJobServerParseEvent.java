@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The JDK Flight Recorder event of the parsing of a response content of
+ * the spark job server.
+ *
+ * <p>
+ * It is only touched through <code>SparkJobServerFlightRecorder</code>, which
+ * keeps it from being loaded on the JVMs without a flight recorder.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+@Name("com.bluebreezecf.sparkjobserver.Parse")
+@Label("Spark Job Server Response Parse")
+@Category({"Spark Job Server Client", "Parsing"})
+@Description("The parsing of a response content of the spark job server, which includes reading it from the "
+	+ "socket for the listings of jobs")
+@StackTrace(false)
+final class SparkJobServerParseEvent extends Event {
+	private static final SparkJobServerParseEvent PROBE = new SparkJobServerParseEvent();
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Bytes")
+	@Description("The length of the parsed content, or -1 if it is unknown")
+	@DataAmount
+	long bytes;
+
+	/**
+	 * Starts an event if the event is enabled in a running recording.
+	 *
+	 * @return the started event, or null if the event is disabled
+	 */
+	static Object start() {
+		if (!PROBE.isEnabled()) {
+			return null;
+		}
+		SparkJobServerParseEvent event = new SparkJobServerParseEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Commits the given event started by <code>start()</code>.
+	 *
+	 * @param begun the started event
+	 * @param operation the name of the operation of the parsed response
+	 * @param bytes the length of the parsed content, -1 if it is unknown
+	 */
+	static void finish(Object begun, String operation, long bytes) {
+		SparkJobServerParseEvent event = (SparkJobServerParseEvent)begun;
+		event.end();
+		if (event.shouldCommit()) {
+			event.operation = operation;
+			event.bytes = bytes;
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.io.IOException;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+/**
+ * Fires the connection and transfer phases of a call to the
+ * <code>SparkJobServerClientEvent</code> held by its http context. The
+ * requests without an event are executed as they are.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobServerRequestExecutor extends HttpRequestExecutor {
+	/**
+	 * The name of the http context attribute holding the event of a call.
+	 */
+	static final String EVENT_ATTRIBUTE = "spark.job.server.client.event";
+
+	@Override
+	public HttpResponse execute(HttpRequest request, HttpClientConnection conn, HttpContext context)
+		throws IOException, HttpException {
+		SparkJobServerClientEvent event = (SparkJobServerClientEvent)context.getAttribute(EVENT_ATTRIBUTE);
+		if (event != null) {
+			event.connectionAcquired(conn.getMetrics().getRequestCount() > 0);
+		}
+		return super.execute(request, conn, context);
+	}
+
+	@Override
+	protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection conn, HttpContext context)
+		throws IOException, HttpException {
+		HttpResponse response = super.doSendRequest(request, conn, context);
+		SparkJobServerClientEvent event = (SparkJobServerClientEvent)context.getAttribute(EVENT_ATTRIBUTE);
+		if (event != null) {
+			event.requestSent();
+		}
+		return response;
+	}
+
+	@Override
+	protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context)
+		throws HttpException, IOException {
+		HttpResponse response = super.doReceiveResponse(request, conn, context);
+		SparkJobServerClientEvent event = (SparkJobServerClientEvent)context.getAttribute(EVENT_ATTRIBUTE);
+		if (event != null) {
+			event.firstByteReceived(response.getStatusLine().getStatusCode());
+		}
+		return response;
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the retries or the hedges of a client to a ratio of its calls. Each
+ * call deposits the ratio of a retry, and each retry withdraws a whole one,
+ * while the balance never exceeds the given reserve.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobServerRetryBudget {
+	/**
+	 * The balance is kept in thousandths of a retry.
+	 */
+	private static final long RETRY = 1000;
+	private final long deposit;
+	private final long maxBalance;
+	private final AtomicLong balance;
+
+	/**
+	 * Constructs an instance of <code>SparkJobServerRetryBudget</code>.
+	 *
+	 * @param ratio the retries earned by each call
+	 * @param reserve the max retries which can be saved, the budget is full at first
+	 */
+	SparkJobServerRetryBudget(double ratio, int reserve) {
+		this.deposit = Math.round(ratio * RETRY);
+		this.maxBalance = reserve * RETRY;
+		this.balance = new AtomicLong(maxBalance);
+	}
+
+	/**
+	 * Deposits the share of a call.
+	 */
+	void deposit() {
+		if (deposit == 0) {
+			return;
+		}
+		long current;
+		do {
+			current = balance.get();
+			if (current >= maxBalance) {
+				return;
+			}
+		} while (!balance.compareAndSet(current, Math.min(current + deposit, maxBalance)));
+	}
+
+	/**
+	 * Withdraws a retry if the balance is enough.
+	 *
+	 * @return true if a retry is allowed, false otherwise
+	 */
+	boolean tryWithdraw() {
+		long current;
+		do {
+			current = balance.get();
+			if (current < RETRY) {
+				return false;
+			}
+		} while (!balance.compareAndSet(current, current - RETRY));
+		return true;
+	}
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.net.ssl.SSLException;
+
+import org.apache.http.HttpStatus;
+import org.apache.http.conn.ConnectTimeoutException;
+
+/**
+ * Presents how an <code>ISparkJobServerClient</code> retries the calls
+ * failed by transient errors.
+ *
+ * <p>
+ * The calls only reading the state of the server, such as <code>getJobs</code>,
+ * <code>getJobResult</code>, <code>getContexts</code>, <code>getJars</code>
+ * and <code>getConfig</code>, are retried on any I/O error but a socket timeout
+ * or a ssl error, and on the responses 502, 503 and 504. The other calls, such
+ * as <code>startJob</code> and <code>createContext</code>, are retried only
+ * when the request has never reached the server, that is the connection could
+ * not be leased or established, so a job is never submitted twice.
+ *
+ * <p>
+ * The delay before the n-th retry is the initial backoff multiplied by the
+ * multiplier n-1 times, but never longer than the max backoff, and a random
+ * part of it given by the jitter is taken off, so the clients failed together
+ * do not retry together. Besides, the retries of a client are limited by a
+ * budget: each call earns the budget ratio of a retry, and each retry spends
+ * a whole one, with a reserve of 10 retries for a client seldom called. So a
+ * server in trouble never receives much more calls than usual.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public final class SparkJobServerRetryPolicy {
+	public static final int DEFAULT_MAX_ATTEMPTS = 3;
+	public static final long DEFAULT_INITIAL_BACKOFF = 100;
+	public static final long DEFAULT_MAX_BACKOFF = 2000;
+	public static final double DEFAULT_MULTIPLIER = 2;
+	public static final double DEFAULT_JITTER = 0.5;
+	public static final double DEFAULT_BUDGET_RATIO = 0.2;
+	/**
+	 * The retries a client can always make, whatever its number of calls.
+	 */
+	static final int BUDGET_RESERVE = 10;
+	private static final SparkJobServerRetryPolicy DEFAULT_POLICY = new SparkJobServerRetryPolicy(
+		DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF,
+		DEFAULT_MULTIPLIER, DEFAULT_JITTER, DEFAULT_BUDGET_RATIO);
+	private static final SparkJobServerRetryPolicy NO_RETRY = new SparkJobServerRetryPolicy(
+		1, DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF, DEFAULT_MULTIPLIER, DEFAULT_JITTER, 0);
+
+	private final int maxAttempts;
+	private final long initialBackoff;
+	private final long maxBackoff;
+	private final double multiplier;
+	private final double jitter;
+	private final double budgetRatio;
+
+	/**
+	 * Constructs an instance of <code>SparkJobServerRetryPolicy</code>.
+	 *
+	 * @param maxAttempts the max number of attempts of a call including the first one,
+	 *        1 means never retrying
+	 * @param initialBackoff the milliseconds before the first retry
+	 * @param maxBackoff the max milliseconds before a retry, it should not be
+	 *        less than the initial backoff
+	 * @param multiplier the factor by which the backoff grows after each retry,
+	 *        it should not be less than 1
+	 * @param jitter the max part of the backoff taken off randomly, between 0 and 1
+	 * @param budgetRatio the retries earned by each call, between 0 and 1
+	 */
+	public SparkJobServerRetryPolicy(int maxAttempts, long initialBackoff, long maxBackoff,
+		double multiplier, double jitter, double budgetRatio) {
+		if (maxAttempts <= 0) {
+			throw new IllegalArgumentException("The maxAttempts should be positive.");
+		}
+		if (initialBackoff <= 0) {
+			throw new IllegalArgumentException("The initialBackoff should be positive.");
+		}
+		if (maxBackoff < initialBackoff) {
+			throw new IllegalArgumentException("The maxBackoff should not be less than the initialBackoff.");
+		}
+		if (!(multiplier >= 1)) {
+			throw new IllegalArgumentException("The multiplier should not be less than 1.");
+		}
+		if (!(jitter >= 0 && jitter <= 1)) {
+			throw new IllegalArgumentException("The jitter should be between 0 and 1.");
+		}
+		if (!(budgetRatio >= 0 && budgetRatio <= 1)) {
+			throw new IllegalArgumentException("The budgetRatio should be between 0 and 1.");
+		}
+		this.maxAttempts = maxAttempts;
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = maxBackoff;
+		this.multiplier = multiplier;
+		this.jitter = jitter;
+		this.budgetRatio = budgetRatio;
+	}
+
+	/**
+	 * Gets the default policy, which makes at most 3 attempts, backs off from
+	 * 0.1 second by 2 times up to 2 seconds with a jitter of half of the backoff,
+	 * and earns a retry every 5 calls.
+	 *
+	 * @return the default <code>SparkJobServerRetryPolicy</code> instance
+	 */
+	public static SparkJobServerRetryPolicy defaultPolicy() {
+		return DEFAULT_POLICY;
+	}
+
+	/**
+	 * Gets the policy never retrying a failed call.
+	 *
+	 * @return the <code>SparkJobServerRetryPolicy</code> instance without retry
+	 */
+	public static SparkJobServerRetryPolicy noRetry() {
+		return NO_RETRY;
+	}
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	public long getInitialBackoff() {
+		return initialBackoff;
+	}
+
+	public long getMaxBackoff() {
+		return maxBackoff;
+	}
+
+	public double getMultiplier() {
+		return multiplier;
+	}
+
+	public double getJitter() {
+		return jitter;
+	}
+
+	public double getBudgetRatio() {
+		return budgetRatio;
+	}
+
+	/**
+	 * Gets the delay before the given retry.
+	 *
+	 * @param retry the number of the retry, starting from 1
+	 * @return the delay in milliseconds
+	 */
+	long backoff(int retry) {
+		double backoff = Math.min(initialBackoff * Math.pow(multiplier, retry - 1), maxBackoff);
+		return Math.round(backoff * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+	}
+
+	/**
+	 * Judges the given operation failed by the given error can be retried or not.
+	 *
+	 * @param operation the failed operation
+	 * @param error the error of the attempt
+	 * @return true if it can be retried, false otherwise
+	 */
+	boolean isRetryable(SparkJobServerOperation operation, IOException error) {
+		if (isNeverSent(error)) {
+			return true;
+		}
+		//A timed out call would take as long again, and a ssl error would not go away
+		return operation.isIdempotent()
+			&& !(error instanceof SocketTimeoutException)
+			&& !(error instanceof SSLException);
+	}
+
+	/**
+	 * Judges the given operation answered with the given status can be retried or not.
+	 *
+	 * @param operation the operation
+	 * @param statusCode the status code of the response
+	 * @return true if it can be retried, false otherwise
+	 */
+	boolean isRetryable(SparkJobServerOperation operation, int statusCode) {
+		return operation.isIdempotent()
+			&& (statusCode == HttpStatus.SC_BAD_GATEWAY
+			|| statusCode == HttpStatus.SC_SERVICE_UNAVAILABLE
+			|| statusCode == HttpStatus.SC_GATEWAY_TIMEOUT);
+	}
+
+	/**
+	 * Judges the given error proves the request has never reached the server or not.
+	 * The connection could not be leased from the pool, or could not be established.
+	 *
+	 * @param error the error of the attempt
+	 * @return true if the request has never been sent, false otherwise
+	 */
+	static boolean isNeverSent(IOException error) {
+		//ConnectionPoolTimeoutException and HttpHostConnectException are covered too
+		return error instanceof ConnectTimeoutException
+			|| error instanceof ConnectException
+			|| error instanceof NoRouteToHostException
+			|| error instanceof UnknownHostException;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "SparkJobServerRetryPolicy[maxAttempts=" + maxAttempts + ", initialBackoff=" + initialBackoff
+			+ ", maxBackoff=" + maxBackoff + ", multiplier=" + multiplier + ", jitter=" + jitter
+			+ ", budgetRatio=" + budgetRatio + "]";
+	}
+}
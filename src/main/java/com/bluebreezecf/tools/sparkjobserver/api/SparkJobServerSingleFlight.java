@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces the identical reads called at the same time, so only the first
+ * of them is sent, and the others wait for it and share its result or error.
+ * A read called after it has finished is sent again.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+final class SparkJobServerSingleFlight {
+	/**
+	 * A read of the Spark Job Server.
+	 */
+	interface Call<V> {
+		V call() throws SparkJobServerClientException;
+	}
+
+	private final ConcurrentMap<String, CompletableFuture<Object>> inFlightCalls =
+		new ConcurrentHashMap<String, CompletableFuture<Object>>();
+	private final AtomicLong coalescedCount = new AtomicLong();
+
+	/**
+	 * Calls the given read, or waits for the identical one in flight.
+	 *
+	 * @param key the key identifying the read
+	 * @param call the read to be called
+	 * @return the result of the read
+	 * @throws SparkJobServerClientException error occurs in the read
+	 */
+	@SuppressWarnings("unchecked")
+	<V> V execute(String key, Call<V> call) throws SparkJobServerClientException {
+		CompletableFuture<Object> future = new CompletableFuture<Object>();
+		CompletableFuture<Object> inFlight = inFlightCalls.putIfAbsent(key, future);
+		if (inFlight != null) {
+			coalescedCount.incrementAndGet();
+			return (V)await(inFlight);
+		}
+		try {
+			V value = call.call();
+			future.complete(value);
+			return value;
+		} catch (SparkJobServerClientException | RuntimeException | Error e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlightCalls.remove(key, future);
+		}
+	}
+
+	private static Object await(CompletableFuture<Object> inFlight) throws SparkJobServerClientException {
+		try {
+			return inFlight.get();
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new SparkJobServerClientException("Interrupted when waiting for the identical call in flight.", ie);
+		} catch (ExecutionException ee) {
+			Throwable cause = ee.getCause();
+			if (cause instanceof SparkJobServerClientException) {
+				throw (SparkJobServerClientException)cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException)cause;
+			}
+			throw (Error)cause;
+		}
+	}
+
+	/**
+	 * Gets the number of the reads served by the identical ones in flight.
+	 *
+	 * @return the number of coalesced reads
+	 */
+	long getCoalescedCount() {
+		return coalescedCount.get();
+	}
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Tracks the status of many running spark jobs at once.
+ *
+ * <p>
+ * Each <code>refresh()</code> lists the latest jobs by one call of
+ * <code>GET /jobs?limit=&lt;listingLimit&gt;</code>, and only calls
+ * <code>GET /jobs/&lt;jobId&gt;</code> for the tracked jobs which the listing
+ * shows in a terminal status and whose results are required. So the number
+ * of calls per refresh does not grow with the number of tracked jobs.
+ *
+ * <p>
+ * A job listed in any status other than <code>FINISHED</code>, <code>OK</code>,
+ * <code>ERROR</code> or <code>KILLED</code>, such as <code>STARTED</code> or
+ * <code>RUNNING</code>, is still live. A job missing from the listing is not
+ * taken as finished: its status is unknown, and it is checked by
+ * <code>GET /jobs/&lt;jobId&gt;</code>. So the listing limit should be above
+ * the number of the live jobs plus the jobs started between two refreshes,
+ * otherwise the jobs pushed out of the listing are checked one by one.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public class SparkJobStatusTracker {
+	/**
+	 * The default max number of the jobs listed by a refresh.
+	 */
+	public static final int DEFAULT_LISTING_LIMIT = 1000;
+	private static Logger logger = Logger.getLogger(SparkJobStatusTracker.class);
+	private final ISparkJobServerClient client;
+	private final int listingLimit;
+	/**
+	 * The tracked job ids, mapped to whether their results are required.
+	 */
+	private final Map<String, Boolean> trackedJobs = new ConcurrentHashMap<String, Boolean>();
+
+	/**
+	 * Constructs an instance of <code>SparkJobStatusTracker</code>, which
+	 * lists <code>DEFAULT_LISTING_LIMIT</code> jobs by a refresh.
+	 *
+	 * @param client the client used to query the Spark Job Server
+	 */
+	public SparkJobStatusTracker(ISparkJobServerClient client) {
+		this(client, DEFAULT_LISTING_LIMIT);
+	}
+
+	/**
+	 * Constructs an instance of <code>SparkJobStatusTracker</code>.
+	 *
+	 * @param client the client used to query the Spark Job Server
+	 * @param listingLimit the max number of the jobs listed by a refresh
+	 */
+	public SparkJobStatusTracker(ISparkJobServerClient client, int listingLimit) {
+		if (client == null) {
+			throw new IllegalArgumentException("The given client is null.");
+		}
+		if (listingLimit <= 0) {
+			throw new IllegalArgumentException("The given listingLimit should be positive.");
+		}
+		this.client = client;
+		this.listingLimit = listingLimit;
+	}
+
+	/**
+	 * Starts tracking the given job.
+	 *
+	 * @param jobId the id of the target job
+	 * @param fetchResult true if the result of the job should be fetched
+	 *        when it finishes, false otherwise
+	 */
+	public void track(String jobId, boolean fetchResult) {
+		if (jobId == null || jobId.isEmpty()) {
+			throw new IllegalArgumentException("The given jobId is null or empty.");
+		}
+		trackedJobs.put(jobId, fetchResult);
+	}
+
+	/**
+	 * Stops tracking the given job.
+	 *
+	 * @param jobId the id of the target job
+	 */
+	public void untrack(String jobId) {
+		if (jobId != null) {
+			trackedJobs.remove(jobId);
+		}
+	}
+
+	/**
+	 * Gets the ids of the jobs being tracked.
+	 *
+	 * @return a copy of the ids of the tracked jobs
+	 */
+	public Set<String> getTrackedJobIds() {
+		return new HashSet<String>(trackedJobs.keySet());
+	}
+
+	/**
+	 * Refreshes the status of all the tracked jobs, and stops tracking the
+	 * finished ones.
+	 *
+	 * <p>
+	 * If the result of a finished job is still the status of a live job,
+	 * or fetching it fails, the job keeps being tracked and is checked again
+	 * in the next refresh.
+	 *
+	 * @return a map from the ids of the jobs finished since the last refresh
+	 *         to their results, the result is null if it is not required
+	 * @throws SparkJobServerClientException error occurs when trying to list
+	 *         the jobs
+	 */
+	public synchronized Map<String, SparkJobResult> refresh() throws SparkJobServerClientException {
+		Map<String, SparkJobResult> finishedJobs = new LinkedHashMap<String, SparkJobResult>();
+		if (trackedJobs.isEmpty()) {
+			return finishedJobs;
+		}
+		Map<String, String> listedStatuses = getListedStatuses();
+		Iterator<Map.Entry<String, Boolean>> iter = trackedJobs.entrySet().iterator();
+		while (iter.hasNext()) {
+			Map.Entry<String, Boolean> trackedJob = iter.next();
+			String jobId = trackedJob.getKey();
+			String listedStatus = listedStatuses.get(jobId);
+			if (isLive(listedStatus)) {
+				continue;
+			}
+			SparkJobResult jobResult = null;
+			//A job missing from the listing has an unknown status, which is checked by its result
+			if (listedStatus == null || trackedJob.getValue()) {
+				try {
+					jobResult = client.getJobResult(jobId);
+				} catch (SparkJobServerClientException e) {
+					logger.error("Error occurs when trying to get the result of the job " + jobId, e);
+					continue;
+				}
+				if (jobResult == null ? listedStatus == null : isLive(jobResult.getStatus())) {
+					continue;
+				}
+			}
+			iter.remove();
+			finishedJobs.put(jobId, trackedJob.getValue() ? jobResult : null);
+		}
+		return finishedJobs;
+	}
+
+	/**
+	 * Judges a job is live or not by its status. A job unknown to the server,
+	 * whose result has no status, is not live.
+	 *
+	 * @param status the status of the job, it can be null
+	 * @return true if the job is neither unknown nor in a terminal status
+	 */
+	private static boolean isLive(String status) {
+		return status != null && !SparkJobBaseInfo.TERMINAL_STATUS.contains(status);
+	}
+
+	/**
+	 * Lists the statuses of the tracked jobs among the latest jobs.
+	 *
+	 * @return a map from the ids of the listed tracked jobs to their statuses
+	 * @throws SparkJobServerClientException error occurs when trying to list
+	 *         the jobs
+	 */
+	private Map<String, String> getListedStatuses() throws SparkJobServerClientException {
+		Map<String, String> listedStatuses = new HashMap<String, String>();
+		Stream<SparkJobInfo> jobs = client.streamJobs(listingLimit);
+		try {
+			Iterator<SparkJobInfo> iter = jobs.iterator();
+			while (iter.hasNext()) {
+				SparkJobInfo job = iter.next();
+				String jobId = job.getJobId();
+				if (jobId != null && job.getStatus() != null && trackedJobs.containsKey(jobId)) {
+					listedStatuses.put(jobId, job.getStatus());
+				}
+			}
+		} catch (Exception e) {
+			throw new SparkJobServerClientException("Error occurs when trying to list the jobs:", e);
+		} finally {
+			jobs.close();
+		}
+		return listedStatuses;
+	}
+}
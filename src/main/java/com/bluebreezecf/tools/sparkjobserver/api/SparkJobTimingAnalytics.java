@@ -0,0 +1,397 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the rolling timings of the spark jobs by their class paths and by
+ * their contexts, to spot which job classes and contexts hold the others up.
+ *
+ * <p>
+ * Each <code>refresh()</code> lists the latest jobs by one call of
+ * <code>GET /jobs?limit=&lt;listingLimit&gt;</code>, and adds each job to the
+ * windows of its class path and of its context once:
+ * <ul>
+ * <li>the run time is the <code>duration</code> of a completed job;</li>
+ * <li>the failure rate is the rate of the <code>ERROR</code> and <code>KILLED</code>
+ * jobs among the completed ones;</li>
+ * <li>the queue time is the time a job was listed in a status other than
+ * <code>RUNNING</code> before it was listed running or completed. It is measured
+ * between the refreshes, so its resolution is the interval of the refreshes, and
+ * the jobs first listed running or completed have no queue time.</li>
+ * </ul>
+ * A window holds the latest jobs by their <code>startTime</code>, up to its size.
+ * The windows of at most <code>maxKeys</code> class paths and as many contexts
+ * are kept, the ones least recently added to are dropped beyond that.
+ *
+ * <p>
+ * The jobs which are started and leave the listing between two refreshes are
+ * never seen, so the interval of the refreshes should be shorter than the time
+ * the server takes to start <code>listingLimit</code> jobs.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public class SparkJobTimingAnalytics {
+	/**
+	 * The default number of the latest jobs kept in a window.
+	 */
+	public static final int DEFAULT_WINDOW_SIZE = 1000;
+	/**
+	 * The default max number of the jobs listed by a refresh.
+	 */
+	public static final int DEFAULT_LISTING_LIMIT = 1000;
+	/**
+	 * The default max number of the class paths, and of the contexts, whose windows are kept.
+	 */
+	public static final int DEFAULT_MAX_KEYS = 1000;
+	private static final Pattern DURATION_PATTERN = Pattern.compile("\\s*(\\d+(?:\\.\\d+)?)\\s*(ms|secs?)\\s*");
+	private final ISparkJobServerClient client;
+	private final int windowSize;
+	private final int listingLimit;
+	private final Map<String, Window> classPathWindows;
+	private final Map<String, Window> contextWindows;
+	/**
+	 * The ids of the completed jobs in the last listing, which have been added.
+	 */
+	private Set<String> completedJobIds = new HashSet<String>();
+	/**
+	 * The ids of the waiting jobs in the last listing, mapped to when they were first listed.
+	 */
+	private Map<String, Long> waitingJobs = new HashMap<String, Long>();
+
+	/**
+	 * Constructs an instance of <code>SparkJobTimingAnalytics</code> with
+	 * windows of <code>DEFAULT_WINDOW_SIZE</code> jobs, which lists
+	 * <code>DEFAULT_LISTING_LIMIT</code> jobs by a refresh.
+	 *
+	 * @param client the client used to query the Spark Job Server
+	 */
+	public SparkJobTimingAnalytics(ISparkJobServerClient client) {
+		this(client, DEFAULT_WINDOW_SIZE, DEFAULT_LISTING_LIMIT);
+	}
+
+	/**
+	 * Constructs an instance of <code>SparkJobTimingAnalytics</code>, which
+	 * lists <code>DEFAULT_LISTING_LIMIT</code> jobs by a refresh.
+	 *
+	 * @param client the client used to query the Spark Job Server
+	 * @param windowSize the number of the latest jobs kept by class path and by context
+	 */
+	public SparkJobTimingAnalytics(ISparkJobServerClient client, int windowSize) {
+		this(client, windowSize, DEFAULT_LISTING_LIMIT);
+	}
+
+	/**
+	 * Constructs an instance of <code>SparkJobTimingAnalytics</code>.
+	 *
+	 * @param client the client used to query the Spark Job Server
+	 * @param windowSize the number of the latest jobs kept by class path and by context
+	 * @param listingLimit the max number of the jobs listed by a refresh
+	 */
+	public SparkJobTimingAnalytics(ISparkJobServerClient client, int windowSize, int listingLimit) {
+		this(client, windowSize, listingLimit, DEFAULT_MAX_KEYS);
+	}
+
+	/**
+	 * Constructs an instance of <code>SparkJobTimingAnalytics</code>.
+	 *
+	 * @param client the client used to query the Spark Job Server
+	 * @param windowSize the number of the latest jobs kept by class path and by context
+	 * @param listingLimit the max number of the jobs listed by a refresh
+	 * @param maxKeys the max number of the class paths, and of the contexts, whose windows are kept
+	 */
+	public SparkJobTimingAnalytics(ISparkJobServerClient client, int windowSize, int listingLimit, int maxKeys) {
+		if (client == null) {
+			throw new IllegalArgumentException("The given client is null.");
+		}
+		if (windowSize <= 0) {
+			throw new IllegalArgumentException("The given windowSize should be positive.");
+		}
+		if (listingLimit <= 0) {
+			throw new IllegalArgumentException("The given listingLimit should be positive.");
+		}
+		if (maxKeys <= 0) {
+			throw new IllegalArgumentException("The given maxKeys should be positive.");
+		}
+		this.client = client;
+		this.windowSize = windowSize;
+		this.listingLimit = listingLimit;
+		this.classPathWindows = newWindows(maxKeys);
+		this.contextWindows = newWindows(maxKeys);
+	}
+
+	/**
+	 * Creates a map of windows dropping the one least recently added to, beyond the given number.
+	 */
+	private static Map<String, Window> newWindows(final int maxKeys) {
+		return new LinkedHashMap<String, Window>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+				return size() > maxKeys;
+			}
+		};
+	}
+
+	/**
+	 * Lists the jobs, and adds the newly completed and the newly running
+	 * ones to the windows.
+	 *
+	 * @throws SparkJobServerClientException error occurs when trying to list the jobs
+	 */
+	public void refresh() throws SparkJobServerClientException {
+		List<SparkJobInfo> jobs = client.getJobs(listingLimit);
+		record(jobs, System.currentTimeMillis());
+	}
+
+	/**
+	 * Adds the given listing of the jobs to the windows.
+	 *
+	 * @param jobs the listed jobs
+	 * @param now the time of the listing in milliseconds
+	 */
+	synchronized void record(List<SparkJobInfo> jobs, long now) {
+		List<SparkJobInfo> sortedJobs = sortByStartTime(jobs);
+		Set<String> completed = new HashSet<String>();
+		Map<String, Long> waiting = new HashMap<String, Long>();
+		for (SparkJobInfo job : sortedJobs) {
+			String jobId = job.getJobId();
+			if (jobId == null) {
+				continue;
+			}
+			String status = job.getStatus();
+			boolean failed = SparkJobBaseInfo.INFO_STATUS_ERROR.equals(status)
+				|| SparkJobBaseInfo.INFO_STATUS_KILLED.equals(status);
+			if (failed || SparkJobBaseInfo.COMPLETED.contains(status)) {
+				completed.add(jobId);
+				if (!completedJobIds.contains(jobId)) {
+					recordQueueTime(job, now);
+					long runTime = parseDuration(job.getDuration());
+					add(classPathWindows, job.getClassPath(), window -> window.addCompleted(runTime, failed));
+					add(contextWindows, job.getContext(), window -> window.addCompleted(runTime, failed));
+				}
+			} else if (SparkJobBaseInfo.INFO_STATUS_RUNNING.equals(status)) {
+				recordQueueTime(job, now);
+			} else {
+				Long waitingSince = waitingJobs.get(jobId);
+				waiting.put(jobId, waitingSince != null ? waitingSince : now);
+			}
+		}
+		completedJobIds = completed;
+		waitingJobs = waiting;
+	}
+
+	/**
+	 * Sorts the given jobs by their start times, each of which is parsed once
+	 * rather than by every comparison.
+	 */
+	private static List<SparkJobInfo> sortByStartTime(List<SparkJobInfo> jobs) {
+		final Map<SparkJobInfo, Long> startTimes = new IdentityHashMap<SparkJobInfo, Long>(jobs.size());
+		for (SparkJobInfo job : jobs) {
+			startTimes.put(job, parseStartTime(job.getStartTime()));
+		}
+		List<SparkJobInfo> sortedJobs = new ArrayList<SparkJobInfo>(jobs);
+		sortedJobs.sort(Comparator.comparingLong(job -> startTimes.get(job)));
+		return sortedJobs;
+	}
+
+	/**
+	 * Adds the queue time of the given job, if it was listed waiting.
+	 */
+	private void recordQueueTime(SparkJobInfo job, long now) {
+		Long waitingSince = waitingJobs.get(job.getJobId());
+		if (waitingSince != null) {
+			long queueTime = Math.max(0, now - waitingSince);
+			add(classPathWindows, job.getClassPath(), window -> window.addQueued(queueTime));
+			add(contextWindows, job.getContext(), window -> window.addQueued(queueTime));
+		}
+	}
+
+	/**
+	 * Adds a job to the window of the given class path or context, if it is known.
+	 */
+	private void add(Map<String, Window> windows, String key, Consumer<Window> adding) {
+		if (key == null) {
+			return;
+		}
+		Window window = windows.get(key);
+		if (window == null) {
+			window = new Window(windowSize);
+			windows.put(key, window);
+		}
+		adding.accept(window);
+	}
+
+	/**
+	 * Gets the timings of the latest jobs by their class paths.
+	 *
+	 * @return a map sorted by the class paths to the snapshots of their timings
+	 */
+	public synchronized Map<String, SparkJobTimingStats> getStatsByClassPath() {
+		return snapshot(classPathWindows);
+	}
+
+	/**
+	 * Gets the timings of the latest jobs by their contexts.
+	 *
+	 * @return a map sorted by the contexts to the snapshots of their timings
+	 */
+	public synchronized Map<String, SparkJobTimingStats> getStatsByContext() {
+		return snapshot(contextWindows);
+	}
+
+	private static Map<String, SparkJobTimingStats> snapshot(Map<String, Window> windows) {
+		Map<String, SparkJobTimingStats> stats = new TreeMap<String, SparkJobTimingStats>();
+		for (Map.Entry<String, Window> window : windows.entrySet()) {
+			stats.put(window.getKey(), window.getValue().snapshot());
+		}
+		return Collections.unmodifiableMap(stats);
+	}
+
+	/**
+	 * Parses the <code>startTime</code> of a job, such as <code>2017-03-08T10:12:41.116Z</code>.
+	 *
+	 * @param startTime the start time of a job
+	 * @return the start time in milliseconds, or <code>Long.MIN_VALUE</code> if it is not a valid time
+	 */
+	static long parseStartTime(String startTime) {
+		if (startTime == null) {
+			return Long.MIN_VALUE;
+		}
+		try {
+			return OffsetDateTime.parse(startTime).toInstant().toEpochMilli();
+		} catch (DateTimeParseException e) {
+			return Long.MIN_VALUE;
+		}
+	}
+
+	/**
+	 * Parses the <code>duration</code> of a job, such as <code>12.593 secs</code>.
+	 *
+	 * @param duration the duration of a job
+	 * @return the duration in milliseconds, or -1 if it is not a valid duration,
+	 *         such as <code>Job not done yet</code>
+	 */
+	static long parseDuration(String duration) {
+		if (duration == null) {
+			return -1;
+		}
+		Matcher matcher = DURATION_PATTERN.matcher(duration);
+		if (!matcher.matches()) {
+			return -1;
+		}
+		double value = Double.parseDouble(matcher.group(1));
+		return Math.round("ms".equals(matcher.group(2)) ? value : value * 1000);
+	}
+
+	/**
+	 * The latest jobs of a class path or a context, held in rings of a fixed size,
+	 * which grow up to that size as the jobs are added.
+	 */
+	private static final class Window {
+		/**
+		 * The capacity of the rings holding the first jobs added.
+		 */
+		private static final int INITIAL_CAPACITY = 16;
+		private final int size;
+		private long[] runTimes = new long[0];
+		private boolean[] failures = new boolean[0];
+		private long[] queueTimes = new long[0];
+		/**
+		 * The numbers of the entries held in the rings, up to their size.
+		 */
+		private int completedCount;
+		private int queuedCount;
+		/**
+		 * The indexes of the oldest entries, which the next ones replace once the rings are full.
+		 */
+		private int completedNext;
+		private int queuedNext;
+
+		Window(int size) {
+			this.size = size;
+		}
+
+		/**
+		 * Gets the capacity a ring grows to once it is full, which is never
+		 * beyond the size, so a ring only wraps after it stops growing.
+		 */
+		private int grow(int capacity) {
+			return (int)Math.min(size, Math.max(INITIAL_CAPACITY, 2L * capacity));
+		}
+
+		void addCompleted(long runTime, boolean failed) {
+			if (completedCount == runTimes.length && runTimes.length < size) {
+				runTimes = Arrays.copyOf(runTimes, grow(runTimes.length));
+				failures = Arrays.copyOf(failures, runTimes.length);
+				completedNext = completedCount;
+			}
+			runTimes[completedNext] = runTime;
+			failures[completedNext] = failed;
+			completedNext = (completedNext + 1) % runTimes.length;
+			completedCount = Math.min(completedCount + 1, runTimes.length);
+		}
+
+		void addQueued(long queueTime) {
+			if (queuedCount == queueTimes.length && queueTimes.length < size) {
+				queueTimes = Arrays.copyOf(queueTimes, grow(queueTimes.length));
+				queuedNext = queuedCount;
+			}
+			queueTimes[queuedNext] = queueTime;
+			queuedNext = (queuedNext + 1) % queueTimes.length;
+			queuedCount = Math.min(queuedCount + 1, queueTimes.length);
+		}
+
+		SparkJobTimingStats snapshot() {
+			long[] knownRunTimes = new long[completedCount];
+			int known = 0;
+			int failed = 0;
+			for (int i = 0; i < completedCount; i++) {
+				if (runTimes[i] >= 0) {
+					knownRunTimes[known++] = runTimes[i];
+				}
+				if (failures[i]) {
+					failed++;
+				}
+			}
+			knownRunTimes = Arrays.copyOf(knownRunTimes, known);
+			Arrays.sort(knownRunTimes);
+			long[] sortedQueueTimes = Arrays.copyOf(queueTimes, queuedCount);
+			Arrays.sort(sortedQueueTimes);
+			return new SparkJobTimingStats(knownRunTimes, sortedQueueTimes, completedCount, failed);
+		}
+	}
+}
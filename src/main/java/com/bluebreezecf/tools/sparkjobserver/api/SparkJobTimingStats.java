@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+/**
+ * Presents a snapshot of the timings of the latest jobs of a class path
+ * or a context, kept by <code>SparkJobTimingAnalytics</code>.
+ *
+ * @author bluebreezecf
+ * @since 2026-10-18
+ *
+ */
+public class SparkJobTimingStats {
+	private final long[] runTimes;
+	private final long[] queueTimes;
+	private final int completedCount;
+	private final int failedCount;
+
+	/**
+	 * Constructs an instance of <code>SparkJobTimingStats</code>.
+	 *
+	 * @param runTimes the sorted run times in milliseconds
+	 * @param queueTimes the sorted queue times in milliseconds
+	 * @param completedCount the number of completed jobs
+	 * @param failedCount the number of failed or killed jobs among the completed ones
+	 */
+	SparkJobTimingStats(long[] runTimes, long[] queueTimes, int completedCount, int failedCount) {
+		this.runTimes = runTimes;
+		this.queueTimes = queueTimes;
+		this.completedCount = completedCount;
+		this.failedCount = failedCount;
+	}
+
+	/**
+	 * Gets the number of the completed jobs in the window.
+	 *
+	 * @return the number of completed jobs
+	 */
+	public int getCompletedCount() {
+		return completedCount;
+	}
+
+	/**
+	 * Gets the number of the jobs in the window which failed or were killed.
+	 *
+	 * @return the number of failed jobs
+	 */
+	public int getFailedCount() {
+		return failedCount;
+	}
+
+	/**
+	 * Gets the rate of the failed or killed jobs among the completed jobs in the window.
+	 *
+	 * @return the failure rate between 0 and 1, 0 if no job has completed
+	 */
+	public double getFailureRate() {
+		return completedCount == 0 ? 0 : (double)failedCount / completedCount;
+	}
+
+	/**
+	 * Gets the number of the jobs in the window whose queue time was observed.
+	 *
+	 * @return the number of queued jobs
+	 */
+	public int getQueuedCount() {
+		return queueTimes.length;
+	}
+
+	/**
+	 * Gets the run time of the given percentile of the completed jobs.
+	 *
+	 * @param percentile the percentile, between 0 and 1
+	 * @return the run time in milliseconds, or -1 if no run time is known
+	 */
+	public long getRunTime(double percentile) {
+		return valueAt(runTimes, percentile);
+	}
+
+	/**
+	 * Gets the queue time of the given percentile of the queued jobs.
+	 *
+	 * @param percentile the percentile, between 0 and 1
+	 * @return the queue time in milliseconds, or -1 if no queue time is known
+	 */
+	public long getQueueTime(double percentile) {
+		return valueAt(queueTimes, percentile);
+	}
+
+	private static long valueAt(long[] values, double percentile) {
+		if (percentile < 0 || percentile > 1) {
+			throw new IllegalArgumentException("The given percentile should be between 0 and 1.");
+		}
+		if (values.length == 0) {
+			return -1;
+		}
+		int index = (int)Math.ceil(percentile * values.length) - 1;
+		return values[Math.max(0, Math.min(index, values.length - 1))];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return String.format("SparkJobTimingStats[completed=%d, failureRate=%.3f, runTime(ms) p50=%d p90=%d p99=%d,"
+			+ " queued=%d, queueTime(ms) p50=%d p90=%d p99=%d]", completedCount, getFailureRate(),
+			getRunTime(0.5), getRunTime(0.9), getRunTime(0.99), getQueuedCount(),
+			getQueueTime(0.5), getQueueTime(0.9), getQueueTime(0.99));
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.apache.http.entity.ContentType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+/**
+ * a test class for FileChannelEntity
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class FileChannelEntityTest {
+    private File file;
+    private byte[] content;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("spark-job", ".jar");
+        content = new byte[64 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte)i;
+        }
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(content);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testWritesWholeFileRepeatedly() throws Exception {
+        FileChannelEntity entity = new FileChannelEntity(file, ContentType.APPLICATION_OCTET_STREAM);
+        assertThat(entity.getContentLength(), is((long)content.length));
+        assertThat(entity.isRepeatable(), is(true));
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            entity.writeTo(out);
+            assertThat(Arrays.equals(out.toByteArray(), content), is(true));
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testFileCutShortWhileSentFails() throws Exception {
+        FileChannelEntity entity = new FileChannelEntity(file, ContentType.APPLICATION_OCTET_STREAM);
+        final ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        OutputStream truncating = new OutputStream() {
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte)b }, 0, 1);
+            }
+
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (sent.size() == 0) {
+                    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                        raf.setLength(len);
+                    }
+                }
+                sent.write(b, off, len);
+            }
+        };
+        try {
+            entity.writeTo(truncating);
+            fail("The file cut short should fail the upload");
+        } catch (IOException e) {
+            assertThat(e.getMessage(), containsString(file.getAbsolutePath()));
+            assertThat(e.getMessage(), containsString("ended after " + sent.size() + " of its " + content.length));
+        }
+    }
+}
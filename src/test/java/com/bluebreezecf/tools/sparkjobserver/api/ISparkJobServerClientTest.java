@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * a test class for the default methods of ISparkJobServerClient
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class ISparkJobServerClientTest {
+
+    /**
+     * An implementation written against the interface before the default methods were added.
+     */
+    private static class LegacyClient implements ISparkJobServerClient {
+        public List<SparkJobJarInfo> getJars() {
+            return Collections.emptyList();
+        }
+
+        public boolean uploadSparkJobJar(InputStream jarData, String appName) {
+            return true;
+        }
+
+        public boolean uploadSparkJobJar(File jarFile, String appName) {
+            return true;
+        }
+
+        public List<String> getContexts() {
+            return Collections.emptyList();
+        }
+
+        public boolean createContext(String contextName, Map<String, String> params) {
+            return true;
+        }
+
+        public boolean deleteContext(String contextName) {
+            return true;
+        }
+
+        public List<SparkJobInfo> getJobs() {
+            return Arrays.asList(job("job-1"), job("job-2"));
+        }
+
+        public List<SparkJobInfo> getJobsByStatus(String jobStatus) {
+            return Collections.singletonList(job("job-" + jobStatus));
+        }
+
+        public SparkJobResult startJob(String data, Map<String, String> params) {
+            return null;
+        }
+
+        public SparkJobResult startJob(File dataFile, Map<String, String> params) {
+            return null;
+        }
+
+        public SparkJobResult startJob(InputStream dataFileStream, Map<String, String> params) {
+            return null;
+        }
+
+        public SparkJobResult getJobResult(String jobId) {
+            return null;
+        }
+
+        public SparkJobConfig getConfig(String jobId) {
+            return null;
+        }
+
+        public boolean killJob(String jobId) {
+            return true;
+        }
+
+        private static SparkJobInfo job(String jobId) {
+            SparkJobInfo job = new SparkJobInfo();
+            job.setJobId(jobId);
+            return job;
+        }
+    }
+
+    @Test
+    public void testDefaultMethods() throws Exception {
+        ISparkJobServerClient client = new LegacyClient();
+        assertThat(client.streamJobs().map(SparkJobInfo::getJobId).collect(Collectors.toList()),
+                contains("job-1", "job-2"));
+        assertThat(client.streamJobsByStatus("RUNNING").map(SparkJobInfo::getJobId).collect(Collectors.toList()),
+                contains("job-RUNNING"));
+        assertThat(client.getResultCacheStats(), is(nullValue()));
+        assertThat(client.getConcurrencyStats(), is(nullValue()));
+        assertThat(client.getCoalescedCount(), is(0L));
+        client.close();
+    }
+}
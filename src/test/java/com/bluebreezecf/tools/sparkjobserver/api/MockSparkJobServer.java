@@ -0,0 +1,384 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An in-process stand-in of the Spark Job Server, serving <code>/jars</code>,
+ * <code>/contexts</code>, <code>/jobs</code>, <code>/jobs/&lt;jobId&gt;</code> and
+ * <code>/jobs/&lt;jobId&gt;/config</code> with a configurable latency, error rate
+ * and payload size, so the client can be tested and measured offline.
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class MockSparkJobServer implements AutoCloseable {
+    static {
+        //The replies written in pieces would otherwise wait for the delayed acks of the client
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, String> contexts = new ConcurrentHashMap<String, String>();
+    private final Map<String, String> jars = new ConcurrentHashMap<String, String>();
+    private final AtomicLong jobIds = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong injectedErrorCount = new AtomicLong();
+    private final Map<String, List<Long>> jobPollTimes = new ConcurrentHashMap<String, List<Long>>();
+    private volatile Latency latency = Latency.fixed(0);
+    private volatile double errorRate;
+    private volatile int errorStatus = 503;
+    private volatile int jobsCount = 10;
+    private volatile String jobsReply = jobs(10);
+    private volatile String resultReply = resultReply(256);
+    private volatile int runningPolls;
+    private volatile long lastJobDataSize = -1;
+    private volatile String lastJobDataLength;
+
+    /**
+     * The latency distribution of the replies.
+     */
+    public interface Latency {
+        /**
+         * Draws the latency of the next reply.
+         * @return the milliseconds to wait before replying
+         */
+        long nextMillis();
+
+        static Latency fixed(final long millis) {
+            return () -> millis;
+        }
+
+        static Latency uniform(final long minMillis, final long maxMillis) {
+            return () -> ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1);
+        }
+
+        /**
+         * A long tailed latency, whose logarithm is normally distributed.
+         * @param medianMillis the median latency
+         * @param sigma the standard deviation of the logarithm of the latency,
+         *        about 1 gives a 99th percentile ten times the median
+         * @return the latency distribution
+         */
+        static Latency logNormal(final double medianMillis, final double sigma) {
+            return () -> Math.round(medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+        }
+    }
+
+    /**
+     * Starts a mock server listening on a free port of the loopback address.
+     * @param threads the number of threads serving the requests
+     * @throws IOException if the server cannot be started
+     */
+    public MockSparkJobServer(int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "mock-spark-job-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    public MockSparkJobServer setLatency(Latency latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Injects errors into the given ratio of the requests.
+     * @param errorRate the ratio of the requests failed, between 0 and 1
+     * @param errorStatus the status code of the failed requests
+     * @return this server
+     */
+    public MockSparkJobServer setErrorRate(double errorRate, int errorStatus) {
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        return this;
+    }
+
+    public MockSparkJobServer setJobsCount(int jobsCount) {
+        this.jobsCount = jobsCount;
+        this.jobsReply = jobs(jobsCount);
+        return this;
+    }
+
+    /**
+     * Replaces the reply of <code>GET /jobs</code> by the given one, whatever the limit is,
+     * until <code>setJobsCount</code> is called.
+     * @param jobsReply the reply of the listings of jobs, such as a malformed json
+     * @return this server
+     */
+    public MockSparkJobServer setJobsReply(String jobsReply) {
+        this.jobsCount = 0;
+        this.jobsReply = jobsReply;
+        return this;
+    }
+
+    public MockSparkJobServer setResultSize(int resultSize) {
+        this.resultReply = resultReply(resultSize);
+        return this;
+    }
+
+    /**
+     * Keeps each job running for the given number of its polls by <code>GET /jobs/&lt;jobId&gt;</code>,
+     * after which it is finished.
+     * @param runningPolls the number of the polls replied with the status <code>RUNNING</code>
+     * @return this server
+     */
+    public MockSparkJobServer setRunningPolls(int runningPolls) {
+        this.runningPolls = runningPolls;
+        return this;
+    }
+
+    /**
+     * Gets when the given job was polled by <code>GET /jobs/&lt;jobId&gt;</code>.
+     * @param jobId the id of the job
+     * @return a copy of the <code>System.nanoTime()</code> of the polls in order
+     */
+    public List<Long> getJobPollTimes(String jobId) {
+        List<Long> pollTimes = jobPollTimes.get(jobId);
+        if (pollTimes == null) {
+            return Collections.emptyList();
+        }
+        synchronized (pollTimes) {
+            return new ArrayList<Long>(pollTimes);
+        }
+    }
+
+    /**
+     * Gets the number of the bytes of the data sent by the last <code>POST /jobs</code>.
+     * @return the size of the data, or -1 if no job has been started
+     */
+    public long getLastJobDataSize() {
+        return lastJobDataSize;
+    }
+
+    /**
+     * Gets the Content-Length header of the last <code>POST /jobs</code>.
+     * @return the header, or null if the data was chunked or no job has been started
+     */
+    public String getLastJobDataLength() {
+        return lastJobDataLength;
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrorCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requestCount.incrementAndGet();
+            long received = drain(exchange.getRequestBody());
+            long millis = latency.nextMillis();
+            if (millis > 0) {
+                Thread.sleep(millis);
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrorCount.incrementAndGet();
+                reply(exchange, errorStatus, "{\"status\":\"ERROR\",\"result\":\"injected error\"}");
+                return;
+            }
+            route(exchange, received);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, long received) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().substring(1).split("/");
+        String resource = path[0];
+        String name = path.length > 1 ? path[1] : null;
+        if ("jars".equals(resource)) {
+            if (name == null) {
+                reply(exchange, 200, toJsonObject(jars));
+            } else {
+                jars.put(name, "2017-03-08T10:12:41.116Z");
+                reply(exchange, 200, "OK");
+            }
+        } else if ("contexts".equals(resource)) {
+            if (name == null) {
+                reply(exchange, 200, toJsonArray(contexts));
+            } else if ("DELETE".equals(method)) {
+                reply(exchange, contexts.remove(name) != null ? 200 : 404, "OK");
+            } else {
+                contexts.put(name, name);
+                reply(exchange, 200, "OK");
+            }
+        } else if ("jobs".equals(resource)) {
+            if (name == null && "POST".equals(method)) {
+                lastJobDataSize = received;
+                lastJobDataLength = exchange.getRequestHeaders().getFirst("Content-Length");
+                String jobId = "job-" + jobIds.incrementAndGet();
+                String context = queryParam(exchange, ISparkJobServerClientConstants.PARAM_CONTEXT, "ctx-default");
+                reply(exchange, 202, "{\"status\":\"STARTED\",\"result\":{\"jobId\":\"" + jobId
+                        + "\",\"context\":\"" + context + "\"}}");
+            } else if (name == null) {
+                int limit = Integer.parseInt(queryParam(exchange, "limit", String.valueOf(Integer.MAX_VALUE)));
+                reply(exchange, 200, limit < jobsCount ? jobs(limit) : jobsReply);
+            } else if ("DELETE".equals(method)) {
+                reply(exchange, 200, "{\"status\":\"KILLED\"}");
+            } else if (path.length > 2 && "config".equals(path[2])) {
+                reply(exchange, 200, "{\"input.string\":\"a b c\",\"spark.executor.memory\":\"512m\"}");
+            } else {
+                List<Long> pollTimes = jobPollTimes.computeIfAbsent(name,
+                        key -> Collections.synchronizedList(new ArrayList<Long>()));
+                pollTimes.add(System.nanoTime());
+                if (pollTimes.size() <= runningPolls) {
+                    reply(exchange, 200, "{\"duration\":\"Job not done yet\",\"status\":\"RUNNING\",\"jobId\":\""
+                            + name + "\"}");
+                } else {
+                    reply(exchange, 200, resultReply);
+                }
+            }
+        } else {
+            reply(exchange, 404, "{\"status\":\"ERROR\",\"result\":\"not found\"}");
+        }
+    }
+
+    /**
+     * Generates the reply of <code>GET /jobs</code> listing the given number of jobs,
+     * a tenth of which failed with error details.
+     */
+    static String jobs(int count) {
+        StringBuilder jobs = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                jobs.append(',');
+            }
+            jobs.append("{\"duration\":\"").append(i % 100).append(".593 secs\",")
+                    .append("\"classPath\":\"spark.jobserver.WordCountExample\",")
+                    .append("\"startTime\":\"2017-03-08T10:12:41.116Z\",")
+                    .append("\"context\":\"ctx-").append(i % 16).append("\",")
+                    .append("\"jobId\":\"job-").append(i).append('"');
+            if (i % 10 == 0) {
+                jobs.append(",\"status\":\"ERROR\",\"result\":{\"message\":\"boom\",")
+                        .append("\"errorClass\":\"java.lang.RuntimeException\",")
+                        .append("\"stack\":[\"at a.B(B.scala:1)\",\"at c.D(D.scala:2)\"]}}");
+            } else {
+                jobs.append(",\"status\":\"FINISHED\"}");
+            }
+        }
+        return jobs.append(']').toString();
+    }
+
+    /**
+     * Generates the reply of <code>GET /jobs/&lt;jobId&gt;</code> for a finished job
+     * whose result is an array of words and counts of about the given size.
+     */
+    static String resultReply(int size) {
+        StringBuilder result = new StringBuilder("{\"status\":\"FINISHED\",\"result\":[");
+        for (int i = 0; result.length() < size; i++) {
+            if (i > 0) {
+                result.append(',');
+            }
+            result.append("{\"word\":\"word-").append(i).append("\",\"count\":").append(i % 1000).append('}');
+        }
+        return result.append("]}").toString();
+    }
+
+    private static String queryParam(HttpExchange exchange, String key, String defaultValue) {
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null) {
+            for (String param : query.split("&")) {
+                if (param.startsWith(key + "=")) {
+                    return param.substring(key.length() + 1);
+                }
+            }
+        }
+        return defaultValue;
+    }
+
+    private static String toJsonObject(Map<String, String> values) {
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(entry.getKey()).append("\":\"").append(entry.getValue()).append('"');
+        }
+        return json.append('}').toString();
+    }
+
+    private static String toJsonArray(Map<String, String> values) {
+        StringBuilder json = new StringBuilder("[");
+        for (String key : values.keySet()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(key).append('"');
+        }
+        return json.append(']').toString();
+    }
+
+    private static long drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[8192];
+        long received = 0;
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+            //discards the uploaded jar or job data
+            received += count;
+        }
+        return received;
+    }
+
+    private static void reply(HttpExchange exchange, int status, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        OutputStream out = exchange.getResponseBody();
+        out.write(bytes);
+        out.flush();
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+/**
+ * a test class for SparkJobServerClientImpl against MockSparkJobServer
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class MockSparkJobServerTest {
+    private MockSparkJobServer server;
+    private ISparkJobServerClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockSparkJobServer(8);
+        SparkJobServerClientConfig config = new SparkJobServerClientConfig();
+        config.setRetryPolicy(SparkJobServerRetryPolicy.noRetry());
+        client = SparkJobServerClientFactory.getInstance().createSparkJobServerClient(server.getUrl(), config);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    public void testJarsAndContexts() throws Exception {
+        assertThat(client.getJars(), is(empty()));
+        assertThat(client.uploadSparkJobJar(new ByteArrayInputStream(new byte[1024]), "spark-test"), is(true));
+        assertThat(client.getJars().get(0).getJarName(), is("spark-test"));
+
+        assertThat(client.createContext("ctxTest", null), is(true));
+        assertThat(client.getContexts(), contains("ctxTest"));
+        assertThat(client.deleteContext("ctxTest"), is(true));
+        assertThat(client.getContexts(), is(empty()));
+    }
+
+    @Test
+    public void testJobs() throws Exception {
+        server.setJobsCount(10000).setResultSize(64 * 1024);
+        Map<String, String> params = new HashMap<String, String>();
+        params.put(ISparkJobServerClientConstants.PARAM_APP_NAME, "spark-test");
+        params.put(ISparkJobServerClientConstants.PARAM_CLASS_PATH, "spark.jobserver.WordCountExample");
+        params.put(ISparkJobServerClientConstants.PARAM_CONTEXT, "ctxTest");
+        SparkJobResult started = client.startJob("input.string = a b c", params);
+        assertThat(started.getJobId(), is("job-1"));
+        assertThat(started.getContext(), is("ctxTest"));
+
+        SparkJobResult result = client.getJobResult(started.getJobId());
+        assertThat(result.getStatus(), is("FINISHED"));
+        assertThat(result.getResult().length(), greaterThan(60 * 1024));
+        assertThat(client.getConfig(started.getJobId()).getConfigs(), hasKey("input.string"));
+        assertThat(client.getJobs(), hasSize(10000));
+        assertThat(client.getJobs(5), hasSize(5));
+        try (Stream<SparkJobInfo> jobs = client.streamJobs(3)) {
+            assertThat(jobs.count(), is(3L));
+        }
+        assertThat(client.killJob(started.getJobId()), is(true));
+    }
+
+    @Test
+    public void testStartJobWithDataFile() throws Exception {
+        File dataFile = File.createTempFile("spark-job-data", ".conf");
+        try {
+            byte[] data = new byte[256 * 1024];
+            Arrays.fill(data, (byte)'a');
+            try (FileOutputStream out = new FileOutputStream(dataFile)) {
+                out.write(data);
+            }
+            Map<String, String> params = new HashMap<String, String>();
+            params.put(ISparkJobServerClientConstants.PARAM_APP_NAME, "spark-test");
+            params.put(ISparkJobServerClientConstants.PARAM_CLASS_PATH, "spark.jobserver.WordCountExample");
+
+            //The file is sent with its length, while a stream is chunked
+            assertThat(client.startJob(dataFile, params).getJobId(), startsWith("job-"));
+            assertThat(server.getLastJobDataSize(), is((long)data.length));
+            assertThat(server.getLastJobDataLength(), is(String.valueOf(data.length)));
+
+            assertThat(client.startJob(new FileInputStream(dataFile), params).getJobId(), startsWith("job-"));
+            assertThat(server.getLastJobDataSize(), is((long)data.length));
+            assertThat(server.getLastJobDataLength(), nullValue());
+        } finally {
+            dataFile.delete();
+        }
+        try {
+            client.startJob(dataFile, new HashMap<String, String>());
+            fail("The missing file should be rejected");
+        } catch (SparkJobServerClientException e) {
+            assertThat(e.getMessage(), containsString(dataFile.getName()));
+        }
+    }
+
+    @Test
+    public void testStreamClosedEarlyReleasesConnection() throws Exception {
+        server.setJobsCount(20000);
+        ISparkJobServerClient singleConnectionClient = createSingleConnectionClient();
+        try {
+            for (int i = 0; i < 3; i++) {
+                try (Stream<SparkJobInfo> jobs = singleConnectionClient.streamJobs()) {
+                    List<SparkJobInfo> firstJobs = jobs.limit(3).collect(Collectors.toList());
+                    assertThat(firstJobs, hasSize(3));
+                }
+                try (Stream<SparkJobInfo> jobs = singleConnectionClient.streamJobsByStatus("OK")) {
+                    assertThat(jobs.findFirst().isPresent(), is(true));
+                }
+            }
+            //A connection kept by an unclosed response would time out the next call
+            assertThat(singleConnectionClient.getJobs(5), hasSize(5));
+        } finally {
+            singleConnectionClient.close();
+        }
+    }
+
+    @Test
+    public void testStreamOfErrorResponse() throws Exception {
+        ISparkJobServerClient singleConnectionClient = createSingleConnectionClient();
+        try {
+            server.setErrorRate(1, 500);
+            for (int i = 0; i < 3; i++) {
+                try {
+                    if (i == 0) {
+                        singleConnectionClient.streamJobs();
+                    } else if (i == 1) {
+                        singleConnectionClient.streamJobs(3);
+                    } else {
+                        singleConnectionClient.streamJobsByStatus("RUNNING");
+                    }
+                    fail("The error response should be thrown");
+                } catch (SparkJobServerClientException e) {
+                    assertThat(e.getMessage(), containsString("500"));
+                }
+            }
+            server.setErrorRate(0, 500);
+            assertThat(singleConnectionClient.getJobs(5), hasSize(5));
+        } finally {
+            singleConnectionClient.close();
+        }
+    }
+
+    @Test
+    public void testStreamOfMalformedJob() throws Exception {
+        server.setJobsReply("[{\"jobId\":\"job-1\",\"status\":\"FINISHED\"},{\"jobId\":\"job-2\",\"status\":}]");
+        ISparkJobServerClient singleConnectionClient = createSingleConnectionClient();
+        try {
+            try (Stream<SparkJobInfo> jobs = singleConnectionClient.streamJobs()) {
+                Iterator<SparkJobInfo> iter = jobs.iterator();
+                assertThat(iter.next().getJobId(), is("job-1"));
+                try {
+                    iter.next();
+                    fail("The malformed job should be thrown");
+                } catch (UncheckedIOException e) {
+                    assertThat(e.getCause(), notNullValue());
+                }
+            }
+            try {
+                singleConnectionClient.getJobs();
+                fail("The malformed job should be thrown");
+            } catch (SparkJobServerClientException e) {
+                assertThat(e.getMessage(), containsString("jobs"));
+            }
+            server.setJobsCount(10);
+            assertThat(singleConnectionClient.getJobs(5), hasSize(5));
+        } finally {
+            singleConnectionClient.close();
+        }
+    }
+
+    @Test
+    public void testInjectedErrorsAndLatency() throws Exception {
+        server.setErrorRate(1, 503);
+        try {
+            client.getContexts();
+            fail("The injected error should be thrown");
+        } catch (SparkJobServerClientException e) {
+            assertThat(e.getMessage(), containsString("503"));
+        }
+        assertThat(server.getInjectedErrorCount(), is(1L));
+
+        server.setErrorRate(0, 503).setLatency(MockSparkJobServer.Latency.fixed(50));
+        long startTime = System.nanoTime();
+        client.getContexts();
+        assertThat(System.nanoTime() - startTime, greaterThanOrEqualTo(50000000L));
+    }
+
+    @Test
+    public void testLoadHarnessReportsThroughputAndLatency() throws Exception {
+        server.setLatency(MockSparkJobServer.Latency.uniform(0, 2));
+        SparkJobServerLoadHarness.Report report =
+                SparkJobServerLoadHarness.run(client, 4, 300, SparkJobServerLoadHarness.defaultMix());
+        assertThat(report.getCalls(), greaterThan(0L));
+        assertThat(report.getErrors(), is(0L));
+        assertThat(report.getThroughput(), greaterThan(0d));
+        assertThat(report.getLatencyMicros(0.99), greaterThanOrEqualTo(report.getLatencyMicros(0.5)));
+        assertThat(server.getRequestCount(), greaterThan(0L));
+    }
+
+    /**
+     * Creates a client holding a single connection, whose calls fail after
+     * waiting 2 seconds for the connection if it has not been given back.
+     */
+    private ISparkJobServerClient createSingleConnectionClient() throws SparkJobServerClientException {
+        SparkJobServerClientConfig config = new SparkJobServerClientConfig();
+        config.setMaxConnectionsPerRoute(1);
+        config.setConnectionReqTimeOut(2000);
+        return SparkJobServerClientFactory.getInstance().createSparkJobServerClient(server.getUrl(), null, null, config);
+    }
+}
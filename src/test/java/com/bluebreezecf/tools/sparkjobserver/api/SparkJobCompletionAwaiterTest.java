@@ -0,0 +1,160 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+/**
+ * a test class for SparkJobCompletionAwaiter and SparkJobPollPolicy against MockSparkJobServer
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobCompletionAwaiterTest {
+    private MockSparkJobServer server;
+    private ISparkJobServerAsyncClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockSparkJobServer(4);
+        client = SparkJobServerClientFactory.getInstance()
+                .createSparkJobServerAsyncClient(server.getUrl(), null, null, new SparkJobServerClientConfig());
+        //Opens a connection first, so the timings below only measure the polls
+        client.getContextsAsync().get(5, TimeUnit.SECONDS);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    public void testCompletesWhenJobFinishes() throws Exception {
+        server.setRunningPolls(3);
+        SparkJobResult result = client.awaitCompletion("job-1", new SparkJobPollPolicy(10, 100, 2, 0))
+                .get(5, TimeUnit.SECONDS);
+        assertThat(result.getStatus(), is("FINISHED"));
+        assertThat(server.getJobPollTimes("job-1").size(), is(4));
+    }
+
+    @Test
+    public void testDelayGrowsUpToMaxDelay() throws Exception {
+        SparkJobPollPolicy policy = new SparkJobPollPolicy(50, 100, 2, 0);
+        assertThat(policy.nextDelay(50), is(100L));
+        assertThat(policy.nextDelay(100), is(100L));
+
+        server.setRunningPolls(4);
+        long startTime = System.nanoTime();
+        client.awaitCompletion("job-1", policy).get(5, TimeUnit.SECONDS);
+        List<Long> pollTimes = server.getJobPollTimes("job-1");
+        assertThat(pollTimes.size(), is(5));
+        assertThat(millis(startTime, pollTimes.get(0)), greaterThanOrEqualTo(50L));
+        for (int i = 1; i < pollTimes.size(); i++) {
+            //The delays are 100 ms from the second poll on, uncapped they would be 200, 400 and 800
+            long delay = millis(pollTimes.get(i - 1), pollTimes.get(i));
+            assertThat(delay, greaterThanOrEqualTo(100L));
+            assertThat(delay, lessThan(200L));
+        }
+    }
+
+    @Test
+    public void testShortDelayGrows() {
+        SparkJobPollPolicy policy = new SparkJobPollPolicy(1, 100, 1.5, 0);
+        long delay = policy.getInitialDelay();
+        List<Long> delays = new ArrayList<Long>();
+        for (int i = 0; i < 6; i++) {
+            delay = policy.nextDelay(delay);
+            delays.add(delay);
+        }
+        //Truncated, 1 * 1.5 would stay 1 ms for ever
+        assertThat(delays, contains(2L, 3L, 5L, 8L, 12L, 18L));
+        assertThat(policy.nextDelay(90), is(100L));
+        assertThat(new SparkJobPollPolicy(20, 20, 1, 0).nextDelay(20), is(20L));
+    }
+
+    @Test
+    public void testBlockingClientWaitsForCompletion() throws Exception {
+        server.setRunningPolls(3);
+        ISparkJobServerClient blockingClient = SparkJobServerClientFactory.getInstance()
+                .createSparkJobServerClient(server.getUrl(), null, null, new SparkJobServerClientConfig());
+        try {
+            SparkJobResult result = blockingClient.awaitCompletion("job-1", new SparkJobPollPolicy(10, 100, 2, 0));
+            assertThat(result.getStatus(), is("FINISHED"));
+            assertThat(server.getJobPollTimes("job-1").size(), is(4));
+
+            server.setRunningPolls(Integer.MAX_VALUE);
+            try {
+                blockingClient.awaitCompletion("job-2", new SparkJobPollPolicy(20, 20, 1, 150));
+                fail("The waiting should time out");
+            } catch (SparkJobServerClientException e) {
+                assertThat(e.getMessage(), containsString("has not completed in 150 milliseconds"));
+            }
+        } finally {
+            blockingClient.close();
+        }
+    }
+
+    @Test
+    public void testTimeoutFailsWaiting() throws Exception {
+        server.setRunningPolls(Integer.MAX_VALUE);
+        CompletableFuture<SparkJobResult> waiting = client.awaitCompletion("job-1",
+                new SparkJobPollPolicy(20, 20, 1, 150));
+        try {
+            waiting.get(5, TimeUnit.SECONDS);
+            fail("The waiting should time out");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(SparkJobServerClientException.class));
+            assertThat(e.getCause().getMessage(), containsString("has not completed in 150 milliseconds"));
+        }
+        int polls = server.getJobPollTimes("job-1").size();
+        assertThat(polls, greaterThan(1));
+        Thread.sleep(100);
+        assertThat(server.getJobPollTimes("job-1").size(), is(polls));
+    }
+
+    @Test
+    public void testCancelStopsPolling() throws Exception {
+        server.setRunningPolls(Integer.MAX_VALUE);
+        CompletableFuture<SparkJobResult> waiting = client.awaitCompletion("job-1",
+                new SparkJobPollPolicy(20, 20, 1, 0));
+        while (server.getJobPollTimes("job-1").size() < 2) {
+            Thread.sleep(5);
+        }
+        assertThat(waiting.cancel(true), is(true));
+        //A poll already sent may still reach the server, but no other poll is scheduled
+        Thread.sleep(50);
+        int polls = server.getJobPollTimes("job-1").size();
+        Thread.sleep(200);
+        assertThat(server.getJobPollTimes("job-1").size(), is(polls));
+    }
+
+    private static long millis(long fromNanos, long toNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(toNanos - fromNanos);
+    }
+}
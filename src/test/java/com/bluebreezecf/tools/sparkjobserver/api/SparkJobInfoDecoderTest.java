@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * a test class for SparkJobInfoDecoder
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobInfoDecoderTest {
+    private static final String JOBS = "[{"
+            + "\"duration\":\"0.593 secs\",\"classPath\":\"spark.jobserver.WordCountExample\","
+            + "\"startTime\":\"2017-03-08T10:12:41.116Z\",\"context\":\"ctx-é\",\"status\":\"FINISHED\","
+            + "\"jobId\":\"job-1\",\"contextId\":\"c-1\",\"extra\":{\"nested\":[1,2,{\"a\":null}]}"
+            + "},{"
+            + "\"duration\":\"Job not done yet\",\"classPath\":\"spark.jobserver.FailedJob\","
+            + "\"startTime\":\"2017-03-08T10:13:41.116Z\",\"context\":\"ctx\",\"status\":\"ERROR\","
+            + "\"jobId\":\"job-2\",\"contextId\":null,"
+            + "\"result\":{\"message\":\"boom\",\"errorClass\":\"java.lang.RuntimeException\","
+            + "\"stack\":[\"at a.B(B.scala:1)\",\"at c.D(D.scala:2)\"]}"
+            + "}]";
+
+    @Test
+    public void testDecodeJobsFromStream() throws Exception {
+        SparkJobInfoDecoder decoder = new SparkJobInfoDecoder(
+                new ByteArrayInputStream(JOBS.getBytes(StandardCharsets.UTF_8)));
+        List<SparkJobInfo> jobs = decoder.decodeAll();
+        decoder.close();
+
+        assertThat(jobs, hasSize(2));
+        SparkJobInfo finished = jobs.get(0);
+        assertThat(finished.getJobId(), is("job-1"));
+        assertThat(finished.getContext(), is("ctx-é"));
+        assertThat(finished.getStatus(), is("FINISHED"));
+        assertThat(finished.getDuration(), is("0.593 secs"));
+        assertThat(finished.getMessage(), nullValue());
+
+        SparkJobInfo failed = jobs.get(1);
+        assertThat(failed.getContextId(), is("null"));
+        assertThat(failed.getMessage(), is("boom"));
+        assertThat(failed.getErrorClass(), is("java.lang.RuntimeException"));
+        assertThat(failed.getStack(), arrayContaining("at a.B(B.scala:1)", "at c.D(D.scala:2)"));
+    }
+
+    @Test
+    public void testDecodeOneByOne() throws Exception {
+        SparkJobInfoDecoder decoder = new SparkJobInfoDecoder(JOBS);
+        assertThat(decoder.next().getJobId(), is("job-1"));
+        assertThat(decoder.isFinished(), is(false));
+        assertThat(decoder.next().getJobId(), is("job-2"));
+        assertThat(decoder.next(), nullValue());
+        assertThat(decoder.isFinished(), is(true));
+        decoder.close();
+    }
+
+    @Test
+    public void testDecodeEmptyList() throws Exception {
+        assertThat(new SparkJobInfoDecoder("[]").decodeAll(), empty());
+    }
+
+    @Test(expected = IOException.class)
+    public void testDecodeNonArray() throws Exception {
+        new SparkJobInfoDecoder("{\"status\":\"ERROR\"}").decodeAll();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * a test class for SparkJobLruCache and SparkJobResultCache
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobLruCacheTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsedByCount() {
+        SparkJobLruCache<String, String> cache = new SparkJobLruCache<String, String>(2, Long.MAX_VALUE);
+        cache.put("a", "1", 1);
+        cache.put("b", "2", 1);
+        assertThat(cache.get("a"), is("1"));
+        cache.put("c", "3", 1);
+
+        assertThat(cache.get("b"), nullValue());
+        assertThat(cache.get("a"), is("1"));
+        assertThat(cache.get("c"), is("3"));
+        SparkJobCacheStats stats = cache.getStats();
+        assertThat(stats.getEntryCount(), is(2));
+        assertThat(stats.getEvictionCount(), is(1L));
+        assertThat(stats.getHitCount(), is(3L));
+        assertThat(stats.getMissCount(), is(1L));
+    }
+
+    @Test
+    public void testEvictsByWeight() {
+        SparkJobLruCache<String, String> cache = new SparkJobLruCache<String, String>(100, 10);
+        cache.put("a", "1", 4);
+        cache.put("b", "2", 4);
+        cache.put("c", "3", 4);
+        cache.put("huge", "4", 11);
+
+        assertThat(cache.get("a"), nullValue());
+        assertThat(cache.get("huge"), nullValue());
+        assertThat(cache.getStats().getWeight(), is(8L));
+        cache.put("b", "5", 1);
+        assertThat(cache.getStats().getWeight(), is(5L));
+    }
+
+    @Test
+    public void testResultCacheOnlyKeepsCompletedResults() {
+        SparkJobResultCache cache = new SparkJobResultCache(10, 1024 * 1024);
+        SparkJobResult running = new SparkJobResult("{\"status\":\"RUNNING\"}", "job-1");
+        running.setStatus("RUNNING");
+        SparkJobResult finished = new SparkJobResult("{\"status\":\"OK\",\"result\":1}", "job-2");
+        finished.setStatus("OK");
+        finished.setResult("1");
+
+        cache.putIfCompleted("job-1", running);
+        cache.putIfCompleted("job-2", finished);
+
+        assertThat(cache.get("job-1"), nullValue());
+        assertThat(cache.get("job-2"), sameInstance(finished));
+        assertThat(cache.getStats().getEntryCount(), is(1));
+    }
+}
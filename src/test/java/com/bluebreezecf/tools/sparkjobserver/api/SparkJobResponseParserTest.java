@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import net.sf.json.JSONNull;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * a test class for SparkJobResponseParser
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobResponseParserTest {
+
+    @Test
+    public void testParseConfigIsImmutable() {
+        SparkJobConfig config = SparkJobResponseParser.parseConfig(
+                "{\"input\":{\"string\":\"a b c\"},\"spark.master\":\"local[4]\"}");
+
+        Map<String, Object> items = config.getConfigItems();
+        assertThat(items.keySet(), contains("input", "spark.master"));
+        assertThat(config.getConfigItem("spark.master"), is((Object)"local[4]"));
+        assertThat(config.getConfigItems(), sameInstance(items));
+        try {
+            items.put("spark.master", "yarn");
+            throw new AssertionError("The config items should be unmodifiable");
+        } catch (UnsupportedOperationException e) {
+            //expected
+        }
+        config.getConfigs().put("spark.master", "yarn");
+        assertThat(config.getConfigItem("spark.master"), is((Object)"local[4]"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> input = (Map<String, Object>)config.getConfigItem("input");
+        assertThat(input.get("string"), is((Object)"a b c"));
+        try {
+            input.put("string", "d e f");
+            throw new AssertionError("The nested config items should be unmodifiable");
+        } catch (UnsupportedOperationException e) {
+            //expected
+        }
+        assertThat(((Map<?, ?>)config.getConfigItem("input")).get("string"), is((Object)"a b c"));
+    }
+
+    @Test
+    public void testParseConfigCopiesNestedArrays() {
+        SparkJobConfig config = SparkJobResponseParser.parseConfig(
+                "{\"jars\":[\"a.jar\",{\"name\":\"b.jar\"}],\"none\":null}");
+
+        List<?> jars = (List<?>)config.getConfigItem("jars");
+        assertThat(jars, hasSize(2));
+        assertThat(jars.get(0), is((Object)"a.jar"));
+        assertThat(jars.get(1), instanceOf(Map.class));
+        try {
+            jars.remove(0);
+            throw new AssertionError("The nested config arrays should be unmodifiable");
+        } catch (UnsupportedOperationException e) {
+            //expected
+        }
+        try {
+            ((Map<?, ?>)jars.get(1)).clear();
+            throw new AssertionError("The objects in the config arrays should be unmodifiable");
+        } catch (UnsupportedOperationException e) {
+            //expected
+        }
+        assertThat(config.getConfigItem("none"), is((Object)JSONNull.getInstance()));
+    }
+}
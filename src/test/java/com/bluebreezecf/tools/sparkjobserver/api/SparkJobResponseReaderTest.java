@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * a test class for SparkJobResponseReader
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobResponseReaderTest {
+
+    @Test
+    public void testReadSmallContent() throws Exception {
+        ByteArrayEntity entity = new ByteArrayEntity(" OK\n".getBytes(StandardCharsets.UTF_8));
+        assertThat(SparkJobResponseReader.read(entity), is("OK"));
+    }
+
+    @Test
+    public void testReadMultiByteCharactersAcrossReads() throws Exception {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            expected.append("作业é€");
+        }
+        final byte[] bytes = expected.toString().getBytes(StandardCharsets.UTF_8);
+        //Returns at most 7 bytes per read, so the characters are split between reads
+        InputStream in = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(in);
+        entity.setContentType(ContentType.APPLICATION_JSON.toString());
+        assertThat(SparkJobResponseReader.read(entity), is(expected.toString()));
+    }
+
+    @Test
+    public void testReadWithDeclaredCharset() throws Exception {
+        byte[] bytes = "{\"result\":\"café\"}".getBytes(StandardCharsets.ISO_8859_1);
+        ByteArrayEntity entity = new ByteArrayEntity(bytes, ContentType.create("application/json", "ISO-8859-1"));
+        assertThat(SparkJobResponseReader.read(entity), is("{\"result\":\"café\"}"));
+    }
+
+    @Test
+    public void testReadEmptyContent() throws Exception {
+        assertThat(SparkJobResponseReader.read(new ByteArrayEntity(new byte[0])), is(""));
+        assertThat(SparkJobResponseReader.read(null), is(""));
+    }
+}
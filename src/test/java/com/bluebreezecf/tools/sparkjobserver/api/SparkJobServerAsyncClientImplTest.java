@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+/**
+ * a test class for SparkJobServerAsyncClientImpl against MockSparkJobServer
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobServerAsyncClientImplTest {
+    private MockSparkJobServer server;
+    private ExecutorService callbackExecutor;
+    private ISparkJobServerAsyncClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockSparkJobServer(4);
+        callbackExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "spark-callback"));
+        SparkJobServerClientConfig config = new SparkJobServerClientConfig();
+        config.setMaxConnectionsPerRoute(1);
+        config.setCallbackExecutor(callbackExecutor);
+        client = SparkJobServerClientFactory.getInstance()
+                .createSparkJobServerAsyncClient(server.getUrl(), null, null, config);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+        callbackExecutor.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    public void testSuccessCompletesOnCallbackExecutor() throws Exception {
+        server.setJobsCount(100).setLatency(MockSparkJobServer.Latency.fixed(50));
+        CompletableFuture<String> thread = client.getJobsAsync()
+                .thenApply(jobs -> jobs.size() + "@" + Thread.currentThread().getName());
+        assertThat(thread.get(5, TimeUnit.SECONDS), is("100@spark-callback"));
+
+        assertThat(client.getJobResultAsync("job-1").get(5, TimeUnit.SECONDS).getStatus(), is("FINISHED"));
+        assertThat(client.createContextAsync("ctxTest", null).get(5, TimeUnit.SECONDS), is(true));
+        assertThat(client.getContextsAsync().get(5, TimeUnit.SECONDS), contains("ctxTest"));
+    }
+
+    @Test
+    public void testErrorResponseFailsFuture() throws Exception {
+        server.setErrorRate(1, 500);
+        try {
+            client.getJobsAsync().get(5, TimeUnit.SECONDS);
+            fail("The error response should fail the future");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(SparkJobServerClientException.class)));
+            assertThat(e.getCause().getMessage(), containsString("500"));
+        }
+        assertThat(client.deleteContextAsync("ctxTest").get(5, TimeUnit.SECONDS), is(false));
+    }
+
+    @Test
+    public void testCancelReleasesConnection() throws Exception {
+        server.setLatency(MockSparkJobServer.Latency.fixed(2000));
+        CompletableFuture<SparkJobResult> slow = client.getJobResultAsync("job-1");
+        Thread.sleep(100);
+        assertThat(slow.cancel(true), is(true));
+        try {
+            slow.join();
+            fail("The cancelled future should not complete");
+        } catch (CancellationException e) {
+            assertThat(slow.isCancelled(), is(true));
+        }
+
+        //The only connection of the pool is free again for the next call
+        server.setLatency(MockSparkJobServer.Latency.fixed(0));
+        long startTime = System.nanoTime();
+        assertThat(client.getContextsAsync().get(5, TimeUnit.SECONDS), is(empty()));
+        assertThat(System.nanoTime() - startTime, lessThan(TimeUnit.MILLISECONDS.toNanos(1500)));
+    }
+}
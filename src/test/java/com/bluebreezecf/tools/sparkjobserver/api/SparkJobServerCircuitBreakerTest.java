@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+/**
+ * a test class for SparkJobServerCircuitBreaker
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobServerCircuitBreakerTest {
+    private final SparkJobServerCircuitBreaker circuit = new SparkJobServerCircuitBreaker("test", 3, 50);
+
+    @Test
+    public void testOpensAfterFailuresInARow() throws Exception {
+        call(true);
+        call(true);
+        call(false);
+        call(true);
+        call(true);
+        assertThat(circuit.getState(), is(SparkJobServerCircuitState.CLOSED));
+
+        call(true);
+        assertThat(circuit.getState(), is(SparkJobServerCircuitState.OPEN));
+        try {
+            circuit.acquire();
+            fail("The open circuit should fail the call at once");
+        } catch (SparkJobServerCircuitOpenException e) {
+            assertThat(e, instanceOf(SparkJobServerClientException.class));
+            assertThat(e.getRetryAfter(), lessThanOrEqualTo(50L));
+        }
+    }
+
+    @Test
+    public void testHalfOpenSendsSingleTrial() throws Exception {
+        open();
+        Thread.sleep(60);
+        assertThat(circuit.getState(), is(SparkJobServerCircuitState.HALF_OPEN));
+
+        circuit.acquire();
+        assertThat(tryAcquire(), is(false));
+        circuit.record(false);
+        assertThat(circuit.getState(), is(SparkJobServerCircuitState.CLOSED));
+        assertThat(tryAcquire(), is(true));
+    }
+
+    @Test
+    public void testFailedTrialOpensAgain() throws Exception {
+        open();
+        Thread.sleep(60);
+        call(true);
+        assertThat(circuit.getState(), is(SparkJobServerCircuitState.OPEN));
+        assertThat(tryAcquire(), is(false));
+    }
+
+    private void open() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            call(true);
+        }
+    }
+
+    private void call(boolean failed) throws SparkJobServerCircuitOpenException {
+        circuit.acquire();
+        circuit.record(failed);
+    }
+
+    private boolean tryAcquire() {
+        try {
+            circuit.acquire();
+            return true;
+        } catch (SparkJobServerCircuitOpenException e) {
+            return false;
+        }
+    }
+}
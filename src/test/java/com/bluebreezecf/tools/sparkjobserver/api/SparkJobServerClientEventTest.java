@@ -0,0 +1,199 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+/**
+ * a test class for SparkJobServerClientEvent
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobServerClientEventTest {
+    private final List<String> phases = Collections.synchronizedList(new ArrayList<String>());
+    private final List<SparkJobServerClientEvent> events = Collections.synchronizedList(new ArrayList<SparkJobServerClientEvent>());
+    private MockSparkJobServer server;
+    private ISparkJobServerClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockSparkJobServer(2);
+        SparkJobServerClientConfig config = new SparkJobServerClientConfig();
+        config.setRetryPolicy(SparkJobServerRetryPolicy.noRetry());
+        config.addEventListener(new ISparkJobServerClientEventListener() {
+            public void requestStarted(SparkJobServerClientEvent event) {
+                phases.add("requestStarted");
+                events.add(event);
+            }
+
+            public void connectionAcquired(SparkJobServerClientEvent event) {
+                phases.add("connectionAcquired");
+            }
+
+            public void requestSent(SparkJobServerClientEvent event) {
+                phases.add("requestSent");
+            }
+
+            public void firstByteReceived(SparkJobServerClientEvent event) {
+                phases.add("firstByteReceived");
+            }
+
+            public void bodyRead(SparkJobServerClientEvent event) {
+                phases.add("bodyRead");
+            }
+
+            public void parseDone(SparkJobServerClientEvent event) {
+                phases.add("parseDone");
+            }
+
+            public void failed(SparkJobServerClientEvent event) {
+                phases.add("failed");
+            }
+        });
+        config.addEventListener(new ISparkJobServerClientEventListener() {
+            public void parseDone(SparkJobServerClientEvent event) {
+                throw new IllegalStateException("A failing listener should not fail the call");
+            }
+        });
+        client = SparkJobServerClientFactory.getInstance().createSparkJobServerClient(server.getUrl(), config);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    public void testPhasesOfCall() throws Exception {
+        server.setLatency(MockSparkJobServer.Latency.fixed(20));
+        assertThat(client.getJobResult("job-7").getStatus(), is("FINISHED"));
+        assertThat(phases, contains("requestStarted", "connectionAcquired", "requestSent",
+                "firstByteReceived", "bodyRead", "parseDone"));
+
+        SparkJobServerClientEvent event = events.get(0);
+        assertThat(event.getOperation(), is("getJobResult"));
+        assertThat(event.getTarget(), is("job-7"));
+        assertThat(event.getPath(), is("/jobs/job-7"));
+        assertThat(event.getStatusCode(), is(200));
+        assertThat(event.isConnectionReused(), is(false));
+        assertThat(event.getConnectionAcquiredTime(), greaterThanOrEqualTo(0L));
+        assertThat(event.getRequestSentTime(), greaterThanOrEqualTo(event.getConnectionAcquiredTime()));
+        assertThat(event.getFirstByteTime() - event.getRequestSentTime(), greaterThanOrEqualTo(20000000L));
+        assertThat(event.getBodyReadTime(), greaterThanOrEqualTo(event.getFirstByteTime()));
+        assertThat(event.getParseDoneTime(), greaterThanOrEqualTo(event.getBodyReadTime()));
+        assertThat(event.getFailure(), is(nullValue()));
+
+        client.getContexts();
+        assertThat(events.get(1).isConnectionReused(), is(true));
+        assertThat(events.get(1).getTarget(), is(nullValue()));
+    }
+
+    @Test
+    public void testHedgeHasEventOfItsOwn() throws Exception {
+        final AtomicInteger requests = new AtomicInteger();
+        //The first request is slow, while its hedge answers at once
+        server.setLatency(() -> requests.incrementAndGet() == 1 ? 2000 : 0);
+        final List<SparkJobServerClientEvent> hedgedEvents
+                = Collections.synchronizedList(new ArrayList<SparkJobServerClientEvent>());
+        SparkJobServerClientConfig config = new SparkJobServerClientConfig();
+        config.setHedgePolicy(SparkJobServerHedgePolicy.fixedDelay(50, 0.5));
+        config.addEventListener(new ISparkJobServerClientEventListener() {
+            public void requestStarted(SparkJobServerClientEvent event) {
+                hedgedEvents.add(event);
+            }
+        });
+        ISparkJobServerClient hedgedClient = SparkJobServerClientFactory.getInstance()
+                .createSparkJobServerClient(server.getUrl(), config);
+        try {
+            assertThat(hedgedClient.getJobResult("job-7").getStatus(), is("FINISHED"));
+        } finally {
+            hedgedClient.close();
+        }
+
+        assertThat(hedgedEvents, hasSize(2));
+        SparkJobServerClientEvent call = hedgedEvents.get(0);
+        SparkJobServerClientEvent hedge = hedgedEvents.get(1);
+        assertThat(call.isHedge(), is(false));
+        assertThat(hedge.isHedge(), is(true));
+        assertThat(hedge.getOperation(), is("getJobResult"));
+        assertThat(hedge.getStatusCode(), is(200));
+        assertThat(hedge.getFirstByteTime(), greaterThanOrEqualTo(0L));
+        //The response of the hedge is read and parsed as the one of the call
+        assertThat(hedge.getParseDoneTime(), is(-1L));
+        assertThat(call.getParseDoneTime(), greaterThanOrEqualTo(0L));
+        assertThat(call.getFailure(), is(nullValue()));
+    }
+
+    @Test
+    public void testErrorStatusFailsCall() throws Exception {
+        server.setErrorRate(1, 500);
+        try {
+            client.getContexts();
+            fail("The call answered by an error should fail");
+        } catch (SparkJobServerClientException e) {
+            //expected
+        }
+        assertThat(phases, hasItem("failed"));
+        assertThat(phases.indexOf("failed"), greaterThan(phases.indexOf("firstByteReceived")));
+        assertThat(phases.lastIndexOf("failed"), is(phases.indexOf("failed")));
+        assertThat(events.get(0).getStatusCode(), is(500));
+        assertThat(events.get(0).getFailure().getMessage(), containsString("500"));
+    }
+
+    @Test
+    public void testParseErrorFailsCall() throws Exception {
+        server.setJobsReply("[{\"jobId\": }]");
+        try {
+            client.getJobs();
+            fail("The call answered by an invalid content should fail");
+        } catch (SparkJobServerClientException e) {
+            //expected
+        }
+        //The short content may be read through before the error is found
+        assertThat(phases, hasItem("failed"));
+        assertThat(phases, not(hasItem("parseDone")));
+        assertThat(phases.get(phases.size() - 1), is("failed"));
+        assertThat(events.get(0).getStatusCode(), is(200));
+        assertThat(events.get(0).getParseDoneTime(), is(-1L));
+    }
+
+    @Test
+    public void testFailedCall() throws Exception {
+        server.close();
+        try {
+            client.getContexts();
+            fail("The call to a stopped server should fail");
+        } catch (SparkJobServerClientException e) {
+            assertThat(phases, contains("requestStarted", "failed"));
+            assertThat(events.get(0).getFailure(), is(notNullValue()));
+            assertThat(events.get(0).getStatusCode(), is(-1));
+            assertThat(events.get(0).getConnectionAcquiredTime(), is(-1L));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * a test class for SparkJobServerClientFactory
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobServerClientFactoryTest {
+    private MockSparkJobServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockSparkJobServer(2);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    public void testConcurrentCallersShareOneClient() throws Exception {
+        final String url = server.getUrl();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ISparkJobServerClient>> clients = new ArrayList<Future<ISparkJobServerClient>>();
+            for (int i = 0; i < 8; i++) {
+                clients.add(executor.submit(new Callable<ISparkJobServerClient>() {
+                    public ISparkJobServerClient call() throws Exception {
+                        start.await();
+                        return SparkJobServerClientFactory.getInstance().createSparkJobServerClient(url, "user", "pwd");
+                    }
+                }));
+            }
+            start.countDown();
+            ISparkJobServerClient shared = clients.get(0).get();
+            for (Future<ISparkJobServerClient> client : clients) {
+                assertThat(client.get(), is(sameInstance(shared)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testClosingSharedClientKeepsItUsable() throws Exception {
+        ISparkJobServerClient client = SparkJobServerClientFactory.getInstance().createSparkJobServerClient(server.getUrl());
+        client.close();
+        assertThat(client.getContexts(), is(empty()));
+        assertThat(SparkJobServerClientFactory.getInstance().createSparkJobServerClient(server.getUrl()),
+                is(sameInstance(client)));
+
+        ISparkJobServerAsyncClient asyncClient = SparkJobServerClientFactory.getInstance()
+                .createSparkJobServerAsyncClient(server.getUrl());
+        asyncClient.close();
+        assertThat(asyncClient.getContextsAsync().get(), is(empty()));
+    }
+
+    @Test
+    public void testClosingDedicatedClient() throws Exception {
+        ISparkJobServerClient client = SparkJobServerClientFactory.getInstance()
+                .createSparkJobServerClient(server.getUrl(), new SparkJobServerClientConfig());
+        client.close();
+        try {
+            client.getContexts();
+        } catch (SparkJobServerClientException e) {
+            return;
+        }
+        throw new AssertionError("A closed client should fail its calls");
+    }
+
+    @Test
+    public void testClientsOfSameUrlWithOtherHealthSettings() throws Exception {
+        SparkJobServerClientFactory factory = SparkJobServerClientFactory.getInstance();
+        ISparkJobServerClient shared = factory.createSparkJobServerClient(server.getUrl());
+        assertThat(shared.getContexts(), is(empty()));
+        //A single server client keeps no health, so it fixes no health settings of the url
+        assertThat(((SparkJobServerClientImpl)shared).getHealth(), nullValue());
+
+        SparkJobServerClientConfig config = new SparkJobServerClientConfig();
+        config.setHealthLatencyThreshold(60000);
+        config.setHealthProbeInterval(1000);
+        ISparkJobServerClient dedicated = factory.createSparkJobServerClient(server.getUrl(), null, null, config);
+        SparkJobServerClusterClient defaultCluster = (SparkJobServerClusterClient)factory.createSparkJobServerClusterClient(
+                Collections.singletonList(server.getUrl()), null, null, new SparkJobServerClientConfig(), null);
+        SparkJobServerClusterClient otherCluster = (SparkJobServerClusterClient)factory.createSparkJobServerClusterClient(
+                Collections.singletonList(server.getUrl()), null, null, config, null);
+        try {
+            assertThat(dedicated.getContexts(), is(empty()));
+            assertThat(defaultCluster.getContexts(), is(empty()));
+            assertThat(otherCluster.getContexts(), is(empty()));
+            SparkJobServerHealth otherHealth = otherCluster.getEndpoints().get(0).getHealth();
+            assertThat(otherHealth, not(sameInstance(defaultCluster.getEndpoints().get(0).getHealth())));
+            assertThat(otherHealth.getLatencyThreshold(), is(60000L));
+        } finally {
+            dedicated.close();
+            defaultCluster.close();
+            otherCluster.close();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+/**
+ * a test class for SparkJobServerClusterClient
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobServerClusterClientTest {
+    private final FakeServer serverA = new FakeServer("a", "ctx-a");
+    private final FakeServer serverB = new FakeServer("b", "ctx-b");
+    private final Map<String, String> params = new HashMap<String, String>();
+    private SparkJobServerClusterClient client;
+
+    @Before
+    public void setUp() {
+        params.put(ISparkJobServerClientConstants.PARAM_APP_NAME, "app");
+        params.put(ISparkJobServerClientConstants.PARAM_CLASS_PATH, "spark.jobserver.WordCountExample");
+        client = new SparkJobServerClusterClient(Arrays.asList(
+                new SparkJobServerEndpoint("http://a:8090/", serverA.client(), health("http://a:8090/")),
+                new SparkJobServerEndpoint("http://b:8090/", serverB.client(), health("http://b:8090/"))),
+                SparkJobServerLoadBalancers.roundRobin());
+    }
+
+    @Test
+    public void testStartJobIsSpreadAndFollowUpIsRoutedToOwner() throws Exception {
+        SparkJobResult first = client.startJob("input", params);
+        SparkJobResult second = client.startJob("input", params);
+        assertThat(Arrays.asList(first.getJobId(), second.getJobId()), containsInAnyOrder("a-1", "b-1"));
+
+        serverA.calls.clear();
+        serverB.calls.clear();
+        assertThat(client.getJobResult("b-1").getResult(), is("done"));
+        assertThat(client.killJob("b-1"), is(true));
+        assertThat(serverA.calls, empty());
+        assertThat(serverB.calls, contains("getJobResult", "killJob"));
+    }
+
+    @Test
+    public void testUnknownJobIsLookedUpOnAllServers() throws Exception {
+        assertThat(client.getJobResult("b-7").getResult(), is("done"));
+        assertThat(serverA.calls, contains("getJobResult"));
+
+        serverA.calls.clear();
+        client.getConfig("b-7");
+        assertThat(serverA.calls, empty());
+    }
+
+    @Test
+    public void testStartJobInContextGoesToContextOwner() throws Exception {
+        params.put(ISparkJobServerClientConstants.PARAM_CONTEXT, "ctx-b");
+        for (int i = 0; i < 4; i++) {
+            assertThat(client.startJob("input", params).getJobId(), startsWith("b-"));
+        }
+        assertThat(client.getContexts(), contains("ctx-a", "ctx-b"));
+    }
+
+    @Test
+    public void testLeastOutstandingChoosesIdleEndpoint() {
+        SparkJobServerEndpoint busy = new SparkJobServerEndpoint("http://a:8090/", serverA.client(),
+                health("http://a:8090/"));
+        SparkJobServerEndpoint idle = new SparkJobServerEndpoint("http://b:8090/", serverB.client(),
+                health("http://b:8090/"));
+        busy.callStarted();
+        ISparkJobServerLoadBalancer balancer = SparkJobServerLoadBalancers.leastOutstanding();
+        for (int i = 0; i < 10; i++) {
+            assertThat(balancer.choose(Arrays.asList(busy, idle)), sameInstance(idle));
+        }
+    }
+
+    @Test
+    public void testEjectedEndpointReceivesNoNewJobs() throws Exception {
+        SparkJobServerHealth healthA = client.getEndpoints().get(0).getHealth();
+        for (int i = 0; i < 5; i++) {
+            healthA.record(SparkJobServerOperation.GET_JOBS, 10, true);
+        }
+        assertThat(client.getEndpoints().get(0).getHealthState(), is(SparkJobServerHealthState.EJECTED));
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(client.startJob("input", params).getJobId(), startsWith("b-"));
+        }
+    }
+
+    @Test
+    public void testFailedServerIsSkippedByListings() throws Exception {
+        serverA.down = true;
+        assertThat(client.getContexts(), contains("ctx-b"));
+        assertThat(client.getJobs(), hasSize(1));
+        assertThat(client.getJobs().get(0).getJobId(), is("b-9"));
+
+        params.put(ISparkJobServerClientConstants.PARAM_CONTEXT, "ctx-b");
+        assertThat(client.startJob("input", params).getJobId(), startsWith("b-"));
+    }
+
+    @Test
+    public void testFailedServerIsSkippedByLookups() throws Exception {
+        serverA.down = true;
+        assertThat(client.getJobResult("b-7").getResult(), is("done"));
+        assertThat(client.deleteContext("ctx-b"), is(true));
+        assertThat(serverA.calls, contains("getJobResult", "deleteContext"));
+    }
+
+    @Test
+    public void testEjectedServerIsNotListed() throws Exception {
+        SparkJobServerHealth healthA = client.getEndpoints().get(0).getHealth();
+        for (int i = 0; i < 5; i++) {
+            healthA.record(SparkJobServerOperation.GET_JOBS, 10, true);
+        }
+        assertThat(client.getContexts(), contains("ctx-b"));
+        assertThat(serverA.calls, empty());
+    }
+
+    @Test
+    public void testListingFailsWhenAllServersFail() throws Exception {
+        serverA.down = true;
+        serverB.down = true;
+        try {
+            client.getContexts();
+            fail("The listing should fail when all the servers fail");
+        } catch (SparkJobServerClientException e) {
+            assertThat(e.getMessage(), containsString("a is down"));
+            assertThat(e.getSuppressed().length, is(1));
+        }
+        try {
+            client.deleteContext("ctx-b");
+            fail("The deletion should fail when all the servers fail");
+        } catch (SparkJobServerClientException e) {
+            assertThat(e.getMessage(), containsString("a is down"));
+        }
+    }
+
+    private static SparkJobServerHealth health(String url) {
+        return new SparkJobServerHealth(url, new SparkJobServerClientConfig());
+    }
+
+    /**
+     * A fake Spark Job Server, the ids of the jobs started on it are prefixed by its name.
+     */
+    private static class FakeServer implements InvocationHandler {
+        private final String name;
+        private final String context;
+        private final List<String> calls = new ArrayList<String>();
+        private int startedJobs;
+        private boolean down;
+
+        FakeServer(String name, String context) {
+            this.name = name;
+            this.context = context;
+        }
+
+        ISparkJobServerClient client() {
+            return (ISparkJobServerClient)Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { ISparkJobServerClient.class }, this);
+        }
+
+        public Object invoke(Object proxy, Method method, Object[] args) throws SparkJobServerClientException {
+            calls.add(method.getName());
+            if (down && !"close".equals(method.getName())) {
+                throw new SparkJobServerClientException("The server " + name + " is down.");
+            }
+            if ("startJob".equals(method.getName())) {
+                SparkJobResult result = new SparkJobResult("{}", name + "-" + (++startedJobs));
+                result.setStatus("STARTED");
+                return result;
+            } else if ("getJobResult".equals(method.getName())) {
+                String jobId = (String)args[0];
+                SparkJobResult result = new SparkJobResult("{}", jobId);
+                if (jobId.startsWith(name + "-")) {
+                    result.setStatus("OK");
+                    result.setResult("done");
+                }
+                return result;
+            } else if ("getConfig".equals(method.getName())) {
+                return new SparkJobConfig(new HashMap<String, Object>());
+            } else if ("killJob".equals(method.getName())) {
+                return Boolean.TRUE;
+            } else if ("getJobs".equals(method.getName())) {
+                SparkJobInfo job = new SparkJobInfo();
+                job.setJobId(name + "-9");
+                return new ArrayList<SparkJobInfo>(Arrays.asList(job));
+            } else if ("deleteContext".equals(method.getName())) {
+                return Boolean.valueOf(context.equals(args[0]));
+            } else if ("getContexts".equals(method.getName())) {
+                return new ArrayList<String>(Arrays.asList(context));
+            } else if ("close".equals(method.getName())) {
+                return null;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        }
+    }
+}
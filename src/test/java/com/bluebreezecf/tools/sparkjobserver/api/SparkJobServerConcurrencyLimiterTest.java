@@ -0,0 +1,168 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+/**
+ * a test class for SparkJobServerConcurrencyLimiter
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobServerConcurrencyLimiterTest {
+
+    @Test
+    public void testCallsBeyondLimitAreRejectedWithoutQueue() throws Exception {
+        SparkJobServerConcurrencyLimiter limiter = limiter(20, 0, 1000);
+        for (int i = 0; i < SparkJobServerConcurrencyLimiter.INITIAL_LIMIT; i++) {
+            limiter.acquire();
+        }
+        try {
+            limiter.acquire();
+            fail("The call beyond the limit should be rejected");
+        } catch (SparkJobServerConcurrencyLimitException e) {
+            assertThat(e, instanceOf(SparkJobServerClientException.class));
+        }
+        SparkJobServerConcurrencyStats stats = limiter.getStats();
+        assertThat(stats.getLimit(), is(10));
+        assertThat(stats.getInFlight(), is(10));
+        assertThat(stats.getRejectedCount(), is(1L));
+    }
+
+    @Test
+    public void testLimitIncreasesAdditivelyAndDecreasesMultiplicatively() throws Exception {
+        SparkJobServerConcurrencyLimiter limiter = limiter(12, 0, 1000);
+        for (int round = 0; round < 30; round++) {
+            for (int i = 0; i < limiter.getStats().getLimit(); i++) {
+                limiter.acquire();
+            }
+            for (int i = limiter.getStats().getInFlight(); i > 0; i--) {
+                limiter.release(SparkJobServerOperation.GET_JOBS, 10, false);
+            }
+        }
+        assertThat(limiter.getStats().getLimit(), is(12));
+
+        //Each call below is sent after the previous cut
+        long now = System.nanoTime();
+        limiter.acquire();
+        limiter.release(SparkJobServerOperation.GET_JOBS, 10, true, now + TimeUnit.SECONDS.toNanos(1));
+        assertThat(limiter.getStats().getLimit(), is(10));
+        limiter.acquire();
+        limiter.release(SparkJobServerOperation.GET_JOBS, 60000, false, now + TimeUnit.SECONDS.toNanos(120));
+        assertThat(limiter.getStats().getLimit(), is(9));
+        limiter.acquire();
+        limiter.release(SparkJobServerOperation.GET_JOBS, -1, false, now + TimeUnit.SECONDS.toNanos(121));
+        assertThat(limiter.getStats().getLimit(), is(9));
+        limiter.acquire();
+        limiter.release(SparkJobServerOperation.START_JOB, 60000, false, now + TimeUnit.SECONDS.toNanos(200));
+        assertThat(limiter.getStats().getLimit(), is(9));
+        limiter.acquire();
+        limiter.release(SparkJobServerOperation.START_JOB, 60000, true, now + TimeUnit.SECONDS.toNanos(240));
+        assertThat(limiter.getStats().getLimit(), is(8));
+    }
+
+    @Test
+    public void testConcurrentFailuresCutLimitOnce() throws Exception {
+        final SparkJobServerConcurrencyLimiter limiter = limiter(20, 0, 1000);
+        final int calls = SparkJobServerConcurrencyLimiter.INITIAL_LIMIT;
+        final CountDownLatch sent = new CountDownLatch(calls);
+        final CountDownLatch failed = new CountDownLatch(1);
+        Thread[] threads = new Thread[calls];
+        for (int i = 0; i < calls; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    limiter.acquire();
+                    sent.countDown();
+                    failed.await();
+                } catch (SparkJobServerConcurrencyLimitException | InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                limiter.release(SparkJobServerOperation.GET_JOBS, 60000, true);
+            });
+            threads[i].start();
+        }
+        assertThat(sent.await(5, TimeUnit.SECONDS), is(true));
+        failed.countDown();
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+        //All the calls were outstanding together, so they are one round trip
+        assertThat(limiter.getStats().getInFlight(), is(0));
+        assertThat(limiter.getStats().getLimit(), is(9));
+
+        limiter.acquire();
+        limiter.release(SparkJobServerOperation.GET_JOBS, 0, true);
+        assertThat(limiter.getStats().getLimit(), is(8));
+    }
+
+    @Test
+    public void testQueuedCallProceedsWhenCallFinishes() throws Exception {
+        final SparkJobServerConcurrencyLimiter limiter = limiter(1, 10, 5000);
+        limiter.acquire();
+        final CountDownLatch acquired = new CountDownLatch(1);
+        Thread queued = new Thread(() -> {
+            try {
+                limiter.acquire();
+                acquired.countDown();
+            } catch (SparkJobServerConcurrencyLimitException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        queued.start();
+        while (limiter.getStats().getQueueDepth() == 0) {
+            Thread.sleep(1);
+        }
+        assertThat(acquired.getCount(), is(1L));
+
+        limiter.release(SparkJobServerOperation.GET_JOBS, 10, false);
+        assertThat(acquired.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(limiter.getStats().getQueueDepth(), is(0));
+        assertThat(limiter.getStats().getInFlight(), is(1));
+    }
+
+    @Test
+    public void testQueuedCallTimesOut() throws Exception {
+        SparkJobServerConcurrencyLimiter limiter = limiter(1, 10, 50);
+        limiter.acquire();
+        AtomicBoolean rejected = new AtomicBoolean();
+        long startTime = System.nanoTime();
+        try {
+            limiter.acquire();
+        } catch (SparkJobServerConcurrencyLimitException e) {
+            rejected.set(true);
+        }
+        assertThat(rejected.get(), is(true));
+        assertThat(System.nanoTime() - startTime, greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50)));
+        assertThat(limiter.getStats().getQueueDepth(), is(0));
+    }
+
+    private static SparkJobServerConcurrencyLimiter limiter(int maxConcurrency, int queueSize, int queueTimeout) {
+        SparkJobServerClientConfig config = new SparkJobServerClientConfig();
+        config.setMaxConcurrency(maxConcurrency);
+        config.setConcurrencyQueueSize(queueSize);
+        config.setConcurrencyQueueTimeout(queueTimeout);
+        return new SparkJobServerConcurrencyLimiter("http://localhost:8090/", config);
+    }
+}
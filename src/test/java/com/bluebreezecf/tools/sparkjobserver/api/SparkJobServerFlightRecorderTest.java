@@ -0,0 +1,105 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * a test class for SparkJobServerFlightRecorder
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobServerFlightRecorderTest {
+    private static final String CALL_EVENT = "com.bluebreezecf.sparkjobserver.Call";
+    private static final String PARSE_EVENT = "com.bluebreezecf.sparkjobserver.Parse";
+    private MockSparkJobServer server;
+    private ISparkJobServerClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockSparkJobServer(2);
+        SparkJobServerClientConfig config = new SparkJobServerClientConfig();
+        config.setRetryPolicy(SparkJobServerRetryPolicy.noRetry());
+        client = SparkJobServerClientFactory.getInstance().createSparkJobServerClient(server.getUrl(), config);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    public void testRecordsCallsAndParses() throws Exception {
+        server.setJobsCount(100);
+        Path file = Files.createTempFile("spark-job-server-client", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable(CALL_EVENT).withoutThreshold();
+                recording.enable(PARSE_EVENT).withoutThreshold();
+                recording.start();
+                client.getJobs();
+                client.getJobResult("job-1");
+                recording.stop();
+                recording.dump(file);
+            }
+
+            List<RecordedEvent> calls = new ArrayList<RecordedEvent>();
+            List<RecordedEvent> parses = new ArrayList<RecordedEvent>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getEventType().getName().equals(CALL_EVENT)) {
+                    calls.add(event);
+                } else if (event.getEventType().getName().equals(PARSE_EVENT)) {
+                    parses.add(event);
+                }
+            }
+            assertThat(calls, hasSize(2));
+            assertThat(calls.get(0).getString("operation"), is("getJobs"));
+            assertThat(calls.get(0).getString("path"), is("/jobs"));
+            assertThat(calls.get(0).getInt("statusCode"), is(200));
+            assertThat(calls.get(0).getLong("responseBytes"),
+                    is((long)MockSparkJobServer.jobs(100).getBytes(StandardCharsets.UTF_8).length));
+            assertThat(calls.get(1).getString("path"), is("/jobs/job-1"));
+            assertThat(parses, hasSize(2));
+            assertThat(parses.get(1).getString("operation"), is("getJobResult"));
+            assertThat(parses.get(1).getDuration().isNegative(), is(false));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testRecordsNothingWithoutRecording() throws Exception {
+        assertThat(SparkJobServerFlightRecorder.beginCall(), is(nullValue()));
+        assertThat(SparkJobServerFlightRecorder.beginParse(), is(nullValue()));
+        assertThat(client.getContexts(), is(empty()));
+    }
+}
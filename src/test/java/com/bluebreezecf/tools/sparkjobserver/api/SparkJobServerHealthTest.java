@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * a test class for SparkJobServerHealth
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobServerHealthTest {
+    private SparkJobServerHealth health;
+
+    @Before
+    public void setUp() {
+        SparkJobServerClientConfig config = new SparkJobServerClientConfig();
+        config.setHealthLatencyThreshold(1000);
+        config.setHealthEjectionTime(50);
+        health = new SparkJobServerHealth("http://localhost:8090/", config);
+    }
+
+    @Test
+    public void testSlowServerIsEjectedAndReadmittedThroughHalfOpen() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            health.record(SparkJobServerOperation.GET_JOBS, 5000, false);
+        }
+        assertThat(health.getState(), is(SparkJobServerHealthState.HEALTHY));
+        health.record(SparkJobServerOperation.GET_JOBS, 5000, false);
+        assertThat(health.getState(), is(SparkJobServerHealthState.EJECTED));
+        assertThat(health.needsProbe(0), is(false));
+
+        Thread.sleep(60);
+        assertThat(health.getState(), is(SparkJobServerHealthState.HALF_OPEN));
+        assertThat(health.needsProbe(Long.MAX_VALUE), is(true));
+        health.record(SparkJobServerOperation.GET_JOBS, 20, false);
+        assertThat(health.getState(), is(SparkJobServerHealthState.HEALTHY));
+        assertThat(health.getLatency(), is(20.0));
+    }
+
+    @Test
+    public void testFailedTrialCallEjectsAgain() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            health.record(SparkJobServerOperation.GET_JOBS, 10, true);
+        }
+        assertThat(health.getState(), is(SparkJobServerHealthState.EJECTED));
+
+        Thread.sleep(60);
+        health.record(SparkJobServerOperation.GET_JOBS, 10, true);
+        assertThat(health.getState(), is(SparkJobServerHealthState.EJECTED));
+    }
+
+    @Test
+    public void testOccasionalErrorsKeepServerHealthy() {
+        for (int i = 0; i < 50; i++) {
+            health.record(SparkJobServerOperation.GET_JOBS, 10, i % 10 == 0);
+        }
+        assertThat(health.getState(), is(SparkJobServerHealthState.HEALTHY));
+        assertThat(health.getErrorRate(), lessThan(0.5));
+    }
+
+    @Test
+    public void testSlowSubmissionsKeepServerHealthy() {
+        for (int i = 0; i < 10; i++) {
+            health.record(SparkJobServerOperation.START_JOB, 60000, false);
+        }
+        assertThat(health.getState(), is(SparkJobServerHealthState.HEALTHY));
+        assertThat(health.getLatency(), is(-1.0));
+
+        for (int i = 0; i < 5; i++) {
+            health.record(SparkJobServerOperation.START_JOB, 60000, true);
+        }
+        assertThat(health.getState(), is(SparkJobServerHealthState.EJECTED));
+    }
+
+    @Test
+    public void testRegistrySharesHealthBySettings() {
+        String url = "http://health-registry-test:8090/";
+        SparkJobServerClientConfig other = new SparkJobServerClientConfig();
+        other.setHealthLatencyThreshold(60000);
+        SparkJobServerHealth shared = SparkJobServerHealthRegistry.register(url, new SparkJobServerClientConfig());
+        SparkJobServerHealth sameSettings = SparkJobServerHealthRegistry.register(url, new SparkJobServerClientConfig());
+        SparkJobServerHealth otherSettings = SparkJobServerHealthRegistry.register(url, other);
+        try {
+            assertThat(sameSettings, sameInstance(shared));
+            assertThat(otherSettings, not(sameInstance(shared)));
+            assertThat(otherSettings.getLatencyThreshold(), is(60000L));
+        } finally {
+            SparkJobServerHealthRegistry.release(shared);
+            SparkJobServerHealthRegistry.release(sameSettings);
+            SparkJobServerHealthRegistry.release(otherSettings);
+        }
+        SparkJobServerHealth renewed = SparkJobServerHealthRegistry.register(url, new SparkJobServerClientConfig());
+        assertThat(renewed, not(sameInstance(shared)));
+        SparkJobServerHealthRegistry.release(renewed);
+    }
+}
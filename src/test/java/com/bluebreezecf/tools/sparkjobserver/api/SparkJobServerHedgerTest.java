@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * a test class for SparkJobServerHedger
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobServerHedgerTest {
+    private final AtomicInteger sent = new AtomicInteger();
+
+    @Test
+    public void testFastReadIsNotHedged() throws Exception {
+        SparkJobServerHedger hedger = new SparkJobServerHedger(SparkJobServerHedgePolicy.fixedDelay(50, 0.5));
+        hedger.execute(new HttpGet("http://localhost:8090/jobs"), slowFirst(0));
+        Thread.sleep(100);
+        assertThat(sent.get(), is(1));
+        assertThat(hedger.getHedges(), is(0L));
+    }
+
+    @Test
+    public void testSlowReadIsAnsweredByHedge() throws Exception {
+        SparkJobServerHedger hedger = new SparkJobServerHedger(SparkJobServerHedgePolicy.fixedDelay(20, 0.5));
+        HttpGet first = new HttpGet("http://localhost:8090/jobs");
+        long startTime = System.nanoTime();
+        hedger.execute(first, slowFirst(5000));
+        assertThat((System.nanoTime() - startTime) / 1000000, lessThan(2000L));
+        assertThat(first.isAborted(), is(true));
+        assertThat(hedger.getHedges(), is(1L));
+        assertThat(hedger.getHedgeWins(), is(1L));
+    }
+
+    @Test
+    public void testHedgesAreLimitedByBudget() throws Exception {
+        SparkJobServerHedger hedger = new SparkJobServerHedger(SparkJobServerHedgePolicy.fixedDelay(10, 0.05));
+        for (int i = 0; i < 10; i++) {
+            hedger.execute(new HttpGet("http://localhost:8090/jobs"), slowFirst(60));
+        }
+        assertThat(hedger.getHedges(), is(5L));
+    }
+
+    @Test
+    public void testPercentileDelayNeedsSamples() throws Exception {
+        SparkJobServerHedger hedger = new SparkJobServerHedger(
+                SparkJobServerHedgePolicy.percentileDelay(0.95, 10, 0.05));
+        assertThat(hedger.getDelay(), is(-1L));
+        for (int i = 0; i < 128; i++) {
+            hedger.execute(new HttpGet("http://localhost:8090/jobs"), slowFirst(0));
+        }
+        assertThat(hedger.getDelay(), is(10L));
+    }
+
+    /**
+     * Creates a sender whose first request of each read takes the given milliseconds
+     * unless it is aborted, while the hedges answer at once.
+     */
+    private SparkJobServerHedger.Sender slowFirst(final long firstLatency) {
+        final AtomicInteger requests = new AtomicInteger();
+        return new SparkJobServerHedger.Sender() {
+            public CloseableHttpResponse send(HttpRequestBase request) throws IOException {
+                sent.incrementAndGet();
+                if (requests.incrementAndGet() == 1) {
+                    long deadline = System.nanoTime() + firstLatency * 1000000;
+                    while (System.nanoTime() < deadline) {
+                        if (request.isAborted()) {
+                            throw new RequestAbortedException("Request aborted");
+                        }
+                        sleep(1);
+                    }
+                }
+                requests.set(0);
+                return response();
+            }
+        };
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static CloseableHttpResponse response() {
+        return (CloseableHttpResponse)Proxy.newProxyInstance(SparkJobServerHedgerTest.class.getClassLoader(),
+                new Class<?>[] { CloseableHttpResponse.class }, (proxy, method, args) -> null);
+    }
+}
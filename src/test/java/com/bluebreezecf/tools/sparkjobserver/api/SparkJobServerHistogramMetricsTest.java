@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.HdrHistogram.Histogram;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * a test class for SparkJobServerHistogramMetrics
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobServerHistogramMetricsTest {
+    private final SparkJobServerHistogramMetrics metrics = new SparkJobServerHistogramMetrics();
+
+    @Test
+    public void testRecordsByOperation() {
+        for (int i = 1; i <= 100; i++) {
+            metrics.requestStarted("getJobs");
+            metrics.requestFinished("getJobs", i == 100 ? -1 : (i % 10 == 0 ? 503 : 200),
+                    TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        metrics.requestStarted("getJobs");
+        metrics.requestStarted("startJob");
+        metrics.parsed("getJobs", TimeUnit.MICROSECONDS.toNanos(500));
+
+        Histogram latency = metrics.getLatencyHistogram("getJobs");
+        assertThat(latency.getTotalCount(), is(100L));
+        assertThat((double)latency.getValueAtPercentile(50), closeTo(50000, 500));
+        assertThat((double)latency.getValueAtPercentile(99), closeTo(99000, 990));
+        assertThat(metrics.getParseTimeHistogram("getJobs").getTotalCount(), is(1L));
+        assertThat(metrics.getStatusCounts("getJobs"), allOf(hasEntry(200, 90L), hasEntry(503, 9L)));
+        assertThat(metrics.getFailedCount("getJobs"), is(1L));
+        assertThat(metrics.getInFlight("getJobs"), is(1));
+        assertThat(metrics.getOperations(), contains("getJobs", "startJob"));
+        assertThat(metrics.getLatencyHistogram("killJob"), is(nullValue()));
+    }
+
+    @Test
+    public void testClientReportsCallsAgainstMockServer() throws Exception {
+        SparkJobServerClientConfig config = new SparkJobServerClientConfig();
+        config.setMetrics(metrics);
+        try (MockSparkJobServer server = new MockSparkJobServer(4);
+             ISparkJobServerClient client = SparkJobServerClientFactory.getInstance()
+                     .createSparkJobServerClient(server.getUrl(), config)) {
+            server.setJobsCount(100);
+            client.getJobs();
+            client.getJobResult("job-1");
+            Map<String, String> params = new HashMap<String, String>();
+            params.put(ISparkJobServerClientConstants.PARAM_APP_NAME, "spark-test");
+            params.put(ISparkJobServerClientConstants.PARAM_CLASS_PATH, "spark.jobserver.WordCountExample");
+            String data = "input.string = a b c";
+            client.startJob(data, params);
+
+            assertThat(metrics.getStatusCounts("getJobs"), hasEntry(200, 1L));
+            assertThat(metrics.getBytesReceived("getJobs"),
+                    is((long)MockSparkJobServer.jobs(100).getBytes(StandardCharsets.UTF_8).length));
+            assertThat(metrics.getParseTimeHistogram("getJobs").getTotalCount(), is(1L));
+            assertThat(metrics.getParseTimeHistogram("getJobResult").getTotalCount(), is(1L));
+            assertThat(metrics.getStatusCounts("startJob"), hasEntry(202, 1L));
+            assertThat(metrics.getBytesSent("startJob"), is((long)data.length()));
+            assertThat(metrics.getInFlight("startJob"), is(0));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * a test class for SparkJobServerListingCache
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobServerListingCacheTest {
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void testFreshListingIsNotLoadedAgain() throws Exception {
+        SparkJobServerListingCache<List<String>> cache =
+            new SparkJobServerListingCache<List<String>>("contexts", 60000, this::load);
+        assertThat(cache.get(), contains("ctx-1"));
+        assertThat(cache.get(), contains("ctx-1"));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    public void testStaleListingIsServedWhileRefreshed() throws Exception {
+        final CountDownLatch refreshed = new CountDownLatch(1);
+        final CountDownLatch answer = new CountDownLatch(1);
+        SparkJobServerListingCache<List<String>> cache = new SparkJobServerListingCache<List<String>>("contexts", 0, () -> {
+            if (loads.get() > 0) {
+                await(answer);
+            }
+            List<String> loaded = load();
+            if (loads.get() > 1) {
+                refreshed.countDown();
+            }
+            return loaded;
+        });
+        assertThat(cache.get(), contains("ctx-1"));
+        //The stale listing is returned at once, and only one refresh is started
+        assertThat(cache.get(), contains("ctx-1"));
+        assertThat(cache.get(), contains("ctx-1"));
+        assertThat(loads.get(), is(1));
+        answer.countDown();
+        assertThat(refreshed.await(5, TimeUnit.SECONDS), is(true));
+        while (cache.get().contains("ctx-1")) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void testUpdateAndInvalidate() throws Exception {
+        SparkJobServerListingCache<List<String>> cache =
+            new SparkJobServerListingCache<List<String>>("contexts", 60000, this::load);
+        cache.get();
+        cache.update(contexts -> {
+            List<String> newContexts = new ArrayList<String>(contexts);
+            newContexts.add("ctxTest");
+            return newContexts;
+        });
+        assertThat(cache.get(), contains("ctx-1", "ctxTest"));
+        assertThat(loads.get(), is(1));
+
+        cache.invalidate();
+        assertThat(cache.get(), contains("ctx-2"));
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    public void testRefreshStartedBeforeUpdateIsDiscarded() throws Exception {
+        final CountDownLatch refreshing = new CountDownLatch(1);
+        final CountDownLatch answer = new CountDownLatch(1);
+        final CountDownLatch refreshed = new CountDownLatch(1);
+        SparkJobServerListingCache<List<String>> cache = new SparkJobServerListingCache<List<String>>("contexts", 0, () -> {
+            if (loads.get() == 0) {
+                return load();
+            }
+            refreshing.countDown();
+            await(answer);
+            try {
+                return load();
+            } finally {
+                refreshed.countDown();
+            }
+        });
+        cache.get();
+        cache.get();
+        assertThat(refreshing.await(5, TimeUnit.SECONDS), is(true));
+        cache.update(contexts -> Arrays.asList("ctxTest"));
+        answer.countDown();
+        assertThat(refreshed.await(5, TimeUnit.SECONDS), is(true));
+        Thread.sleep(50);
+        assertThat(cache.get(), contains("ctxTest"));
+    }
+
+    @Test
+    public void testFailedRefreshBacksOff() throws Exception {
+        final CountDownLatch failed = new CountDownLatch(1);
+        SparkJobServerListingCache<List<String>> cache = new SparkJobServerListingCache<List<String>>("contexts", 0, () -> {
+            List<String> loaded = load();
+            if (loads.get() > 1) {
+                failed.countDown();
+                throw new SparkJobServerClientException("The server is down.");
+            }
+            return loaded;
+        });
+        cache.get();
+        cache.get();
+        assertThat(failed.await(5, TimeUnit.SECONDS), is(true));
+        Thread.sleep(50);
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.get(), contains("ctx-1"));
+        }
+        Thread.sleep(50);
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    public void testClosedCacheIsNotRefreshed() throws Exception {
+        SparkJobServerListingCache<List<String>> cache =
+            new SparkJobServerListingCache<List<String>>("contexts", 0, this::load);
+        cache.get();
+        cache.close();
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.get(), contains("ctx-1"));
+        }
+        Thread.sleep(50);
+        assertThat(loads.get(), is(1));
+    }
+
+    private List<String> load() {
+        return Arrays.asList("ctx-" + loads.incrementAndGet());
+    }
+
+    private static void await(CountDownLatch latch) throws SparkJobServerClientException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new SparkJobServerClientException("interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives an <code>ISparkJobServerClient</code> from many threads for a while,
+ * and reports the throughput and the latency percentiles of the calls.
+ *
+ * <p>
+ * Run against a <code>MockSparkJobServer</code> by
+ * <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.bluebreezecf.tools.sparkjobserver.api.SparkJobServerLoadHarness</code>,
+ * tuned by the system properties <code>threads</code>, <code>seconds</code>,
+ * <code>latencyMedian</code>, <code>latencySigma</code>, <code>errorRate</code>,
+ * <code>jobsCount</code> and <code>resultSize</code>.
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobServerLoadHarness {
+
+    /**
+     * A call of the client made by the harness.
+     */
+    public interface Call {
+        void call(ISparkJobServerClient client) throws Exception;
+    }
+
+    /**
+     * The outcome of a run of the harness.
+     */
+    public static class Report {
+        private final long calls;
+        private final long errors;
+        private final long elapsedNanos;
+        private final long[] latencies;
+
+        Report(long calls, long errors, long elapsedNanos, long[] latencies) {
+            this.calls = calls;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getThroughput() {
+            return calls * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Gets the latency of the given percentile of the calls.
+         * @param percentile the percentile, between 0 and 1
+         * @return the latency in microseconds
+         */
+        public long getLatencyMicros(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int)Math.ceil(percentile * latencies.length) - 1;
+            return TimeUnit.NANOSECONDS.toMicros(latencies[Math.max(0, Math.min(index, latencies.length - 1))]);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("calls=%d errors=%d throughput=%.1f/s latency(us) p50=%d p90=%d p99=%d p99.9=%d max=%d",
+                    calls, errors, getThroughput(), getLatencyMicros(0.5), getLatencyMicros(0.9),
+                    getLatencyMicros(0.99), getLatencyMicros(0.999), getLatencyMicros(1));
+        }
+    }
+
+    /**
+     * Calls the client from the given number of threads for the given time.
+     * @param client the client to be driven
+     * @param threads the number of calling threads
+     * @param durationMillis the duration of the run
+     * @param call the call made repeatedly by each thread
+     * @return the report of the run
+     * @throws Exception if a calling thread fails unexpectedly
+     */
+    public static Report run(final ISparkJobServerClient client, int threads, long durationMillis,
+                             final Call call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final long startTime = System.nanoTime();
+            final long endTime = startTime + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+            List<Future<long[]>> results = new ArrayList<Future<long[]>>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(new Callable<long[]>() {
+                    public long[] call() {
+                        long[] latencies = new long[1024];
+                        int count = 0;
+                        long errors = 0;
+                        long now = System.nanoTime();
+                        while (now < endTime) {
+                            try {
+                                call.call(client);
+                            } catch (Exception e) {
+                                errors++;
+                            }
+                            long finished = System.nanoTime();
+                            if (count == latencies.length) {
+                                latencies = Arrays.copyOf(latencies, count * 2);
+                            }
+                            latencies[count++] = finished - now;
+                            now = finished;
+                        }
+                        long[] outcome = Arrays.copyOf(latencies, count + 1);
+                        outcome[count] = errors;
+                        return outcome;
+                    }
+                }));
+            }
+            long[] latencies = new long[0];
+            long errors = 0;
+            for (Future<long[]> result : results) {
+                long[] outcome = result.get();
+                int count = outcome.length - 1;
+                errors += outcome[count];
+                int offset = latencies.length;
+                latencies = Arrays.copyOf(latencies, offset + count);
+                System.arraycopy(outcome, 0, latencies, offset, count);
+            }
+            long elapsedNanos = System.nanoTime() - startTime;
+            Arrays.sort(latencies);
+            return new Report(latencies.length, errors, elapsedNanos, latencies);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the default mix of calls: mostly polls of the job results,
+     * with some listings of the jobs and job submissions.
+     * @return the default mix of calls
+     */
+    public static Call defaultMix() {
+        final Map<String, String> params = new HashMap<String, String>();
+        params.put(ISparkJobServerClientConstants.PARAM_APP_NAME, "spark-test");
+        params.put(ISparkJobServerClientConstants.PARAM_CLASS_PATH, "spark.jobserver.WordCountExample");
+        return client -> {
+            int dice = ThreadLocalRandom.current().nextInt(100);
+            if (dice < 80) {
+                client.getJobResult("job-" + dice);
+            } else if (dice < 90) {
+                client.getJobs();
+            } else {
+                client.startJob("input.string = a b c", params);
+            }
+        };
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = Integer.getInteger("threads", 32);
+        int seconds = Integer.getInteger("seconds", 10);
+        double latencyMedian = Double.parseDouble(System.getProperty("latencyMedian", "5"));
+        double latencySigma = Double.parseDouble(System.getProperty("latencySigma", "0.5"));
+        double errorRate = Double.parseDouble(System.getProperty("errorRate", "0"));
+        try (MockSparkJobServer server = new MockSparkJobServer(threads)) {
+            server.setLatency(MockSparkJobServer.Latency.logNormal(latencyMedian, latencySigma))
+                    .setErrorRate(errorRate, 503)
+                    .setJobsCount(Integer.getInteger("jobsCount", 100))
+                    .setResultSize(Integer.getInteger("resultSize", 1024));
+            SparkJobServerClientConfig config = new SparkJobServerClientConfig();
+            config.setMaxConnectionsPerRoute(threads);
+            config.setMaxTotalConnections(threads);
+            try (ISparkJobServerClient client = SparkJobServerClientFactory.getInstance()
+                    .createSparkJobServerClient(server.getUrl(), config)) {
+                //Warms up the client and the server before measuring
+                run(client, threads, TimeUnit.SECONDS.toMillis(Math.min(seconds, 3)), defaultMix());
+                System.out.println(run(client, threads, TimeUnit.SECONDS.toMillis(seconds), defaultMix()));
+            }
+        }
+    }
+}
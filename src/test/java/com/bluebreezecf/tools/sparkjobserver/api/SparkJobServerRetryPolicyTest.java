@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.HttpHostConnectException;
+import org.junit.Test;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * a test class for SparkJobServerRetryPolicy and SparkJobServerRetryBudget
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobServerRetryPolicyTest {
+    private final SparkJobServerRetryPolicy policy = SparkJobServerRetryPolicy.defaultPolicy();
+
+    @Test
+    public void testReadsAreRetriedOnTransientErrors() {
+        assertThat(policy.isRetryable(SparkJobServerOperation.GET_JOB_RESULT,
+                new SocketException("Connection reset")), is(true));
+        assertThat(policy.isRetryable(SparkJobServerOperation.GET_JOBS,
+                new NoHttpResponseException("no response")), is(true));
+        assertThat(policy.isRetryable(SparkJobServerOperation.GET_CONTEXTS, 503), is(true));
+        assertThat(policy.isRetryable(SparkJobServerOperation.GET_JARS, 500), is(false));
+        assertThat(policy.isRetryable(SparkJobServerOperation.GET_CONFIG,
+                new SocketTimeoutException("Read timed out")), is(false));
+    }
+
+    @Test
+    public void testWritesAreRetriedOnlyWhenNeverSent() {
+        assertThat(policy.isRetryable(SparkJobServerOperation.START_JOB,
+                new SocketException("Connection reset")), is(false));
+        assertThat(policy.isRetryable(SparkJobServerOperation.START_JOB,
+                new NoHttpResponseException("no response")), is(false));
+        assertThat(policy.isRetryable(SparkJobServerOperation.CREATE_CONTEXT, 503), is(false));
+        assertThat(policy.isRetryable(SparkJobServerOperation.START_JOB,
+                new ConnectException("Connection refused")), is(true));
+        assertThat(policy.isRetryable(SparkJobServerOperation.CREATE_CONTEXT,
+                new HttpHostConnectException(new ConnectException("Connection refused"), null)), is(true));
+        assertThat(policy.isRetryable(SparkJobServerOperation.START_JOB,
+                new ConnectionPoolTimeoutException("Timeout waiting for connection from pool")), is(true));
+    }
+
+    @Test
+    public void testBackoffGrowsWithinJitter() {
+        SparkJobServerRetryPolicy custom = new SparkJobServerRetryPolicy(5, 100, 1000, 3, 0.5, 0.1);
+        for (int i = 0; i < 100; i++) {
+            assertThat(custom.backoff(1), allOf(greaterThanOrEqualTo(50L), lessThanOrEqualTo(100L)));
+            assertThat(custom.backoff(2), allOf(greaterThanOrEqualTo(150L), lessThanOrEqualTo(300L)));
+            assertThat(custom.backoff(4), allOf(greaterThanOrEqualTo(500L), lessThanOrEqualTo(1000L)));
+        }
+        assertThat(new SparkJobServerRetryPolicy(3, 100, 100, 2, 0, 0).backoff(3), is(100L));
+    }
+
+    @Test
+    public void testBudgetLimitsRetriesToRatioOfCalls() {
+        SparkJobServerRetryBudget budget = new SparkJobServerRetryBudget(0.2, SparkJobServerRetryPolicy.BUDGET_RESERVE);
+        for (int i = 0; i < SparkJobServerRetryPolicy.BUDGET_RESERVE; i++) {
+            assertThat(budget.tryWithdraw(), is(true));
+        }
+        assertThat(budget.tryWithdraw(), is(false));
+
+        int retries = 0;
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+            if (budget.tryWithdraw()) {
+                retries++;
+            }
+        }
+        assertThat(retries, is(20));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidJitterIsRejected() {
+        new SparkJobServerRetryPolicy(3, 100, 1000, 2, 1.5, 0.2);
+    }
+
+    @Test
+    public void testNoRetryMakesSingleAttempt() {
+        assertThat(SparkJobServerRetryPolicy.noRetry().getMaxAttempts(), is(1));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+/**
+ * a test class for SparkJobServerSingleFlight
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobServerSingleFlightTest {
+    private final SparkJobServerSingleFlight singleFlight = new SparkJobServerSingleFlight();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch answer = new CountDownLatch(1);
+
+    @Test
+    public void testConcurrentCallsShareOneRequest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<Future<String>>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("jobs/1", this::slowCall)));
+            }
+            while (singleFlight.getCoalescedCount() < 7) {
+                Thread.sleep(1);
+            }
+            answer.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(), is("result-1"));
+            }
+            assertThat(calls.get(), is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testErrorIsSharedByWaitingCalls() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> singleFlight.execute("contexts", this::failingCall));
+            Future<String> second = executor.submit(() -> singleFlight.execute("contexts", this::failingCall));
+            while (singleFlight.getCoalescedCount() < 1) {
+                Thread.sleep(1);
+            }
+            answer.countDown();
+            for (Future<String> result : Arrays.asList(first, second)) {
+                try {
+                    result.get();
+                    fail("The error should be thrown to every call");
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause(), instanceOf(SparkJobServerClientException.class));
+                }
+            }
+            assertThat(calls.get(), is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCallAfterFinishIsSentAgain() throws Exception {
+        answer.countDown();
+        assertThat(singleFlight.execute("jars", this::slowCall), is("result-1"));
+        assertThat(singleFlight.execute("jars", this::slowCall), is("result-2"));
+        assertThat(singleFlight.getCoalescedCount(), is(0L));
+    }
+
+    private String slowCall() throws SparkJobServerClientException {
+        await();
+        return "result-" + calls.incrementAndGet();
+    }
+
+    private String failingCall() throws SparkJobServerClientException {
+        await();
+        calls.incrementAndGet();
+        throw new SparkJobServerClientException("Spark Job Server response 500");
+    }
+
+    private void await() throws SparkJobServerClientException {
+        try {
+            answer.await();
+        } catch (InterruptedException e) {
+            throw new SparkJobServerClientException("interrupted", e);
+        }
+    }
+}
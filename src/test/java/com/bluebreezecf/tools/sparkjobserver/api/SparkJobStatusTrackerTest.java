@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * a test class for SparkJobStatusTracker
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobStatusTrackerTest {
+    private final List<String> calls = new ArrayList<String>();
+    private final List<Integer> limits = new ArrayList<Integer>();
+    /**
+     * The listed jobs, the latest first, mapped to their statuses.
+     */
+    private final Map<String, String> listedJobs = new LinkedHashMap<String, String>();
+    private final Map<String, String> jobStatuses = new HashMap<String, String>();
+    private SparkJobStatusTracker tracker;
+
+    @Before
+    public void setUp() {
+        ISparkJobServerClient client = (ISparkJobServerClient)Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { ISparkJobServerClient.class },
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        calls.add(method.getName());
+                        if ("streamJobs".equals(method.getName()) && args != null) {
+                            limits.add((Integer)args[0]);
+                            List<SparkJobInfo> jobs = new ArrayList<SparkJobInfo>();
+                            for (Map.Entry<String, String> listedJob : listedJobs.entrySet()) {
+                                SparkJobInfo job = new SparkJobInfo();
+                                job.setJobId(listedJob.getKey());
+                                job.setStatus(listedJob.getValue());
+                                jobs.add(job);
+                            }
+                            return jobs.stream().limit((Integer)args[0]);
+                        } else if ("getJobResult".equals(method.getName())) {
+                            SparkJobResult result = new SparkJobResult("{}", (String)args[0]);
+                            result.setStatus(jobStatuses.get(args[0]));
+                            return result;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        tracker = new SparkJobStatusTracker(client, 3);
+    }
+
+    @Test
+    public void testRefreshListsJobsOnce() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            tracker.track("job-" + i, true);
+            listedJobs.put("job-" + i, "RUNNING");
+        }
+
+        Map<String, SparkJobResult> finished = tracker.refresh();
+
+        assertThat(finished.isEmpty(), is(true));
+        assertThat(calls, contains("streamJobs"));
+        assertThat(limits, contains(3));
+        assertThat(tracker.getTrackedJobIds(), hasSize(3));
+    }
+
+    @Test
+    public void testRefreshFetchesOnlyRequiredResults() throws Exception {
+        tracker.track("running", true);
+        tracker.track("done-with-result", true);
+        tracker.track("done-without-result", false);
+        listedJobs.put("running", "RUNNING");
+        listedJobs.put("done-with-result", "FINISHED");
+        listedJobs.put("done-without-result", "ERROR");
+        jobStatuses.put("done-with-result", "FINISHED");
+
+        Map<String, SparkJobResult> finished = tracker.refresh();
+
+        assertThat(calls, contains("streamJobs", "getJobResult"));
+        assertThat(finished.keySet(), containsInAnyOrder("done-with-result", "done-without-result"));
+        assertThat(finished.get("done-with-result").getStatus(), is("FINISHED"));
+        assertThat(finished.get("done-without-result"), nullValue());
+        assertThat(tracker.getTrackedJobIds(), contains("running"));
+    }
+
+    @Test
+    public void testQueuedJobKeepsBeingTracked() throws Exception {
+        tracker.track("queued", false);
+        listedJobs.put("queued", "STARTED");
+
+        assertThat(tracker.refresh().isEmpty(), is(true));
+        assertThat(tracker.refresh().isEmpty(), is(true));
+        assertThat(tracker.getTrackedJobIds(), contains("queued"));
+        assertThat(calls, contains("streamJobs", "streamJobs"));
+
+        listedJobs.put("queued", "RUNNING");
+        assertThat(tracker.refresh().isEmpty(), is(true));
+        listedJobs.put("queued", "OK");
+        assertThat(tracker.refresh().keySet(), contains("queued"));
+        assertThat(tracker.getTrackedJobIds().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testJobMissingFromListingIsChecked() throws Exception {
+        tracker.track("old-running", false);
+        tracker.track("old-finished", false);
+        //The latest jobs push the tracked ones out of the listing cut by the limit
+        for (int i = 0; i < 3; i++) {
+            listedJobs.put("new-" + i, "FINISHED");
+        }
+        listedJobs.put("old-running", "RUNNING");
+        listedJobs.put("old-finished", "FINISHED");
+        jobStatuses.put("old-running", "RUNNING");
+        jobStatuses.put("old-finished", "FINISHED");
+
+        Map<String, SparkJobResult> finished = tracker.refresh();
+
+        assertThat(calls, contains("streamJobs", "getJobResult", "getJobResult"));
+        assertThat(finished.keySet(), contains("old-finished"));
+        assertThat(finished.get("old-finished"), nullValue());
+        assertThat(tracker.getTrackedJobIds(), contains("old-running"));
+    }
+}
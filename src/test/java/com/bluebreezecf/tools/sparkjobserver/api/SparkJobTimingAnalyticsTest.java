@@ -0,0 +1,177 @@
+/*
+ * Copyright 2014-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bluebreezecf.tools.sparkjobserver.api;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * a test class for SparkJobTimingAnalytics
+ * @author bluebreezecf
+ * @since 2026-10-18
+ */
+public class SparkJobTimingAnalyticsTest {
+    private final List<SparkJobInfo> jobs = new ArrayList<SparkJobInfo>();
+    private final List<Object> listingLimits = new ArrayList<Object>();
+    private ISparkJobServerClient client;
+    private SparkJobTimingAnalytics analytics;
+
+    @Before
+    public void setUp() {
+        client = (ISparkJobServerClient)Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { ISparkJobServerClient.class },
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if ("getJobs".equals(method.getName())) {
+                            listingLimits.add(args == null ? null : args[0]);
+                            return new ArrayList<SparkJobInfo>(jobs);
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        analytics = new SparkJobTimingAnalytics(client, 4, 50);
+    }
+
+    private SparkJobInfo job(String jobId, String classPath, String context, String status,
+                             String startTime, String duration) {
+        SparkJobInfo job = new SparkJobInfo();
+        job.setJobId(jobId);
+        job.setClassPath(classPath);
+        job.setContext(context);
+        job.setStatus(status);
+        job.setStartTime(startTime);
+        job.setDuration(duration);
+        return job;
+    }
+
+    @Test
+    public void testParsesStartTimeAndDuration() {
+        assertThat(SparkJobTimingAnalytics.parseStartTime("2017-03-08T10:12:41.116Z"), is(1488967961116L));
+        assertThat(SparkJobTimingAnalytics.parseStartTime("2017-03-08T18:12:41.116+08:00"), is(1488967961116L));
+        assertThat(SparkJobTimingAnalytics.parseStartTime("yesterday"), is(Long.MIN_VALUE));
+        assertThat(SparkJobTimingAnalytics.parseDuration("12.593 secs"), is(12593L));
+        assertThat(SparkJobTimingAnalytics.parseDuration("1 sec"), is(1000L));
+        assertThat(SparkJobTimingAnalytics.parseDuration("250 ms"), is(250L));
+        assertThat(SparkJobTimingAnalytics.parseDuration("Job not done yet"), is(-1L));
+        assertThat(SparkJobTimingAnalytics.parseDuration(null), is(-1L));
+    }
+
+    @Test
+    public void testRunTimesAndFailuresByClassPathAndContext() throws Exception {
+        for (int i = 1; i <= 6; i++) {
+            jobs.add(job("job-" + i, i % 2 == 0 ? "a.Even" : "a.Odd", "ctx", i == 6 ? "ERROR" : "FINISHED",
+                    "2017-03-08T10:12:0" + i + ".000Z", i + ".000 secs"));
+        }
+        analytics.refresh();
+        analytics.refresh();
+        assertThat(listingLimits, contains((Object)50, 50));
+
+        Map<String, SparkJobTimingStats> byClassPath = analytics.getStatsByClassPath();
+        assertThat(byClassPath.keySet(), contains("a.Even", "a.Odd"));
+        SparkJobTimingStats even = byClassPath.get("a.Even");
+        assertThat(even.getCompletedCount(), is(3));
+        assertThat(even.getFailedCount(), is(1));
+        assertThat(even.getRunTime(0.5), is(4000L));
+        assertThat(even.getRunTime(1), is(6000L));
+        assertThat(even.getQueuedCount(), is(0));
+        assertThat(even.getQueueTime(0.5), is(-1L));
+
+        //The window of the context keeps the latest 4 jobs by their start times
+        SparkJobTimingStats ctx = analytics.getStatsByContext().get("ctx");
+        assertThat(ctx.getCompletedCount(), is(4));
+        assertThat(ctx.getRunTime(0), is(3000L));
+        assertThat(ctx.getFailureRate(), is(0.25));
+    }
+
+    @Test
+    public void testQueueTimeOfWaitingJobs() {
+        List<SparkJobInfo> listing = new ArrayList<SparkJobInfo>();
+        listing.add(job("job-1", "a.B", "ctx", "STARTED", "2017-03-08T10:12:41.116Z", "Job not done yet"));
+        listing.add(job("job-2", "a.B", "ctx", "RUNNING", "2017-03-08T10:12:41.116Z", "Job not done yet"));
+        analytics.record(listing, 1000);
+        analytics.record(listing, 2000);
+        assertThat(analytics.getStatsByContext().isEmpty(), is(true));
+
+        listing.set(0, job("job-1", "a.B", "ctx", "RUNNING", "2017-03-08T10:12:41.116Z", "Job not done yet"));
+        analytics.record(listing, 3500);
+        listing.set(0, job("job-1", "a.B", "ctx", "FINISHED", "2017-03-08T10:12:41.116Z", "4.5 secs"));
+        analytics.record(listing, 9000);
+
+        SparkJobTimingStats stats = analytics.getStatsByClassPath().get("a.B");
+        assertThat(stats.getQueuedCount(), is(1));
+        assertThat(stats.getQueueTime(0.99), is(2500L));
+        assertThat(stats.getCompletedCount(), is(1));
+        assertThat(stats.getRunTime(0.5), is(4500L));
+    }
+
+    @Test
+    public void testWindowKeepsLatestJobsAsTheRingWraps() {
+        for (int i = 1; i <= 10; i++) {
+            List<SparkJobInfo> listing = new ArrayList<SparkJobInfo>();
+            listing.add(job("job-" + i, "a.B", "ctx", i % 3 == 0 ? "ERROR" : "FINISHED",
+                    "2017-03-08T10:12:" + (10 + i) + ".000Z", i + " secs"));
+            analytics.record(listing, i * 1000L);
+        }
+
+        SparkJobTimingStats stats = analytics.getStatsByClassPath().get("a.B");
+        assertThat(stats.getCompletedCount(), is(4));
+        assertThat(stats.getRunTime(0), is(7000L));
+        assertThat(stats.getRunTime(1), is(10000L));
+        assertThat(stats.getFailedCount(), is(1));
+    }
+
+    @Test
+    public void testWindowGrowsUpToItsSize() {
+        //A window never allocates its whole size up front
+        analytics = new SparkJobTimingAnalytics(client, Integer.MAX_VALUE, 50);
+        for (int i = 1; i <= 40; i++) {
+            List<SparkJobInfo> listing = new ArrayList<SparkJobInfo>();
+            listing.add(job("job-" + i, "a.B", "ctx", "FINISHED", "2017-03-08T10:12:" + (10 + i) + ".000Z", i + " secs"));
+            analytics.record(listing, i * 1000L);
+        }
+
+        SparkJobTimingStats stats = analytics.getStatsByClassPath().get("a.B");
+        assertThat(stats.getCompletedCount(), is(40));
+        assertThat(stats.getRunTime(0), is(1000L));
+        assertThat(stats.getRunTime(1), is(40000L));
+    }
+
+    @Test
+    public void testWindowsOfLeastRecentlySeenKeysAreDropped() {
+        analytics = new SparkJobTimingAnalytics(client, 4, 50, 2);
+        String[] classPaths = { "a.B", "a.C", "a.B", "a.D" };
+        for (int i = 0; i < classPaths.length; i++) {
+            List<SparkJobInfo> listing = new ArrayList<SparkJobInfo>();
+            listing.add(job("job-" + i, classPaths[i], "ctx", "FINISHED", "2017-03-08T10:12:1" + i + ".000Z", "1 sec"));
+            analytics.record(listing, i * 1000L);
+        }
+
+        assertThat(analytics.getStatsByClassPath().keySet(), contains("a.B", "a.D"));
+        assertThat(analytics.getStatsByClassPath().get("a.B").getCompletedCount(), is(2));
+        assertThat(analytics.getStatsByContext().get("ctx").getCompletedCount(), is(4));
+    }
+}